@@ -0,0 +1,31 @@
+package com.surveygenerator.surveygenerator.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Ajustes que solo tienen sentido cuando las peticiones corren en hilos virtuales (spring.threads.virtual.enabled)
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    // El driver síncrono bloquea el hilo virtual sin fijar el carrier; el límite real pasa a ser el pool de conexiones
+    @Bean
+    MongoClientSettingsBuilderCustomizer virtualThreadMongoPoolCustomizer(
+            @Value("${app.threads.virtual.mongo.max-pool-size:200}") int maxPoolSize,
+            @Value("${app.threads.virtual.mongo.max-wait:5s}") Duration maxWait
+    ) {
+        log.info("MongoDB connection pool sized for virtual threads: maxSize={}, maxWait={}", maxPoolSize, maxWait);
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxPoolSize)
+                .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,164 @@
+package com.surveygenerator.surveygenerator.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Watches the JFR {@code jdk.VirtualThreadPinned} event while the app runs on virtual threads.
+ * A pinned virtual thread keeps its carrier busy, so a few hot pinning sites can cap the
+ * concurrency that virtual threads are supposed to unlock. Each pinning longer than the threshold
+ * is counted per application frame. The first occurrence of each frame is logged with its stack,
+ * and pinning seen while the context starts is summarised once the app is ready.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "app.threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String OTHER_FRAME = "other";
+    private static final int LOGGED_STACK_DEPTH = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final int maxTrackedFrames;
+    private final RecordingStream recording;
+
+    private final Timer pinnedDuration;
+    private final Map<String, Counter> pinnedByFrame = new ConcurrentHashMap<>();
+    private final AtomicLong pinnedEvents = new AtomicLong();
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.threads.pinning-monitor.threshold:20ms}") Duration threshold,
+            @Value("${app.threads.pinning-monitor.max-tracked-frames:50}") int maxTrackedFrames
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+        this.maxTrackedFrames = maxTrackedFrames;
+
+        this.pinnedDuration = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("Time virtual threads stayed pinned to their carrier above the monitor threshold")
+                .register(meterRegistry);
+
+        // Se arranca en el constructor para registrar también lo que ocurre durante el arranque del contexto
+        this.recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void reportStartup() {
+        long duringStartup = pinnedEvents.get();
+        if (duringStartup == 0) {
+            log.info("Virtual threads enabled (Java {}), pinning monitor active with threshold {}",
+                    Runtime.version().feature(), threshold);
+            return;
+        }
+
+        String frames = pinnedByFrame.entrySet().stream()
+                .map(entry -> entry.getKey() + " x" + (long) entry.getValue().count())
+                .collect(Collectors.joining(", "));
+        log.warn("Virtual threads enabled (Java {}), {} pinning event(s) over {} during startup: {}",
+                Runtime.version().feature(), duringStartup, threshold, frames);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        pinnedDuration.record(event.getDuration());
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String frame = applicationFrame(stackTrace);
+        // Se decide sobre la etiqueta que se guarda: con el límite alcanzado, un frame nuevo cuenta en "other"
+        String tag = tagFor(frame);
+        Counter counter = pinnedByFrame.get(tag);
+        boolean firstSeen = false;
+        if (counter == null) {
+            Counter created = newCounter(tag);
+            Counter previous = pinnedByFrame.putIfAbsent(tag, created);
+            firstSeen = previous == null;
+            counter = firstSeen ? created : previous;
+        }
+        counter.increment();
+
+        if (!firstSeen) {
+            return;
+        }
+        if (OTHER_FRAME.equals(tag) && !OTHER_FRAME.equals(frame)) {
+            log.warn("Virtual thread pinned for {} ms at {} (thread {}); {} frames already tracked, "
+                            + "further new frames are counted under \"{}\" without logging:\n{}",
+                    event.getDuration().toMillis(), frame, threadName(event), maxTrackedFrames, OTHER_FRAME,
+                    format(stackTrace));
+        } else {
+            log.warn("Virtual thread pinned for {} ms at {} (thread {}):\n{}",
+                    event.getDuration().toMillis(), frame, threadName(event), format(stackTrace));
+        }
+    }
+
+    // Se limita el número de etiquetas distintas para no disparar la cardinalidad de la métrica
+    private String tagFor(String frame) {
+        return pinnedByFrame.containsKey(frame) || pinnedByFrame.size() < maxTrackedFrames ? frame : OTHER_FRAME;
+    }
+
+    private Counter newCounter(String tag) {
+        return Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual thread pinning events above the monitor threshold, by first application frame")
+                .tag("frame", tag)
+                .register(meterRegistry);
+    }
+
+    // El primer frame fuera del JDK suele ser el que hay que cambiar (monitor, llamada nativa...)
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return OTHER_FRAME;
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .filter(name -> !name.startsWith("java.") && !name.startsWith("jdk.") && !name.startsWith("sun."))
+                .findFirst()
+                .orElse(OTHER_FRAME);
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_STACK_DEPTH)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String threadName(RecordedEvent event) {
+        return event.getThread() != null ? event.getThread().getJavaName() : "?";
+    }
+
+    @PreDestroy
+    void stop() {
+        recording.close();
+    }
+}
@@ -0,0 +1,35 @@
+package com.surveygenerator.surveygenerator.document.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.surveygenerator.surveygenerator.document.domain.model.JobMode;
+import com.surveygenerator.surveygenerator.document.domain.model.JobStatus;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GenerationJobResponse(
+        @JsonProperty("id") String id,
+        @JsonProperty("status") JobStatus status,
+        @JsonProperty("mode") JobMode mode,
+        @JsonProperty("totalFiles") int totalFiles,
+        @JsonProperty("completedFiles") int completedFiles,
+        @JsonProperty("failedFiles") int failedFiles,
+        @JsonProperty("files") List<FileProgress> files,
+        @JsonProperty("error") String error,
+        @JsonProperty("createdAt") LocalDateTime createdAt,
+        @JsonProperty("finishedAt") LocalDateTime finishedAt
+) {
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record FileProgress(
+            @JsonProperty("fileName") String fileName,
+            @JsonProperty("status") JobStatus status,
+            @JsonProperty("error") String error,
+            @JsonProperty("quiz") QuizResponse quiz,
+            @JsonProperty("quizId") String quizId  // Importaciones masivas: el quiz se lee en /api/v1/quizzes/{id}
+    ) {}
+}
@@ -0,0 +1,14 @@
+package com.surveygenerator.surveygenerator.document.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record QuizGenerationResult(
+        @JsonProperty("fileName") String fileName,
+        @JsonProperty("success") boolean success,
+        @JsonProperty("quiz") QuizResponse quiz,
+        @JsonProperty("error") String error
+) {}
@@ -0,0 +1,12 @@
+package com.surveygenerator.surveygenerator.document.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record QuizHistoryPageResponse(
+        @JsonProperty("items") List<QuizHistoryResponse> items,
+        @JsonProperty("nextCursor") String nextCursor  // null cuando no hay más páginas
+) {}
@@ -0,0 +1,51 @@
+package com.surveygenerator.surveygenerator.document.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Evento emitido durante la generación en streaming (un evento SSE por cada uno)
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record QuizStreamEvent(
+        @JsonProperty("type") Type type,
+        @JsonProperty("index") Integer index,
+        @JsonProperty("statement") String statement,
+        @JsonProperty("question") QuizResponse.Question question,
+        @JsonProperty("quiz") QuizResponse quiz,
+        @JsonProperty("error") String error
+) {
+    public enum Type {
+        STATEMENT, QUESTION, COMPLETED, ERROR
+    }
+
+    public static QuizStreamEvent statement(String statement) {
+        return QuizStreamEvent.builder().type(Type.STATEMENT).statement(statement).build();
+    }
+
+    public static QuizStreamEvent question(int index, QuizResponse.Question question) {
+        return QuizStreamEvent.builder().type(Type.QUESTION).index(index).question(question).build();
+    }
+
+    public static QuizStreamEvent completed(QuizResponse quiz) {
+        return QuizStreamEvent.builder().type(Type.COMPLETED).quiz(quiz).build();
+    }
+
+    public static QuizStreamEvent error(String error) {
+        return QuizStreamEvent.builder().type(Type.ERROR).error(error).build();
+    }
+
+    // Reproduce un quiz ya generado como la misma secuencia de eventos que produce el modelo
+    public static List<QuizStreamEvent> replay(QuizResponse quiz) {
+        List<QuizStreamEvent> events = new ArrayList<>(quiz.questions().size() + 2);
+        events.add(statement(quiz.statement()));
+        for (int i = 0; i < quiz.questions().size(); i++) {
+            events.add(question(i, quiz.questions().get(i)));
+        }
+        events.add(completed(quiz));
+        return events;
+    }
+}
@@ -1,8 +1,20 @@
 package com.surveygenerator.surveygenerator.document.application.port.output;
 
 import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
 
 public interface AiProcessorPort {
 
     QuizResponse generateQuestions(String markdownContent);
+
+    QuizResponse generateQuestions(String markdownContent, int numberOfQuestions);
+
+    // Pide al modelo que no repita las preguntas indicadas; se usa para completar un quiz al que le faltan preguntas
+    QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions);
+
+    // Emite el enunciado y cada pregunta en cuanto están completos, y al final el quiz completo
+    Flux<QuizStreamEvent> streamQuestions(String markdownContent);
 }
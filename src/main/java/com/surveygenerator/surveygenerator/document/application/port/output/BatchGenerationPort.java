@@ -0,0 +1,36 @@
+package com.surveygenerator.surveygenerator.document.application.port.output;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+
+import java.util.List;
+
+// Generación diferida: se envían muchos documentos en un único batch del proveedor y se consulta su estado
+public interface BatchGenerationPort {
+
+    // Devuelve el id del batch en el proveedor
+    String submit(List<BatchItem> items);
+
+    BatchState poll(String batchId);
+
+    record BatchItem(String customId, String markdownContent) {
+    }
+
+    record BatchItemResult(String customId, QuizResponse quiz, String error) {
+    }
+
+    // results solo se rellena cuando finished es true
+    record BatchState(boolean finished, boolean failed, String error, List<BatchItemResult> results) {
+
+        public static BatchState pending() {
+            return new BatchState(false, false, null, List.of());
+        }
+
+        public static BatchState completed(List<BatchItemResult> results) {
+            return new BatchState(true, false, null, results);
+        }
+
+        public static BatchState failed(String error) {
+            return new BatchState(true, true, error, List.of());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.surveygenerator.surveygenerator.document.application.port.output;
+
+import com.surveygenerator.surveygenerator.document.domain.model.GenerationJobFileModel;
+import com.surveygenerator.surveygenerator.document.domain.model.GenerationJobModel;
+import com.surveygenerator.surveygenerator.document.domain.model.JobStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface GenerationJobPort {
+
+    GenerationJobModel save(GenerationJobModel job);
+
+    Optional<GenerationJobModel> findById(String id);
+
+    List<GenerationJobModel> findAllByStatusIn(Collection<JobStatus> statuses);
+
+    void updateStatus(String id, JobStatus status, String error);
+
+    // Actualiza solo un archivo del job, para que varios archivos puedan terminar en paralelo
+    void updateFile(String id, int fileIndex, GenerationJobFileModel file);
+
+    // El contenido de cada archivo se guarda aparte del job, que así no crece con el tamaño de los archivos
+    void saveContents(String id, List<String> contents);
+
+    Optional<String> findContent(String id, int fileIndex);
+
+    void deleteContent(String id, int fileIndex);
+}
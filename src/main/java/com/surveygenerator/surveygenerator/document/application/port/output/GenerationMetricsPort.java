@@ -0,0 +1,75 @@
+package com.surveygenerator.surveygenerator.document.application.port.output;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Latency and size metrics for each stage of quiz generation, from file extraction to the Mongo
+ * save. Stages that do not involve a model use {@value #NONE} for provider and deployment.
+ * Model stages are recorded by the provider adapters, which also report time to first token
+ * and token usage.
+ */
+public interface GenerationMetricsPort {
+
+    String NONE = "none";
+
+    enum Stage {
+        EXTRACTION, VALIDATION, COMPACTION, PROMPT_BUILD, LLM_CALL, JSON_CONVERSION, MAPPING, PERSISTENCE,
+        // Map-reduce de documentos grandes: cada fragmento (incluida su llamada al modelo) y la fusión de resultados
+        CHUNK_GENERATION, CHUNK_MERGE;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    void record(Stage stage, String provider, String deployment, long nanos, boolean success);
+
+    // Desde la petición de una subida hasta la respuesta, incluida la espera por la concurrencia
+    void recordPipeline(String mode, long nanos, boolean success);
+
+    void recordTimeToFirstToken(String provider, String deployment, long nanos);
+
+    // Los proveedores que no informan el uso pasan null y no se cuenta nada
+    void recordTokens(String provider, String deployment, Integer promptTokens, Integer completionTokens);
+
+    void recordDocumentSize(int characters);
+
+    // Tokens estimados del prompt de cada fragmento del map-reduce
+    void recordChunkTokens(int tokens);
+
+    default <T> T record(Stage stage, Supplier<T> work) {
+        return record(stage, NONE, NONE, work);
+    }
+
+    default void record(Stage stage, Runnable work) {
+        record(stage, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    default <T> T record(Stage stage, String provider, String deployment, Supplier<T> work) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = work.get();
+            success = true;
+            return result;
+        } finally {
+            record(stage, provider, deployment, System.nanoTime() - start, success);
+        }
+    }
+
+    default <T> T recordPipeline(String mode, Supplier<T> work) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = work.get();
+            success = true;
+            return result;
+        } finally {
+            recordPipeline(mode, System.nanoTime() - start, success);
+        }
+    }
+}
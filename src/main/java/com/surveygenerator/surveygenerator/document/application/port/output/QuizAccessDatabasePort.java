@@ -1,7 +1,9 @@
 package com.surveygenerator.surveygenerator.document.application.port.output;
 
 import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizSummaryModel;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,7 +11,14 @@ public interface QuizAccessDatabasePort {
 
     QuizModel save(QuizModel quizModel);
 
-    List<QuizModel> findAllByUserId(String userId);
+    // Inserción masiva en una sola ida y vuelta; no devuelve los modelos, pero asigna id a los que no lo traen
+    void saveAll(List<QuizModel> quizModels);
+
+    // Página de resúmenes ordenada por createdAt/_id descendente; afterCreatedAt/afterId a null para la primera
+    List<QuizSummaryModel> findSummariesByUserId(String userId, LocalDateTime afterCreatedAt, String afterId, int limit);
 
     Optional<QuizModel> findByIdAndUserId(String id, String userId);
+
+    // JSON de QuizResponse guardado junto al quiz; vacío si no existe o si se guardó sin él o con otro formato
+    Optional<byte[]> findResponseJsonByIdAndUserId(String id, String userId);
 }
@@ -0,0 +1,12 @@
+package com.surveygenerator.surveygenerator.document.application.port.output;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+
+import java.util.Optional;
+
+public interface QuizGenerationCachePort {
+
+    Optional<QuizResponse> findByKey(String cacheKey);
+
+    void save(String cacheKey, QuizResponse quizResponse);
+}
@@ -0,0 +1,13 @@
+package com.surveygenerator.surveygenerator.document.application.port.output;
+
+import java.util.function.Supplier;
+
+// Caché read-through del JSON ya serializado de un quiz, por (userId, quizId)
+public interface QuizViewCachePort {
+
+    // loader se ejecuta en caso de fallo; sus excepciones se propagan y no se cachean
+    byte[] getOrLoad(String userId, String quizId, Supplier<byte[]> loader);
+
+    // Invalida todos los quizzes cacheados del usuario; se llama cada vez que se le guardan quizzes
+    void evictUser(String userId);
+}
@@ -0,0 +1,20 @@
+package com.surveygenerator.surveygenerator.document.application.port.output;
+
+import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizSummaryModel;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Variante no bloqueante de QuizAccessDatabasePort para el perfil "reactive"
+public interface ReactiveQuizAccessDatabasePort {
+
+    Mono<Void> saveAll(List<QuizModel> quizModels);
+
+    // Misma paginación por cursor que QuizAccessDatabasePort.findSummariesByUserId
+    Flux<QuizSummaryModel> findSummariesByUserId(String userId, LocalDateTime afterCreatedAt, String afterId, int limit);
+
+    Mono<QuizModel> findByIdAndUserId(String id, String userId);
+}
@@ -0,0 +1,243 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.GenerationJobResponse;
+import com.surveygenerator.surveygenerator.document.application.mapper.QuizMapper;
+import com.surveygenerator.surveygenerator.document.application.port.output.BatchGenerationPort;
+import com.surveygenerator.surveygenerator.document.application.port.output.GenerationJobPort;
+import com.surveygenerator.surveygenerator.document.application.port.output.QuizAccessDatabasePort;
+import com.surveygenerator.surveygenerator.document.application.port.output.QuizViewCachePort;
+import com.surveygenerator.surveygenerator.document.domain.model.GenerationJobFileModel;
+import com.surveygenerator.surveygenerator.document.domain.model.GenerationJobModel;
+import com.surveygenerator.surveygenerator.document.domain.model.JobMode;
+import com.surveygenerator.surveygenerator.document.domain.model.JobStatus;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk imports through the provider's batch API. All documents of an import are submitted as a
+ * single batch and stored as a {@link JobMode#BATCH} generation job; a poller checks running
+ * batches and, once one completes, saves every resulting quiz in one bulk write. Progress is
+ * read through the same job endpoint as interactive jobs; each file references its quiz by id
+ * instead of embedding it, so a large import stays well under MongoDB's document size limit.
+ */
+@Service
+@Slf4j
+public class BatchGenerationService {
+
+    private final GenerationJobPort generationJobPort;
+    private final BatchGenerationPort batchGenerationPort;
+    private final QuizAccessDatabasePort quizAccessDatabasePort;
+    private final QuizViewCachePort quizViewCachePort;
+    private final FileContentProcessor fileContentProcessor;
+    private final MarkdownCompactor markdownCompactor;
+    private final QuizMapper quizMapper;
+    private final GenerationJobService generationJobService;
+    private final Duration pollInterval;
+    private final int maxFiles;
+    private final long maxArchiveBytes;
+    private final ScheduledExecutorService poller =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("batch-poller").factory());
+
+    public BatchGenerationService(
+            GenerationJobPort generationJobPort,
+            BatchGenerationPort batchGenerationPort,
+            QuizAccessDatabasePort quizAccessDatabasePort,
+            QuizViewCachePort quizViewCachePort,
+            FileContentProcessor fileContentProcessor,
+            MarkdownCompactor markdownCompactor,
+            QuizMapper quizMapper,
+            GenerationJobService generationJobService,
+            @Value("${app.batch.poll-interval:60s}") Duration pollInterval,
+            @Value("${app.batch.max-files:1000}") int maxFiles,
+            @Value("${app.batch.max-archive-size:50MB}") DataSize maxArchiveSize
+    ) {
+        this.generationJobPort = generationJobPort;
+        this.batchGenerationPort = batchGenerationPort;
+        this.quizAccessDatabasePort = quizAccessDatabasePort;
+        this.quizViewCachePort = quizViewCachePort;
+        this.fileContentProcessor = fileContentProcessor;
+        this.markdownCompactor = markdownCompactor;
+        this.quizMapper = quizMapper;
+        this.generationJobService = generationJobService;
+        this.pollInterval = pollInterval;
+        this.maxFiles = maxFiles;
+        this.maxArchiveBytes = maxArchiveSize.toBytes();
+    }
+
+    // files y archive son opcionales, pero al menos uno debe aportar algún .md
+    public GenerationJobResponse submit(List<MultipartFile> files, MultipartFile archive, String userId) {
+        // Los quizzes se guardan en el historial y el job solo guarda sus ids: sin usuario no hay dónde guardarlos
+        if (userId == null) {
+            throw new IllegalArgumentException("Bulk imports require an authenticated user");
+        }
+        List<GenerationJobFileModel> jobFiles = new ArrayList<>();
+        List<BatchGenerationPort.BatchItem> items = new ArrayList<>();
+
+        // Lista y no mapa por nombre: dos archivos con el mismo nombre (o uno suelto y otro del .zip) son documentos distintos
+        List<ImportedFile> contents = new ArrayList<>();
+        if (archive != null) {
+            fileContentProcessor.extractMarkdownArchive(archive, maxFiles, maxArchiveBytes)
+                    .forEach((fileName, content) -> contents.add(new ImportedFile(fileName, content)));
+        }
+        for (MultipartFile file : files) {
+            contents.add(new ImportedFile(file.getOriginalFilename(), fileContentProcessor.extractContent(file)));
+        }
+        if (contents.isEmpty()) {
+            throw new IllegalArgumentException("No markdown files found in request");
+        }
+        if (contents.size() > maxFiles) {
+            throw new IllegalArgumentException("Bulk imports are limited to " + maxFiles + " files");
+        }
+
+        // customId es el índice del archivo dentro del job
+        contents.forEach(imported -> {
+            GenerationJobFileModel jobFile = GenerationJobFileModel.builder()
+                    .fileName(imported.fileName())
+                    .build();
+            if (fileContentProcessor.validateContent(imported.content()).isValid()) {
+                items.add(new BatchGenerationPort.BatchItem(
+                        String.valueOf(jobFiles.size()), markdownCompactor.compact(imported.content())));
+                jobFile.setStatus(JobStatus.RUNNING);
+            } else {
+                jobFile.setStatus(JobStatus.FAILED);
+                jobFile.setError("Uploaded file is empty");
+            }
+            jobFiles.add(jobFile);
+        });
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("All uploaded files are empty");
+        }
+
+        String batchId = batchGenerationPort.submit(items);
+        LocalDateTime now = LocalDateTime.now();
+        GenerationJobModel job = generationJobPort.save(GenerationJobModel.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .status(JobStatus.RUNNING)
+                .mode(JobMode.BATCH)
+                .providerBatchId(batchId)
+                .files(jobFiles)
+                .createdAt(now)
+                .startedAt(now)
+                .build());
+
+        log.info("Batch generation job {} submitted as provider batch {} with {} file(s)",
+                job.getId(), batchId, items.size());
+        return generationJobService.toResponse(job);
+    }
+
+    // También retoma los batches que seguían en curso antes de un reinicio
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPolling() {
+        poller.scheduleWithFixedDelay(this::pollRunningBatches,
+                pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void pollRunningBatches() {
+        // Una excepción sin capturar cancelaría las siguientes ejecuciones programadas
+        try {
+            generationJobPort.findAllByStatusIn(List.of(JobStatus.RUNNING)).stream()
+                    .filter(job -> job.getMode() == JobMode.BATCH)
+                    .forEach(this::pollJob);
+        } catch (RuntimeException e) {
+            log.error("Polling provider batches failed", e);
+        }
+    }
+
+    private void pollJob(GenerationJobModel job) {
+        BatchGenerationPort.BatchState state;
+        try {
+            state = batchGenerationPort.poll(job.getProviderBatchId());
+        } catch (RuntimeException e) {
+            log.warn("Could not poll batch {} of job {}: {}", job.getProviderBatchId(), job.getId(), e.getMessage());
+            return;
+        }
+        if (!state.finished()) {
+            return;
+        }
+
+        if (state.failed()) {
+            job.getFiles().stream()
+                    .filter(file -> file.getStatus() == JobStatus.RUNNING)
+                    .forEach(file -> {
+                        file.setStatus(JobStatus.FAILED);
+                        file.setError(state.error());
+                    });
+            finish(job, JobStatus.FAILED, state.error());
+            return;
+        }
+
+        Map<String, BatchGenerationPort.BatchItemResult> results = state.results().stream()
+                .filter(result -> result.customId() != null)
+                .collect(Collectors.toMap(BatchGenerationPort.BatchItemResult::customId, Function.identity(),
+                        (first, second) -> first.quiz() != null ? first : second));
+
+        List<QuizModel> quizzes = new ArrayList<>();
+        List<GenerationJobFileModel> doneFiles = new ArrayList<>();
+        for (int i = 0; i < job.getFiles().size(); i++) {
+            GenerationJobFileModel file = job.getFiles().get(i);
+            if (file.getStatus() != JobStatus.RUNNING) {
+                continue;
+            }
+
+            BatchGenerationPort.BatchItemResult result = results.get(String.valueOf(i));
+            if (result == null || result.quiz() == null) {
+                file.setStatus(JobStatus.FAILED);
+                file.setError(result != null ? result.error() : "No result returned by the provider");
+                continue;
+            }
+            QuizModel quiz = quizMapper.toModel(result.quiz(), job.getUserId());
+            file.setStatus(JobStatus.DONE);
+            quizzes.add(quiz);
+            doneFiles.add(file);
+        }
+
+        // Una sola escritura para todos los quizzes del batch; saveAll asigna los ids que guarda el job
+        if (!quizzes.isEmpty()) {
+            quizAccessDatabasePort.saveAll(quizzes);
+            quizViewCachePort.evictUser(job.getUserId());
+        }
+        for (int i = 0; i < quizzes.size(); i++) {
+            doneFiles.get(i).setQuizId(quizzes.get(i).getId());
+        }
+
+        boolean anyDone = !quizzes.isEmpty();
+        finish(job, anyDone ? JobStatus.DONE : JobStatus.FAILED, anyDone ? null : "All files failed");
+        log.info("Batch generation job {} finished: {} of {} file(s) generated",
+                job.getId(), quizzes.size(), job.getFiles().size());
+    }
+
+    private void finish(GenerationJobModel job, JobStatus status, String error) {
+        job.setStatus(status);
+        job.setError(error);
+        job.setFinishedAt(LocalDateTime.now());
+        generationJobPort.save(job);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        poller.shutdownNow();
+    }
+
+    private record ImportedFile(String fileName, CharSequence content) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.application.port.output.GenerationMetricsPort;
+import com.surveygenerator.surveygenerator.utils.TextNormalizer;
+import com.surveygenerator.surveygenerator.utils.TokenEstimator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Map-reduce generation for documents that do not fit comfortably in one prompt: the markdown
+ * is split into chunks, each chunk gets a share of the questions proportional to its size, the
+ * chunks are generated in parallel and the results are merged and deduplicated.
+ */
+@Service
+@Slf4j
+public class ChunkedQuizGenerator {
+
+    // Se piden algunas preguntas de más para compensar las que se descartan como duplicadas
+    private static final double OVERSAMPLING = 1.25;
+
+    private final AiProcessorPort aiProcessorPort;
+    private final MarkdownChunker markdownChunker;
+    private final GenerationTaskExecutor generationTaskExecutor;
+    private final GenerationMetricsPort generationMetrics;
+    private final boolean enabled;
+    private final int maxTokensPerChunk;
+    private final int numberOfQuestions;
+
+    public ChunkedQuizGenerator(
+            AiProcessorPort aiProcessorPort,
+            MarkdownChunker markdownChunker,
+            GenerationTaskExecutor generationTaskExecutor,
+            GenerationMetricsPort generationMetrics,
+            @Value("${app.generation.chunking.enabled:true}") boolean enabled,
+            @Value("${app.generation.chunking.max-tokens-per-chunk:6000}") int maxTokensPerChunk,
+            @Value("${app.ai.quiz.number-of-questions:10}") int numberOfQuestions
+    ) {
+        this.aiProcessorPort = aiProcessorPort;
+        this.markdownChunker = markdownChunker;
+        this.generationTaskExecutor = generationTaskExecutor;
+        this.generationMetrics = generationMetrics;
+        this.enabled = enabled;
+        this.maxTokensPerChunk = maxTokensPerChunk;
+        this.numberOfQuestions = numberOfQuestions;
+    }
+
+    // Los documentos que caben en un único prompt no pasan por el map-reduce
+    public boolean needsChunking(String content) {
+        return enabled && TokenEstimator.estimate(content) > maxTokensPerChunk;
+    }
+
+    public QuizResponse generate(String content) {
+        if (!needsChunking(content)) {
+            return aiProcessorPort.generateQuestions(content);
+        }
+
+        int documentTokens = TokenEstimator.estimate(content);
+
+        List<String> chunks = markdownChunker.split(content, maxTokensPerChunk);
+        List<Integer> questionShares = questionShares(chunks, documentTokens);
+        log.info("Document of ~{} tokens split into {} chunks (budget {} tokens per chunk)",
+                documentTokens, chunks.size(), maxTokensPerChunk);
+
+        List<Integer> indexes = IntStream.range(0, chunks.size()).boxed().toList();
+        List<GenerationTaskExecutor.Outcome<QuizResponse>> outcomes = generationTaskExecutor.runAll(
+                indexes, index -> generateChunk(index, chunks.get(index), questionShares.get(index)));
+
+        List<QuizResponse> partials = outcomes.stream()
+                .filter(GenerationTaskExecutor.Outcome::isSuccess)
+                .map(GenerationTaskExecutor.Outcome::value)
+                .toList();
+        if (partials.isEmpty()) {
+            // Todos los fragmentos fallaron: se propaga el primer error
+            return outcomes.getFirst().getOrThrow();
+        }
+
+        long mergeStart = System.nanoTime();
+        QuizResponse merged = generationMetrics.record(GenerationMetricsPort.Stage.CHUNK_MERGE, () -> merge(partials));
+        long mergeNanos = System.nanoTime() - mergeStart;
+
+        log.info("Merged {} of {} chunk results into {} questions in {} µs",
+                partials.size(), chunks.size(), merged.questions().size(), mergeNanos / 1_000);
+        return merged;
+    }
+
+    private QuizResponse generateChunk(int index, String chunk, int questions) {
+        int tokens = TokenEstimator.estimate(chunk);
+        generationMetrics.recordChunkTokens(tokens);
+
+        long start = System.nanoTime();
+        QuizResponse response = generationMetrics.record(GenerationMetricsPort.Stage.CHUNK_GENERATION,
+                () -> aiProcessorPort.generateQuestions(chunk, questions));
+        long elapsedNanos = System.nanoTime() - start;
+
+        log.info("Chunk {} (~{} tokens) produced {} questions in {} ms",
+                index, tokens, response.questions().size(), elapsedNanos / 1_000_000);
+        return response;
+    }
+
+    private List<Integer> questionShares(List<String> chunks, int documentTokens) {
+        int target = (int) Math.ceil(numberOfQuestions * OVERSAMPLING);
+        return chunks.stream()
+                .map(chunk -> Math.max(1, (int) Math.round(
+                        (double) target * TokenEstimator.estimate(chunk) / documentTokens)))
+                .toList();
+    }
+
+    // Toma las preguntas por turnos de cada fragmento para que todo el documento quede cubierto
+    private QuizResponse merge(List<QuizResponse> partials) {
+        List<QuizResponse.Question> merged = new ArrayList<>(numberOfQuestions);
+        Set<String> seen = new HashSet<>();
+        int longest = partials.stream().mapToInt(partial -> partial.questions().size()).max().orElse(0);
+
+        for (int round = 0; round < longest && merged.size() < numberOfQuestions; round++) {
+            for (QuizResponse partial : partials) {
+                if (round >= partial.questions().size() || merged.size() >= numberOfQuestions) {
+                    continue;
+                }
+                QuizResponse.Question question = partial.questions().get(round);
+                if (seen.add(TextNormalizer.normalize(question.question()))) {
+                    merged.add(question);
+                }
+            }
+        }
+
+        return QuizResponse.builder()
+                .statement(partials.getFirst().statement())
+                .questions(merged)
+                .build();
+    }
+}
@@ -1,37 +1,112 @@
 package com.surveygenerator.surveygenerator.document.application.service;
 
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizGenerationResult;
 import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
-import com.surveygenerator.surveygenerator.document.application.mapper.QuizMapper;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
 import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.application.port.output.GenerationMetricsPort;
 import com.surveygenerator.surveygenerator.document.application.port.output.QuizAccessDatabasePort;
+import com.surveygenerator.surveygenerator.document.application.port.output.QuizViewCachePort;
 import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
-import com.surveygenerator.surveygenerator.utils.ValidatorResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DocumentService {
 
-    private final FileContentProcessor fileContentProcessor;
     private final AiProcessorPort aiProcessorPort;
     private final QuizAccessDatabasePort quizAccessDatabasePort;
-    private final QuizMapper quizMapper;
+    private final QuizViewCachePort quizViewCachePort;
+    private final GenerationTaskExecutor generationTaskExecutor;
+    private final ChunkedQuizGenerator chunkedQuizGenerator;
+    private final QuizGenerationSteps quizGenerationSteps;
+    private final GenerationMetricsPort generationMetrics;
 
     public List<QuizResponse> generateQuestions(List<MultipartFile> files, String userId) {
-        return files.stream()
-                .map(fileContentProcessor::extractContent)
-                .map(this::validateContent)
-                .map(aiProcessorPort::generateQuestions)
-                .map(response -> saveQuiz(response, userId))
+        return generationMetrics.recordPipeline("sync", () -> generateAll(files, userId));
+    }
+
+    private List<QuizResponse> generateAll(List<MultipartFile> files, String userId) {
+        List<QuizResponse> responses;
+        if (!generationTaskExecutor.isEnabled()) {
+            responses = files.stream()
+                    .map(file -> generateQuiz(file, userId))
+                    .toList();
+        } else {
+            // Same all-or-nothing contract as the sequential path, but files are processed concurrently
+            responses = generationTaskExecutor.runAll(files, file -> generateQuiz(file, userId))
+                    .stream()
+                    .map(GenerationTaskExecutor.Outcome::getOrThrow)
+                    .toList();
+        }
+
+        saveQuizzes(responses, userId);
+        return responses;
+    }
+
+    // Cada archivo se procesa de forma independiente: un fallo no descarta el resto del lote
+    public List<QuizGenerationResult> generateQuestionsPerFile(List<MultipartFile> files, String userId) {
+        return generationMetrics.recordPipeline("per_file", () -> generateEach(files, userId));
+    }
+
+    private List<QuizGenerationResult> generateEach(List<MultipartFile> files, String userId) {
+        List<GenerationTaskExecutor.Outcome<QuizResponse>> outcomes =
+                generationTaskExecutor.runAll(files, file -> generateQuiz(file, userId));
+
+        saveQuizzes(outcomes.stream()
+                .filter(GenerationTaskExecutor.Outcome::isSuccess)
+                .map(GenerationTaskExecutor.Outcome::value)
+                .toList(), userId);
+
+        return IntStream.range(0, files.size())
+                .mapToObj(i -> toGenerationResult(files.get(i), outcomes.get(i)))
                 .toList();
     }
 
+    // El contenido se lee antes de devolver el Flux: el MultipartFile solo es válido durante la petición
+    public Flux<QuizStreamEvent> streamQuestions(MultipartFile file, String userId) {
+        String content = quizGenerationSteps.prepareContent(quizGenerationSteps.extractContent(file));
+
+        return GenerationPriority.callForUser(userId,
+                        () -> aiProcessorPort.streamQuestions(content))
+                .concatMap(event -> event.type() == QuizStreamEvent.Type.COMPLETED
+                        ? Mono.fromCallable(() -> {
+                            saveQuiz(event.quiz(), userId);
+                            return event;
+                        }).subscribeOn(Schedulers.boundedElastic())
+                        : Mono.just(event))
+                .onErrorResume(error -> {
+                    log.error("Streaming quiz generation failed", error);
+                    return Flux.just(QuizStreamEvent.error(error.getMessage()));
+                });
+    }
+
+    // Usado también por los jobs asíncronos, que guardan el contenido ya extraído
+    public QuizResponse generateQuizFromContent(String content, String userId) {
+        return saveQuiz(generateUnsavedQuiz(content, userId), userId);
+    }
+
+    // Las subidas de varios archivos generan sin guardar y persisten todo junto con saveQuizzes
+    private QuizResponse generateQuiz(MultipartFile file, String userId) {
+        return generateUnsavedQuiz(quizGenerationSteps.extractContent(file), userId);
+    }
+
+    private QuizResponse generateUnsavedQuiz(CharSequence content, String userId) {
+        String compacted = quizGenerationSteps.prepareContent(content);
+        return GenerationPriority.callForUser(userId,
+                () -> chunkedQuizGenerator.generate(compacted));
+    }
+
 //    public QuizResponse generateQuestionsOfUser(FilePart file, FormFieldPart userIdPart) {
 //        return fileContentProcessor.extractContent(file)
 //                .flatMap(this::validateContent)
@@ -49,28 +124,50 @@ public class DocumentService {
 
 
 
-    private String validateContent(String content) {
-        ValidatorResult<String> contentValidation = fileContentProcessor.validateContent(content);
-
-        if (!contentValidation.isValid()) {
-            throw new IllegalArgumentException(contentValidation.getErrorMessage());
-        }
-
-        return contentValidation.getData();
-    }
-
     private QuizResponse saveQuiz(QuizResponse response, String userId) {
         // Only save to database if user is authenticated
         if (userId != null) {
             log.info("Saving generated quiz for userId: {}", userId);
-            QuizModel quizModel = quizMapper.toModel(response, userId);
-            quizAccessDatabasePort.save(quizModel);
+            // El modelo guardado no se usa: saveAll evita mapear la entidad de vuelta
+            persist(quizGenerationSteps.toModels(List.of(response), userId));
+            quizViewCachePort.evictUser(userId);
         } else {
             log.debug("Skipping database save for anonymous user");
         }
         return response;
     }
 
+    private void saveQuizzes(List<QuizResponse> responses, String userId) {
+        if (userId == null || responses.isEmpty()) {
+            return;
+        }
+        log.info("Saving {} generated quiz(zes) for userId: {}", responses.size(), userId);
+        persist(quizGenerationSteps.toModels(responses, userId));
+        quizViewCachePort.evictUser(userId);
+    }
+
+    private void persist(List<QuizModel> quizModels) {
+        generationMetrics.record(GenerationMetricsPort.Stage.PERSISTENCE, () -> quizAccessDatabasePort.saveAll(quizModels));
+    }
+
+    private QuizGenerationResult toGenerationResult(MultipartFile file,
+                                                    GenerationTaskExecutor.Outcome<QuizResponse> outcome) {
+        if (outcome.isSuccess()) {
+            return QuizGenerationResult.builder()
+                    .fileName(file.getOriginalFilename())
+                    .success(true)
+                    .quiz(outcome.value())
+                    .build();
+        }
+
+        log.warn("Quiz generation failed for file {}: {}", file.getOriginalFilename(), outcome.error().getMessage());
+        return QuizGenerationResult.builder()
+                .fileName(file.getOriginalFilename())
+                .success(false)
+                .error(outcome.error().getMessage())
+                .build();
+    }
+
 //    private List<QuestionDocument> convertToQuestionDocuments(List<QuizDTO.Question> questions) {
 //        return questions.stream()
 //                .map(question -> QuestionDocument.builder()
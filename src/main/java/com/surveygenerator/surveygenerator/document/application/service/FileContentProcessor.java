@@ -2,24 +2,45 @@ package com.surveygenerator.surveygenerator.document.application.service;
 
 import com.surveygenerator.surveygenerator.utils.ValidatorResult;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 @Service
 @Slf4j
 public class FileContentProcessor {
 
-    public String extractContent(MultipartFile file) {
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final long maxFileSizeBytes;
+
+    public FileContentProcessor(@Value("${app.upload.max-file-size:2MB}") DataSize maxFileSize) {
+        this.maxFileSizeBytes = maxFileSize.toBytes();
+    }
+
+    // Decodifica al vuelo en un único StringBuilder: no hay copia en byte[] ni String del documento completo
+    public CharSequence extractContent(MultipartFile file) {
         log.info("Extracting content from file: {}", file.getOriginalFilename());
 
-        try {
-            String content = new String(file.getBytes(), StandardCharsets.UTF_8);
+        if (file.getSize() > maxFileSizeBytes) {
+            throw new IllegalArgumentException(tooLargeMessage(file.getOriginalFilename()));
+        }
 
+        try (InputStream input = file.getInputStream()) {
+            CharSequence content = decode(new SizeLimitedInputStream(input, file.getOriginalFilename()), file.getSize());
             log.info("Content extracted successfully, length: {}", content.length());
-
             return content;
 
         } catch (IOException error) {
@@ -28,8 +49,65 @@ public class FileContentProcessor {
         }
     }
 
-    public ValidatorResult<String> validateContent(String content) {
-        if (content == null || content.trim().isEmpty()) {
+    /**
+     * Extracts every {@code .md} entry of a zip archive, keyed by entry name in archive order.
+     * Each entry is held to the per-file limit and the archive to {@code maxFiles} entries and
+     * {@code maxTotalBytes} uncompressed bytes, so a zip bomb is cut off while reading.
+     */
+    public Map<String, CharSequence> extractMarkdownArchive(MultipartFile archive, int maxFiles, long maxTotalBytes) {
+        log.info("Extracting markdown files from archive: {}", archive.getOriginalFilename());
+
+        Map<String, CharSequence> contents = new LinkedHashMap<>();
+        long totalBytes = 0;
+        try (ZipInputStream zip = new ZipInputStream(archive.getInputStream(), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (entry.isDirectory() || name.startsWith("__MACOSX/") || !name.toLowerCase().endsWith(".md")) {
+                    continue;
+                }
+                if (contents.size() >= maxFiles) {
+                    throw new IllegalArgumentException("Archive contains more than " + maxFiles + " markdown files");
+                }
+
+                SizeLimitedInputStream entryInput = new SizeLimitedInputStream(zip, name);
+                CharSequence content = decode(entryInput, entry.getSize());
+                totalBytes += entryInput.bytesRead();
+                if (totalBytes > maxTotalBytes) {
+                    throw new IllegalArgumentException("Archive exceeds " + maxTotalBytes + " uncompressed bytes");
+                }
+                contents.put(name, content);
+            }
+        } catch (IOException error) {
+            log.error("Error extracting archive content", error);
+            throw new IllegalArgumentException("Invalid zip archive: " + error.getMessage(), error);
+        }
+
+        log.info("Extracted {} markdown file(s) from archive", contents.size());
+        return contents;
+    }
+
+    /**
+     * Decodes the stream as UTF-8 straight into a builder sized from {@code sizeHint} (the
+     * multipart size or the zip entry size, {@code -1} when unknown). A UTF-8 character takes at
+     * least one byte, so the byte size is an upper bound of the length and the builder does not
+     * grow. Only the decoder's small buffers sit between the stream and the builder. The reader
+     * is not closed: a zip keeps reading the following entries from the stream.
+     */
+    private StringBuilder decode(SizeLimitedInputStream input, long sizeHint) throws IOException {
+        StringBuilder content = new StringBuilder((int) Math.clamp(sizeHint > 0 ? sizeHint : BUFFER_SIZE, 16, maxFileSizeBytes));
+        Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            content.append(buffer, 0, read);
+        }
+        return content;
+    }
+
+    public ValidatorResult<CharSequence> validateContent(CharSequence content) {
+        // Se recorre en el sitio: ni trim ni toString crean una copia del contenido
+        if (content == null || content.codePoints().allMatch(Character::isWhitespace)) {
             log.warn("File content is empty");
             return ValidatorResult.error("Uploaded file is empty");
         }
@@ -37,4 +115,49 @@ public class FileContentProcessor {
         log.info("Content validation successful");
         return ValidatorResult.success(content);
     }
+
+    private String tooLargeMessage(String fileName) {
+        return "File " + fileName + " exceeds the maximum size of " + maxFileSizeBytes + " bytes";
+    }
+
+    // Corta la lectura en cuanto se pasa del límite, aunque el tamaño declarado (o el de la entrada del zip) mienta
+    private final class SizeLimitedInputStream extends FilterInputStream {
+
+        private final String fileName;
+        private long bytesRead;
+
+        SizeLimitedInputStream(InputStream input, String fileName) {
+            super(input);
+            this.fileName = fileName;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int next = super.read();
+            if (next != -1) {
+                count(1);
+            }
+            return next;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        long bytesRead() {
+            return bytesRead;
+        }
+
+        private void count(int read) {
+            bytesRead += read;
+            if (bytesRead > maxFileSizeBytes) {
+                throw new IllegalArgumentException(tooLargeMessage(fileName));
+            }
+        }
+    }
 }
@@ -0,0 +1,260 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.GenerationJobResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.mapper.QuizMapper;
+import com.surveygenerator.surveygenerator.document.application.port.output.GenerationJobPort;
+import com.surveygenerator.surveygenerator.document.domain.model.GenerationJobFileModel;
+import com.surveygenerator.surveygenerator.document.domain.model.GenerationJobModel;
+import com.surveygenerator.surveygenerator.document.domain.model.JobMode;
+import com.surveygenerator.surveygenerator.document.domain.model.JobStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@Service
+@Slf4j
+public class GenerationJobService {
+
+    private static final List<JobStatus> UNFINISHED_STATUSES = List.of(JobStatus.QUEUED, JobStatus.RUNNING);
+    private static final Duration RESUME_RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final GenerationJobPort generationJobPort;
+    private final DocumentService documentService;
+    private final FileContentProcessor fileContentProcessor;
+    private final GenerationTaskExecutor generationTaskExecutor;
+    private final QuizMapper quizMapper;
+    private final ThreadPoolExecutor jobExecutor;
+    private volatile boolean shuttingDown;
+
+    public GenerationJobService(
+            GenerationJobPort generationJobPort,
+            DocumentService documentService,
+            FileContentProcessor fileContentProcessor,
+            GenerationTaskExecutor generationTaskExecutor,
+            QuizMapper quizMapper,
+            @Value("${app.jobs.workers:4}") int workers,
+            @Value("${app.jobs.queue-capacity:100}") int queueCapacity
+    ) {
+        this.generationJobPort = generationJobPort;
+        this.documentService = documentService;
+        this.fileContentProcessor = fileContentProcessor;
+        this.generationTaskExecutor = generationTaskExecutor;
+        this.quizMapper = quizMapper;
+        this.jobExecutor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("generation-job-", 0).factory());
+    }
+
+    // El contenido se extrae dentro de la petición: el MultipartFile no sobrevive a ella
+    public GenerationJobResponse submit(List<MultipartFile> files, String userId) {
+        // El contenido se guarda para procesarlo después: aquí sí hace falta el String
+        List<String> contents = files.stream()
+                .map(file -> fileContentProcessor.extractContent(file).toString())
+                .toList();
+        List<GenerationJobFileModel> jobFiles = files.stream()
+                .map(file -> GenerationJobFileModel.builder()
+                        .fileName(file.getOriginalFilename())
+                        .status(JobStatus.QUEUED)
+                        .build())
+                .toList();
+
+        // Los contenidos van antes que el job: un job visible nunca apunta a contenido que falta
+        String jobId = UUID.randomUUID().toString();
+        generationJobPort.saveContents(jobId, contents);
+        GenerationJobModel job = generationJobPort.save(GenerationJobModel.builder()
+                .id(jobId)
+                .userId(userId)
+                .status(JobStatus.QUEUED)
+                .mode(JobMode.INTERACTIVE)
+                .files(jobFiles)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        log.info("Generation job {} queued with {} file(s)", job.getId(), jobFiles.size());
+        enqueue(job.getId());
+        return toResponse(job);
+    }
+
+    public GenerationJobResponse getJob(String jobId, String userId) {
+        GenerationJobModel job = generationJobPort.findById(jobId)
+                .filter(found -> found.getUserId() == null || found.getUserId().equals(userId))
+                .orElseThrow(() -> new IllegalArgumentException("Job not found or does not belong to user"));
+
+        return toResponse(job);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        // Los jobs en modo BATCH los retoma BatchGenerationService consultando al proveedor
+        List<GenerationJobModel> unfinished = generationJobPort.findAllByStatusIn(UNFINISHED_STATUSES).stream()
+                .filter(job -> job.getMode() != JobMode.BATCH)
+                .toList();
+        if (unfinished.isEmpty()) {
+            return;
+        }
+
+        log.info("Resuming {} unfinished generation job(s)", unfinished.size());
+        // Pueden ser más que la capacidad de la cola: se reenvían conforme se libera hueco, sin descartar ninguno
+        Thread.ofVirtual().name("generation-job-resume").start(() -> {
+            for (GenerationJobModel job : unfinished) {
+                if (!resubmit(job.getId())) {
+                    return;
+                }
+            }
+        });
+    }
+
+    private boolean resubmit(String jobId) {
+        while (!shuttingDown) {
+            try {
+                jobExecutor.execute(() -> run(jobId));
+                return true;
+            } catch (RejectedExecutionException e) {
+                try {
+                    Thread.sleep(RESUME_RETRY_DELAY);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void enqueue(String jobId) {
+        try {
+            jobExecutor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            generationJobPort.updateStatus(jobId, JobStatus.FAILED, "Job queue is full");
+            throw e;
+        }
+    }
+
+    private void run(String jobId) {
+        GenerationJobModel job = generationJobPort.findById(jobId).orElse(null);
+        if (job == null || job.getStatus().isFinished() || job.getMode() == JobMode.BATCH) {
+            return;
+        }
+
+        log.info("Running generation job {}", jobId);
+        generationJobPort.updateStatus(jobId, JobStatus.RUNNING, null);
+
+        try {
+            // Al reanudar, los archivos ya terminados no se vuelven a generar
+            List<Integer> pending = IntStream.range(0, job.getFiles().size())
+                    .filter(i -> !job.getFiles().get(i).getStatus().isFinished())
+                    .boxed()
+                    .toList();
+            generationTaskExecutor.runAll(pending, index -> processFile(job, index));
+            if (isShutdownInterruption(null)) {
+                log.info("Generation job {} interrupted by shutdown, it will resume on the next start", jobId);
+                return;
+            }
+
+            boolean anyDone = job.getFiles().stream()
+                    .anyMatch(file -> file.getStatus() == JobStatus.DONE);
+            generationJobPort.updateStatus(jobId,
+                    anyDone ? JobStatus.DONE : JobStatus.FAILED,
+                    anyDone ? null : "All files failed");
+            log.info("Generation job {} finished", jobId);
+        } catch (RuntimeException e) {
+            if (isShutdownInterruption(e)) {
+                log.info("Generation job {} interrupted by shutdown, it will resume on the next start", jobId);
+                return;
+            }
+            log.error("Generation job {} failed", jobId, e);
+            generationJobPort.updateStatus(jobId, JobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private JobStatus processFile(GenerationJobModel job, int index) {
+        GenerationJobFileModel file = job.getFiles().get(index);
+        file.setStatus(JobStatus.RUNNING);
+        generationJobPort.updateFile(job.getId(), index, file);
+
+        try {
+            String content = generationJobPort.findContent(job.getId(), index)
+                    .orElseThrow(() -> new IllegalStateException("File content is no longer available"));
+            QuizResponse quiz = documentService.generateQuizFromContent(content, job.getUserId());
+            file.setQuiz(quizMapper.toModel(quiz, job.getUserId()));
+            file.setStatus(JobStatus.DONE);
+        } catch (RuntimeException e) {
+            if (isShutdownInterruption(e)) {
+                // Se deja en RUNNING y se conserva su contenido: no está terminado, así que se vuelve a generar al reanudar
+                return file.getStatus();
+            }
+            log.warn("File {} of job {} failed: {}", file.getFileName(), job.getId(), e.getMessage());
+            file.setError(e.getMessage());
+            file.setStatus(JobStatus.FAILED);
+        }
+
+        generationJobPort.updateFile(job.getId(), index, file);
+        generationJobPort.deleteContent(job.getId(), index);
+        return file.getStatus();
+    }
+
+    // Un error provocado por la parada no es un fallo de generación: el job debe poder reanudarse
+    private boolean isShutdownInterruption(Throwable error) {
+        if (shuttingDown || Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException || cause instanceof InterruptedIOException
+                    || cause instanceof ClosedByInterruptException || cause instanceof CancellationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    GenerationJobResponse toResponse(GenerationJobModel job) {
+        List<GenerationJobResponse.FileProgress> files = job.getFiles().stream()
+                .map(file -> GenerationJobResponse.FileProgress.builder()
+                        .fileName(file.getFileName())
+                        .status(file.getStatus())
+                        .error(file.getError())
+                        .quiz(file.getQuiz() != null ? quizMapper.toResponse(file.getQuiz()) : null)
+                        .quizId(file.getQuizId())
+                        .build())
+                .toList();
+
+        return GenerationJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .mode(job.getMode())
+                .totalFiles(files.size())
+                .completedFiles((int) files.stream().filter(file -> file.status() == JobStatus.DONE).count())
+                .failedFiles((int) files.stream().filter(file -> file.status() == JobStatus.FAILED).count())
+                .files(files)
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Los jobs interrumpidos quedan en QUEUED/RUNNING y se reanudan en el siguiente arranque
+        shuttingDown = true;
+        jobExecutor.shutdownNow();
+    }
+}
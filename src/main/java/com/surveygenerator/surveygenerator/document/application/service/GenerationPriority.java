@@ -0,0 +1,63 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Priority of the generation running on the current thread. Set once per quiz from the owning
+ * user and carried across the executors that fan out work, so rate-limited AI calls can serve
+ * authenticated users before anonymous ones. The owning user travels with it, for decorators
+ * that must not share results across users (see the near-duplicate index).
+ */
+public enum GenerationPriority {
+    AUTHENTICATED,
+    ANONYMOUS;
+
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+
+    public static GenerationPriority forUser(String userId) {
+        return userId != null ? AUTHENTICATED : ANONYMOUS;
+    }
+
+    public static GenerationPriority current() {
+        Context context = CURRENT.get();
+        return context != null ? context.priority() : ANONYMOUS;
+    }
+
+    // null para peticiones anónimas o código que no corre dentro de callForUser
+    public static String currentUserId() {
+        Context context = CURRENT.get();
+        return context != null ? context.userId() : null;
+    }
+
+    public static <T> T callForUser(String userId, Supplier<T> task) {
+        return callWith(new Context(forUser(userId), userId), task);
+    }
+
+    // Cambia solo la prioridad; el usuario del hilo se conserva
+    public static <T> T callWith(GenerationPriority priority, Supplier<T> task) {
+        return callWith(new Context(priority, currentUserId()), task);
+    }
+
+    // Para reaplicar en otro hilo lo capturado con capture()
+    public static <T> T callWith(Context context, Supplier<T> task) {
+        Context previous = CURRENT.get();
+        CURRENT.set(context);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static Context capture() {
+        Context context = CURRENT.get();
+        return context != null ? context : new Context(ANONYMOUS, null);
+    }
+
+    public record Context(GenerationPriority priority, String userId) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs one generation task per input on virtual threads, bounded by a per-call and a global
+ * concurrency cap. Results are returned in input order and failures are captured per input.
+ * A fan-out started from inside a task (e.g. chunks of one file) hands its parent's global
+ * permit back while the nested tasks run, and each nested task takes its own. The global cap
+ * therefore bounds the leaf calls, and a parent never holds a permit while waiting on children,
+ * so nested calls cannot deadlock.
+ */
+@Component
+@Slf4j
+public class GenerationTaskExecutor {
+
+    private final boolean enabled;
+    private final int maxPerRequest;
+    private final Semaphore globalPermits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ThreadLocal<Boolean> holdsGlobalPermit = ThreadLocal.withInitial(() -> false);
+
+    public GenerationTaskExecutor(
+            @Value("${app.generation.concurrency.enabled:true}") boolean enabled,
+            @Value("${app.generation.concurrency.max-per-request:4}") int maxPerRequest,
+            @Value("${app.generation.concurrency.max-global:16}") int maxGlobal
+    ) {
+        this.enabled = enabled;
+        this.maxPerRequest = Math.max(1, maxPerRequest);
+        this.globalPermits = new Semaphore(Math.max(1, maxGlobal), true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public <T, R> List<Outcome<R>> runAll(List<T> inputs, Function<T, R> task) {
+        if (!enabled || inputs.size() < 2) {
+            return inputs.stream()
+                    .map(input -> runGuarded(() -> task.apply(input)))
+                    .toList();
+        }
+
+        log.debug("Running {} generation tasks concurrently (per-request cap: {})", inputs.size(), maxPerRequest);
+        Semaphore requestPermits = new Semaphore(maxPerRequest);
+        boolean nested = holdsGlobalPermit.get();
+        if (nested) {
+            // Mientras esperan sus hijos, el padre no hace llamadas: su permiso pasa a uno de ellos
+            globalPermits.release();
+            holdsGlobalPermit.set(false);
+        }
+        GenerationPriority.Context context = GenerationPriority.capture();
+        List<Future<Outcome<R>>> futures = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            futures.add(executor.submit(() -> runWithPermits(requestPermits,
+                    () -> GenerationPriority.callWith(context, () -> task.apply(input)))));
+        }
+
+        List<Outcome<R>> outcomes = new ArrayList<>(inputs.size());
+        try {
+            for (Future<Outcome<R>> future : futures) {
+                outcomes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for generation tasks", e);
+        } catch (ExecutionException e) {
+            // runWithPermits never throws, so this only happens if the executor itself failed
+            throw new IllegalStateException("Generation task could not be executed", e.getCause());
+        } finally {
+            if (nested) {
+                // El runWithPermits del padre lo liberará al terminar
+                globalPermits.acquireUninterruptibly();
+                holdsGlobalPermit.set(true);
+            }
+        }
+        return outcomes;
+    }
+
+    private <R> Outcome<R> runWithPermits(Semaphore requestPermits, Supplier<R> task) {
+        try {
+            requestPermits.acquire();
+            try {
+                globalPermits.acquire();
+                holdsGlobalPermit.set(true);
+                try {
+                    return runGuarded(task);
+                } finally {
+                    globalPermits.release();
+                }
+            } finally {
+                holdsGlobalPermit.remove();
+                requestPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.failure(e);
+        }
+    }
+
+    private <R> Outcome<R> runGuarded(Supplier<R> task) {
+        try {
+            return Outcome.success(task.get());
+        } catch (RuntimeException e) {
+            log.warn("Generation task failed: {}", e.getMessage());
+            return Outcome.failure(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public record Outcome<R>(R value, Throwable error) {
+
+        static <R> Outcome<R> success(R value) {
+            return new Outcome<>(value, null);
+        }
+
+        static <R> Outcome<R> failure(Throwable error) {
+            return new Outcome<>(null, error);
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        public R getOrThrow() {
+            if (error == null) {
+                return value;
+            }
+            if (error instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(error.getMessage(), error);
+        }
+    }
+}
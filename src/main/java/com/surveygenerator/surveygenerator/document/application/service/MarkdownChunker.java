@@ -0,0 +1,114 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import com.surveygenerator.surveygenerator.utils.TokenEstimator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Splits markdown into chunks under a token budget. Boundaries are chosen in order of
+ * preference: headings, blank-line separated paragraphs, lines and, for a single oversized
+ * line, a plain character cut. Fenced code blocks are never split at a heading or blank line.
+ */
+@Component
+public class MarkdownChunker {
+
+    private static final Pattern HEADING = Pattern.compile("^#{1,6}\\s.*");
+
+    public List<String> split(String markdown, int maxTokensPerChunk) {
+        List<String> units = new ArrayList<>();
+        for (String section : splitOnBoundaries(markdown, true)) {
+            addUnits(section, maxTokensPerChunk, units);
+        }
+        return pack(units, maxTokensPerChunk);
+    }
+
+    private void addUnits(String section, int maxTokens, List<String> units) {
+        if (TokenEstimator.estimate(section) <= maxTokens) {
+            units.add(section);
+            return;
+        }
+        for (String paragraph : splitOnBoundaries(section, false)) {
+            if (TokenEstimator.estimate(paragraph) <= maxTokens) {
+                units.add(paragraph);
+            } else {
+                splitLines(paragraph, maxTokens, units);
+            }
+        }
+    }
+
+    // Corta antes de cada encabezado (headings = true) o en cada línea en blanco (headings = false)
+    private List<String> splitOnBoundaries(String text, boolean headings) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inFence = false;
+
+        for (String line : text.split("\n", -1)) {
+            String trimmed = line.strip();
+            boolean fenceMarker = trimmed.startsWith("```") || trimmed.startsWith("~~~");
+            boolean boundary = !inFence && (headings ? HEADING.matcher(line).matches() : trimmed.isEmpty());
+
+            if (boundary && !current.isEmpty()) {
+                parts.add(current.toString());
+                current.setLength(0);
+            }
+            if (!(boundary && !headings)) {
+                current.append(line).append('\n');
+            }
+            if (fenceMarker) {
+                inFence = !inFence;
+            }
+        }
+        if (!current.isEmpty()) {
+            parts.add(current.toString());
+        }
+        return parts;
+    }
+
+    private void splitLines(String paragraph, int maxTokens, List<String> units) {
+        int maxChars = TokenEstimator.charsFor(maxTokens);
+        StringBuilder current = new StringBuilder();
+
+        for (String line : paragraph.split("\n")) {
+            if (line.length() > maxChars) {
+                flush(current, units);
+                for (int start = 0; start < line.length(); start += maxChars) {
+                    units.add(line.substring(start, Math.min(line.length(), start + maxChars)));
+                }
+                continue;
+            }
+            if (current.length() + line.length() + 1 > maxChars) {
+                flush(current, units);
+            }
+            current.append(line).append('\n');
+        }
+        flush(current, units);
+    }
+
+    private List<String> pack(List<String> units, int maxTokens) {
+        int maxChars = TokenEstimator.charsFor(maxTokens);
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        for (String unit : units) {
+            if (!current.isEmpty() && current.length() + unit.length() + 1 > maxChars) {
+                flush(current, chunks);
+            }
+            if (!current.isEmpty()) {
+                current.append('\n');
+            }
+            current.append(unit);
+        }
+        flush(current, chunks);
+        return chunks;
+    }
+
+    private void flush(StringBuilder current, List<String> target) {
+        if (!current.toString().isBlank()) {
+            target.add(current.toString());
+        }
+        current.setLength(0);
+    }
+}
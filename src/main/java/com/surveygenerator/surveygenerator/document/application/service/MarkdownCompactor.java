@@ -0,0 +1,203 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import com.surveygenerator.surveygenerator.utils.TokenEstimator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Removes markdown constructs that cost prompt tokens without helping question generation.
+ * Stages run from least to most lossy and stop as soon as the document fits the token budget:
+ * <ol>
+ *     <li>HTML comments, badges, link/image URLs, reference definitions and extra whitespace</li>
+ *     <li>long fenced code blocks are cut to their first lines</li>
+ *     <li>long tables are cut to their header and first rows</li>
+ * </ol>
+ * Text inside code fences is only touched by the code stage.
+ */
+@Component
+@Slf4j
+public class MarkdownCompactor {
+
+    private static final Pattern HTML_COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+    private static final Pattern BADGE = Pattern.compile("\\[!\\[[^\\]]*]\\([^)]*\\)]\\([^)]*\\)");
+    private static final Pattern SHIELD_IMAGE = Pattern.compile("!\\[[^\\]]*]\\(https?://img\\.shields\\.io[^)]*\\)");
+    private static final Pattern IMAGE = Pattern.compile("!\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]+)]\\([^)]*\\)");
+    private static final Pattern REFERENCE_DEFINITION = Pattern.compile("(?m)^ {0,3}\\[[^\\]]+]:\\s+\\S+.*$\\n?");
+    private static final Pattern INLINE_SPACES = Pattern.compile("(?<=\\S)[ \\t]{2,}(?=\\S)");
+    private static final Pattern TRAILING_SPACES = Pattern.compile("(?m)[ \\t]+$");
+    private static final Pattern BLANK_LINES = Pattern.compile("\\n{3,}");
+
+    private final boolean enabled;
+    private final int targetTokens;
+    private final int maxCodeLines;
+    private final int maxTableRows;
+
+    public MarkdownCompactor(
+            @Value("${app.generation.compaction.enabled:true}") boolean enabled,
+            @Value("${app.generation.compaction.target-tokens:6000}") int targetTokens,
+            @Value("${app.generation.compaction.max-code-lines:15}") int maxCodeLines,
+            @Value("${app.generation.compaction.max-table-rows:10}") int maxTableRows
+    ) {
+        this.enabled = enabled;
+        this.targetTokens = targetTokens;
+        this.maxCodeLines = maxCodeLines;
+        this.maxTableRows = maxTableRows;
+    }
+
+    // Recibe el documento tal como se decodificó; solo el resultado compactado se materializa como String
+    public String compact(CharSequence markdown) {
+        if (!enabled) {
+            return markdown.toString();
+        }
+
+        int originalTokens = TokenEstimator.estimate(markdown);
+        List<Block> blocks = parse(markdown);
+
+        blocks = mapProse(blocks, this::stripNoise);
+        String compacted = render(blocks);
+        String appliedStages = "noise";
+
+        if (TokenEstimator.estimate(compacted) > targetTokens) {
+            blocks = blocks.stream()
+                    .map(block -> block.code() ? new Block(true, truncateCode(block.text())) : block)
+                    .toList();
+            compacted = render(blocks);
+            appliedStages += ",code";
+        }
+
+        if (TokenEstimator.estimate(compacted) > targetTokens) {
+            blocks = mapProse(blocks, this::truncateTables);
+            compacted = render(blocks);
+            appliedStages += ",tables";
+        }
+
+        log.info("Markdown compacted from ~{} to ~{} tokens (target {}, stages: {})",
+                originalTokens, TokenEstimator.estimate(compacted), targetTokens, appliedStages);
+        return compacted;
+    }
+
+    private String stripNoise(String prose) {
+        String text = HTML_COMMENT.matcher(prose).replaceAll("");
+        text = BADGE.matcher(text).replaceAll("");
+        text = SHIELD_IMAGE.matcher(text).replaceAll("");
+        text = IMAGE.matcher(text).replaceAll("$1");
+        text = LINK.matcher(text).replaceAll("$1");
+        text = REFERENCE_DEFINITION.matcher(text).replaceAll("");
+        text = INLINE_SPACES.matcher(text).replaceAll(" ");
+        text = TRAILING_SPACES.matcher(text).replaceAll("");
+        return BLANK_LINES.matcher(text).replaceAll("\n\n");
+    }
+
+    private String truncateCode(String code) {
+        String[] lines = code.split("\n", -1);
+        // Primera y última línea son las vallas de apertura y cierre
+        int bodyLines = lines.length - 2;
+        if (bodyLines <= maxCodeLines) {
+            return code;
+        }
+
+        StringBuilder truncated = new StringBuilder();
+        for (int i = 0; i <= maxCodeLines; i++) {
+            truncated.append(lines[i]).append('\n');
+        }
+        truncated.append("... (").append(bodyLines - maxCodeLines).append(" more lines omitted)\n");
+        return truncated.append(lines[lines.length - 1]).toString();
+    }
+
+    private String truncateTables(String prose) {
+        StringBuilder result = new StringBuilder();
+        int tableRow = 0;
+        int omitted = 0;
+
+        for (String line : prose.split("\n", -1)) {
+            boolean isTableLine = line.stripLeading().startsWith("|");
+            if (!isTableLine && omitted > 0) {
+                result.append("| ... (").append(omitted).append(" more rows omitted) |\n");
+                omitted = 0;
+            }
+            tableRow = isTableLine ? tableRow + 1 : 0;
+
+            // Cabecera + separador + maxTableRows filas de datos
+            if (isTableLine && tableRow > maxTableRows + 2) {
+                omitted++;
+                continue;
+            }
+            result.append(line).append('\n');
+        }
+        if (omitted > 0) {
+            result.append("| ... (").append(omitted).append(" more rows omitted) |\n");
+        }
+        result.setLength(Math.max(0, result.length() - 1));
+        return result.toString();
+    }
+
+    private List<Block> mapProse(List<Block> blocks, UnaryOperator<String> transform) {
+        return blocks.stream()
+                .map(block -> block.code() ? block : new Block(false, transform.apply(block.text())))
+                .toList();
+    }
+
+    // Separa el documento en bloques de texto y bloques de código delimitados por ``` o ~~~.
+    // Recorre las líneas en el sitio en lugar de con split, que copiaría el documento entero a la vez
+    private List<Block> parse(CharSequence markdown) {
+        List<Block> blocks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        String fence = null;
+
+        for (int start = 0, end; start <= markdown.length(); start = end + 1) {
+            end = lineEnd(markdown, start);
+            String line = markdown.subSequence(start, end).toString();
+            String trimmed = line.strip();
+            if (fence == null && (trimmed.startsWith("```") || trimmed.startsWith("~~~"))) {
+                addBlock(blocks, false, current);
+                fence = trimmed.substring(0, 3);
+                current.append(line).append('\n');
+            } else if (fence != null && trimmed.startsWith(fence)) {
+                current.append(line);
+                addBlock(blocks, true, current);
+                fence = null;
+            } else {
+                current.append(line).append('\n');
+            }
+        }
+        // Una valla sin cerrar se trata como texto normal
+        addBlock(blocks, false, current);
+        return blocks;
+    }
+
+    private static int lineEnd(CharSequence text, int start) {
+        int end = start;
+        while (end < text.length() && text.charAt(end) != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    private void addBlock(List<Block> blocks, boolean code, StringBuilder text) {
+        if (!text.isEmpty()) {
+            blocks.add(new Block(code, text.toString()));
+        }
+        text.setLength(0);
+    }
+
+    private String render(List<Block> blocks) {
+        StringBuilder rendered = new StringBuilder();
+        for (Block block : blocks) {
+            rendered.append(block.text());
+            if (block.code()) {
+                rendered.append('\n');
+            }
+        }
+        return rendered.toString().strip();
+    }
+
+    private record Block(boolean code, String text) {
+    }
+}
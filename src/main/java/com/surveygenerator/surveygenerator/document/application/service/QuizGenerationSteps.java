@@ -0,0 +1,61 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.mapper.QuizMapper;
+import com.surveygenerator.surveygenerator.document.application.port.output.GenerationMetricsPort;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.utils.ValidatorResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * The non-model stages of quiz generation, each recorded through {@link GenerationMetricsPort}.
+ * {@link DocumentService} and {@link ReactiveDocumentService} both go through these, so the two
+ * profiles prepare, map and measure an upload the same way.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuizGenerationSteps {
+
+    private final FileContentProcessor fileContentProcessor;
+    private final MarkdownCompactor markdownCompactor;
+    private final QuizMapper quizMapper;
+    private final GenerationMetricsPort generationMetrics;
+
+    public CharSequence extractContent(MultipartFile file) {
+        CharSequence content = generationMetrics.record(GenerationMetricsPort.Stage.EXTRACTION,
+                () -> fileContentProcessor.extractContent(file));
+        generationMetrics.recordDocumentSize(content.length());
+        return content;
+    }
+
+    // Valida y compacta: lo que recibe el modelo
+    public String prepareContent(CharSequence content) {
+        return compact(validateContent(content));
+    }
+
+    public List<QuizModel> toModels(List<QuizResponse> responses, String userId) {
+        return generationMetrics.record(GenerationMetricsPort.Stage.MAPPING,
+                () -> responses.stream()
+                        .map(response -> quizMapper.toModel(response, userId))
+                        .toList());
+    }
+
+    private String compact(CharSequence content) {
+        return generationMetrics.record(GenerationMetricsPort.Stage.COMPACTION, () -> markdownCompactor.compact(content));
+    }
+
+    private CharSequence validateContent(CharSequence content) {
+        ValidatorResult<CharSequence> contentValidation = generationMetrics.record(GenerationMetricsPort.Stage.VALIDATION,
+                () -> fileContentProcessor.validateContent(content));
+
+        if (!contentValidation.isValid()) {
+            throw new IllegalArgumentException(contentValidation.getErrorMessage());
+        }
+
+        return contentValidation.getData();
+    }
+}
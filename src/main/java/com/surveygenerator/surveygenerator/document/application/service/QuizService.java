@@ -1,27 +1,46 @@
 package com.surveygenerator.surveygenerator.document.application.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizHistoryPageResponse;
 import com.surveygenerator.surveygenerator.document.application.dto.response.QuizHistoryResponse;
 import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
 import com.surveygenerator.surveygenerator.document.application.mapper.QuizMapper;
 import com.surveygenerator.surveygenerator.document.application.port.output.QuizAccessDatabasePort;
+import com.surveygenerator.surveygenerator.document.application.port.output.QuizViewCachePort;
 import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizSummaryModel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class QuizService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final QuizAccessDatabasePort quizAccessDatabasePort;
     private final QuizMapper quizMapper;
+    private final QuizViewCachePort quizViewCachePort;
+    private final ObjectMapper objectMapper;
+
+    public QuizHistoryPageResponse getUserQuizHistory(String userId, String cursor, int limit) {
+        int pageSize = pageSize(limit);
+        HistoryCursor after = HistoryCursor.parse(cursor);
+
+        // Se pide un elemento extra para saber si existe una página siguiente
+        List<QuizSummaryModel> summaries = quizAccessDatabasePort.findSummariesByUserId(
+                userId,
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
 
-    public List<QuizHistoryResponse> getUserQuizHistory(String userId) {
-        return quizAccessDatabasePort.findAllByUserId(userId)
-                .stream()
-                .map(this::toHistoryResponse)
-                .toList();
+        return toPage(summaries, pageSize);
     }
 
     public QuizResponse getQuizById(String quizId, String userId) {
@@ -31,11 +50,73 @@ public class QuizService {
         return quizMapper.toResponse(quizModel);
     }
 
-    private QuizHistoryResponse toHistoryResponse(QuizModel model) {
+    // Lectura repetida del mismo quiz (el alumno recarga mientras lo responde): se sirve el JSON ya serializado
+    public byte[] getQuizJson(String quizId, String userId) {
+        return quizViewCachePort.getOrLoad(userId, quizId, () -> quizAccessDatabasePort
+                .findResponseJsonByIdAndUserId(quizId, userId)
+                // Quizzes guardados sin JSON (o inexistentes, que getQuizById rechaza): camino con mapeo
+                .orElseGet(() -> serialize(getQuizById(quizId, userId))));
+    }
+
+    private byte[] serialize(QuizResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize quiz", e);
+        }
+    }
+
+    static int pageSize(int limit) {
+        return Math.clamp(limit, 1, MAX_PAGE_SIZE);
+    }
+
+    // summaries trae un elemento de más (pageSize + 1) para saber si existe una página siguiente
+    static QuizHistoryPageResponse toPage(List<QuizSummaryModel> summaries, int pageSize) {
+        boolean hasMore = summaries.size() > pageSize;
+        List<QuizSummaryModel> page = hasMore ? summaries.subList(0, pageSize) : summaries;
+
+        String nextCursor = null;
+        if (hasMore) {
+            QuizSummaryModel last = page.getLast();
+            nextCursor = new HistoryCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return QuizHistoryPageResponse.builder()
+                .items(page.stream().map(QuizService::toHistoryResponse).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static QuizHistoryResponse toHistoryResponse(QuizSummaryModel model) {
         return QuizHistoryResponse.builder()
                 .id(model.getId())
                 .statement(model.getStatement())
                 .createdAt(model.getCreatedAt())
                 .build();
     }
+
+    // Cursor opaco para el cliente: base64url de "createdAt|id" del último elemento devuelto
+    record HistoryCursor(LocalDateTime createdAt, String id) {
+
+        static HistoryCursor parse(String cursor) {
+            return cursor != null && !cursor.isBlank() ? decode(cursor) : null;
+        }
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new HistoryCursor(
+                        LocalDateTime.parse(raw.substring(0, separator)),
+                        raw.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid history cursor", e);
+            }
+        }
+    }
 }
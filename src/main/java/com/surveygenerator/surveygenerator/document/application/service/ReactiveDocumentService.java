@@ -0,0 +1,159 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizGenerationResult;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.application.port.output.GenerationMetricsPort;
+import com.surveygenerator.surveygenerator.document.application.port.output.QuizViewCachePort;
+import com.surveygenerator.surveygenerator.document.application.port.output.ReactiveQuizAccessDatabasePort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link DocumentService} for the "reactive" profile. Single-prompt
+ * documents are generated from the model's streaming response, so no thread waits on the LLM
+ * while it answers; quizzes are stored through {@link ReactiveQuizAccessDatabasePort}. Only the
+ * file extraction, the chunked map-reduce and the view cache eviction, which are blocking, run on
+ * the bounded elastic pool. Content preparation, mapping and metrics go through the same
+ * {@link QuizGenerationSteps} and {@link GenerationMetricsPort} as the blocking service.
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveDocumentService {
+
+    private final AiProcessorPort aiProcessorPort;
+    private final ReactiveQuizAccessDatabasePort reactiveQuizAccessDatabasePort;
+    private final QuizViewCachePort quizViewCachePort;
+    private final ChunkedQuizGenerator chunkedQuizGenerator;
+    private final QuizGenerationSteps quizGenerationSteps;
+    private final GenerationMetricsPort generationMetrics;
+    private final int maxPerRequest;
+
+    public ReactiveDocumentService(
+            AiProcessorPort aiProcessorPort,
+            ReactiveQuizAccessDatabasePort reactiveQuizAccessDatabasePort,
+            QuizViewCachePort quizViewCachePort,
+            ChunkedQuizGenerator chunkedQuizGenerator,
+            QuizGenerationSteps quizGenerationSteps,
+            GenerationMetricsPort generationMetrics,
+            @Value("${app.generation.concurrency.max-per-request:4}") int maxPerRequest
+    ) {
+        this.aiProcessorPort = aiProcessorPort;
+        this.reactiveQuizAccessDatabasePort = reactiveQuizAccessDatabasePort;
+        this.quizViewCachePort = quizViewCachePort;
+        this.chunkedQuizGenerator = chunkedQuizGenerator;
+        this.quizGenerationSteps = quizGenerationSteps;
+        this.generationMetrics = generationMetrics;
+        this.maxPerRequest = Math.max(1, maxPerRequest);
+    }
+
+    // Todo o nada, como DocumentService.generateQuestions; el orden de salida es el de los archivos
+    public Mono<List<QuizResponse>> generateQuestions(List<MultipartFile> files, String userId) {
+        return timed(Flux.fromIterable(files)
+                .flatMapSequential(file -> generateQuiz(file, userId), maxPerRequest)
+                .collectList()
+                .flatMap(responses -> saveQuizzes(responses, userId).thenReturn(responses)),
+                (nanos, success) -> generationMetrics.recordPipeline("sync", nanos, success));
+    }
+
+    public Mono<List<QuizGenerationResult>> generateQuestionsPerFile(List<MultipartFile> files, String userId) {
+        return timed(Flux.fromIterable(files)
+                .flatMapSequential(file -> generateQuiz(file, userId)
+                        .map(quiz -> QuizGenerationResult.builder()
+                                .fileName(file.getOriginalFilename())
+                                .success(true)
+                                .quiz(quiz)
+                                .build())
+                        .onErrorResume(error -> {
+                            log.warn("Quiz generation failed for file {}: {}", file.getOriginalFilename(), error.getMessage());
+                            return Mono.just(QuizGenerationResult.builder()
+                                    .fileName(file.getOriginalFilename())
+                                    .success(false)
+                                    .error(error.getMessage())
+                                    .build());
+                        }), maxPerRequest)
+                .collectList()
+                .flatMap(results -> saveQuizzes(results.stream()
+                        .filter(QuizGenerationResult::success)
+                        .map(QuizGenerationResult::quiz)
+                        .toList(), userId)
+                        .thenReturn(results)),
+                (nanos, success) -> generationMetrics.recordPipeline("per_file", nanos, success));
+    }
+
+    public Flux<QuizStreamEvent> streamQuestions(MultipartFile file, String userId) {
+        return extractContent(file)
+                .flatMapMany(content -> GenerationPriority.callForUser(userId,
+                        () -> aiProcessorPort.streamQuestions(content)))
+                .concatMap(event -> event.type() == QuizStreamEvent.Type.COMPLETED
+                        ? saveQuizzes(List.of(event.quiz()), userId).thenReturn(event)
+                        : Mono.just(event))
+                .onErrorResume(error -> {
+                    log.error("Streaming quiz generation failed", error);
+                    return Flux.just(QuizStreamEvent.error(error.getMessage()));
+                });
+    }
+
+    private Mono<QuizResponse> generateQuiz(MultipartFile file, String userId) {
+        return extractContent(file).flatMap(content -> generateContent(content, userId));
+    }
+
+    private Mono<QuizResponse> generateContent(String content, String userId) {
+        if (chunkedQuizGenerator.needsChunking(content)) {
+            // El map-reduce por fragmentos reparte su trabajo en hilos virtuales y espera el resultado
+            return Mono.fromCallable(() -> GenerationPriority.callForUser(userId, () -> chunkedQuizGenerator.generate(content)))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+
+        // Se consume la respuesta en streaming y solo se conserva el quiz final
+        return GenerationPriority.callForUser(userId, () -> aiProcessorPort.streamQuestions(content))
+                .filter(event -> event.type() == QuizStreamEvent.Type.COMPLETED)
+                .next()
+                .map(QuizStreamEvent::quiz)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Quiz stream ended without a result")));
+    }
+
+    // Leer el archivo es bloqueante; la petición sigue abierta hasta que termina el Mono, así que el MultipartFile es válido
+    private Mono<String> extractContent(MultipartFile file) {
+        return Mono.fromCallable(() -> quizGenerationSteps.prepareContent(quizGenerationSteps.extractContent(file)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Void> saveQuizzes(List<QuizResponse> responses, String userId) {
+        // Only save to database if user is authenticated
+        if (userId == null || responses.isEmpty()) {
+            return Mono.empty();
+        }
+        log.info("Saving {} generated quiz(zes) for userId: {}", responses.size(), userId);
+        return Mono.fromCallable(() -> quizGenerationSteps.toModels(responses, userId))
+                .flatMap(quizModels -> timed(reactiveQuizAccessDatabasePort.saveAll(quizModels),
+                        (nanos, success) -> generationMetrics.record(GenerationMetricsPort.Stage.PERSISTENCE,
+                                GenerationMetricsPort.NONE, GenerationMetricsPort.NONE, nanos, success)))
+                .then(Mono.<Void>fromRunnable(() -> quizViewCachePort.evictUser(userId))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    // Como GenerationMetricsPort.record, pero desde la suscripción hasta que el Mono termina
+    private static <T> Mono<T> timed(Mono<T> work, DurationRecorder recorder) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return work
+                    .doOnSuccess(result -> recorder.record(System.nanoTime() - start, true))
+                    .doOnError(error -> recorder.record(System.nanoTime() - start, false));
+        });
+    }
+
+    private interface DurationRecorder {
+        void record(long nanos, boolean success);
+    }
+}
@@ -0,0 +1,41 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizHistoryPageResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.mapper.QuizMapper;
+import com.surveygenerator.surveygenerator.document.application.port.output.ReactiveQuizAccessDatabasePort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+// QuizService sobre ReactiveQuizAccessDatabasePort: mismo contrato de paginación y errores
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveQuizService {
+
+    private final ReactiveQuizAccessDatabasePort reactiveQuizAccessDatabasePort;
+    private final QuizMapper quizMapper;
+
+    public Mono<QuizHistoryPageResponse> getUserQuizHistory(String userId, String cursor, int limit) {
+        return Mono.defer(() -> {
+            int pageSize = QuizService.pageSize(limit);
+            QuizService.HistoryCursor after = QuizService.HistoryCursor.parse(cursor);
+
+            return reactiveQuizAccessDatabasePort.findSummariesByUserId(
+                            userId,
+                            after != null ? after.createdAt() : null,
+                            after != null ? after.id() : null,
+                            pageSize + 1)
+                    .collectList()
+                    .map(summaries -> QuizService.toPage(summaries, pageSize));
+        });
+    }
+
+    public Mono<QuizResponse> getQuizById(String quizId, String userId) {
+        return reactiveQuizAccessDatabasePort.findByIdAndUserId(quizId, userId)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Quiz not found or does not belong to user")))
+                .map(quizMapper::toResponse);
+    }
+}
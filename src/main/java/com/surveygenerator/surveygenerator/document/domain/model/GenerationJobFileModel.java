@@ -0,0 +1,20 @@
+package com.surveygenerator.surveygenerator.document.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GenerationJobFileModel {
+    private String fileName;
+    private JobStatus status;
+    private String error;
+    private QuizModel quiz;
+    private String quizId;  // Solo en modo BATCH: el quiz se guarda en la colección de quizzes y no dentro del job
+}
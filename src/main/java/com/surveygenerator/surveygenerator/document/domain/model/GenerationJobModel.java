@@ -0,0 +1,28 @@
+package com.surveygenerator.surveygenerator.document.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GenerationJobModel {
+    private String id;
+    private String userId;  // null para usuarios anónimos
+    private JobStatus status;
+    private JobMode mode;
+    private String providerBatchId;  // Solo en modo BATCH
+    private List<GenerationJobFileModel> files;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,6 @@
+package com.surveygenerator.surveygenerator.document.domain.model;
+
+public enum JobMode {
+    INTERACTIVE,  // Cada archivo se genera con una llamada síncrona al modelo
+    BATCH         // Todos los archivos se envían como un batch del proveedor y se consulta hasta que termina
+}
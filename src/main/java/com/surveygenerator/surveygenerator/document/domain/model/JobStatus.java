@@ -0,0 +1,12 @@
+package com.surveygenerator.surveygenerator.document.domain.model;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == DONE || this == FAILED;
+    }
+}
@@ -0,0 +1,21 @@
+package com.surveygenerator.surveygenerator.document.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Solo los campos que necesita el historial; no incluye las preguntas
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuizSummaryModel {
+    private String id;
+    private String statement;
+    private LocalDateTime createdAt;
+}
@@ -1,24 +1,31 @@
 package com.surveygenerator.surveygenerator.document.infrastructure.input.controller;
 
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizGenerationResult;
 import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
 import com.surveygenerator.surveygenerator.document.application.service.DocumentService;
 import com.surveygenerator.surveygenerator.user.infrastructure.config.CustomUserDetails;
 import com.surveygenerator.surveygenerator.utils.FileValidator;
 import com.surveygenerator.surveygenerator.utils.ValidatorResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/documents")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 public class DocumentController {
@@ -37,6 +44,49 @@ public class DocumentController {
             return ResponseEntity.badRequest().build();
         }
 
+        return ResponseEntity.ok(
+                documentService.generateQuestions(validationResult.getData(), resolveUserId(userDetails)));
+    }
+
+    // Igual que /upload, pero devuelve un resultado por archivo en lugar de fallar todo el lote
+    @PostMapping("/upload/results")
+    public ResponseEntity<List<QuizGenerationResult>> uploadDocumentsWithResults(
+            @RequestParam("files") List<MultipartFile> files,
+            @AuthenticationPrincipal(errorOnInvalidType = false) CustomUserDetails userDetails
+    ) {
+        ValidatorResult<List<MultipartFile>> validationResult = fileValidator.validateFiles(files);
+
+        if (!validationResult.isValid()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(
+                documentService.generateQuestionsPerFile(validationResult.getData(), resolveUserId(userDetails)));
+    }
+
+    // Envía cada pregunta como evento SSE en cuanto el modelo la termina de generar
+    @PostMapping(value = "/upload/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<QuizStreamEvent>>> uploadDocumentStream(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal(errorOnInvalidType = false) CustomUserDetails userDetails
+    ) {
+        ValidatorResult<MultipartFile> validationResult = fileValidator.validateSingleFile(file);
+
+        if (!validationResult.isValid()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Flux<ServerSentEvent<QuizStreamEvent>> events = documentService
+                .streamQuestions(validationResult.getData(), resolveUserId(userDetails))
+                .map(event -> ServerSentEvent.<QuizStreamEvent>builder()
+                        .event(event.type().name().toLowerCase())
+                        .data(event)
+                        .build());
+
+        return ResponseEntity.ok(events);
+    }
+
+    private String resolveUserId(CustomUserDetails userDetails) {
         // Obtener userId del usuario autenticado (null si no está autenticado)
         String userId = userDetails != null ? userDetails.getUserId() : null;
 
@@ -46,7 +96,6 @@ public class DocumentController {
             log.info("Generating questions for anonymous user (will not be saved to database)");
         }
 
-        return ResponseEntity.ok(
-                documentService.generateQuestions(validationResult.getData(), userId));
+        return userId;
     }
 }
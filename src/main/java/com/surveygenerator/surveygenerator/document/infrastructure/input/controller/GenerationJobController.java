@@ -0,0 +1,109 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.input.controller;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.GenerationJobResponse;
+import com.surveygenerator.surveygenerator.document.application.service.BatchGenerationService;
+import com.surveygenerator.surveygenerator.document.application.service.GenerationJobService;
+import com.surveygenerator.surveygenerator.user.infrastructure.config.CustomUserDetails;
+import com.surveygenerator.surveygenerator.utils.FileValidator;
+import com.surveygenerator.surveygenerator.utils.ValidatorResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/v1/jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class GenerationJobController {
+
+    private final FileValidator fileValidator;
+    private final GenerationJobService generationJobService;
+    private final BatchGenerationService batchGenerationService;
+
+    // Devuelve el id del job inmediatamente; la generación continúa en segundo plano
+    @PostMapping
+    public ResponseEntity<GenerationJobResponse> submitJob(
+            @RequestParam("files") List<MultipartFile> files,
+            @AuthenticationPrincipal(errorOnInvalidType = false) CustomUserDetails userDetails
+    ) {
+        ValidatorResult<List<MultipartFile>> validationResult = fileValidator.validateFiles(files);
+
+        if (!validationResult.isValid()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String userId = userDetails != null ? userDetails.getUserId() : null;
+
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(generationJobService.submit(validationResult.getData(), userId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Generation job rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // Importación masiva: archivos .md sueltos y/o un .zip, generados como un único batch del proveedor
+    @PostMapping("/batch")
+    public ResponseEntity<GenerationJobResponse> submitBatchJob(
+            @RequestParam(value = "files", required = false) List<MultipartFile> files,
+            @RequestParam(value = "archive", required = false) MultipartFile archive,
+            @AuthenticationPrincipal(errorOnInvalidType = false) CustomUserDetails userDetails
+    ) {
+        // Los quizzes importados se guardan en el historial del usuario, así que se exige autenticación
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        List<MultipartFile> markdownFiles = List.of();
+        if (files != null && !files.isEmpty()) {
+            ValidatorResult<List<MultipartFile>> filesValidation = fileValidator.validateFiles(files);
+            if (!filesValidation.isValid()) {
+                return ResponseEntity.badRequest().build();
+            }
+            markdownFiles = filesValidation.getData();
+        }
+
+        MultipartFile markdownArchive = null;
+        if (archive != null) {
+            ValidatorResult<MultipartFile> archiveValidation = fileValidator.validateArchive(archive);
+            if (!archiveValidation.isValid()) {
+                return ResponseEntity.badRequest().build();
+            }
+            markdownArchive = archiveValidation.getData();
+        }
+
+        if (markdownFiles.isEmpty() && markdownArchive == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(batchGenerationService.submit(markdownFiles, markdownArchive, userDetails.getUserId()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Batch generation job rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<GenerationJobResponse> getJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal(errorOnInvalidType = false) CustomUserDetails userDetails
+    ) {
+        String userId = userDetails != null ? userDetails.getUserId() : null;
+        return ResponseEntity.ok(generationJobService.getJob(jobId, userId));
+    }
+}
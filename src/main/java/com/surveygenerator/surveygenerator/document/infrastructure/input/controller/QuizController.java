@@ -1,42 +1,52 @@
 package com.surveygenerator.surveygenerator.document.infrastructure.input.controller;
 
-import com.surveygenerator.surveygenerator.document.application.dto.response.QuizHistoryResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizHistoryPageResponse;
 import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
 import com.surveygenerator.surveygenerator.document.application.service.QuizService;
 import com.surveygenerator.surveygenerator.user.infrastructure.config.CustomUserDetails;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/v1/quizzes")
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class QuizController {
 
     private final QuizService quizService;
 
-    // Obtener historial de quizzes del usuario (solo id, statement, fecha)
+    // Obtener historial de quizzes del usuario (solo id, statement, fecha), paginado por cursor
     @GetMapping("/history")
-    public ResponseEntity<List<QuizHistoryResponse>> getUserQuizHistory(
+    public ResponseEntity<QuizHistoryPageResponse> getUserQuizHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
             @AuthenticationPrincipal CustomUserDetails userDetails
     ) {
         String userId = userDetails.getUserId();
-        return ResponseEntity.ok(quizService.getUserQuizHistory(userId));
+        return ResponseEntity.ok(quizService.getUserQuizHistory(userId, cursor, limit));
     }
 
-    // Obtener quiz completo por ID
-    @GetMapping("/{quizId}")
-    public ResponseEntity<QuizResponse> getQuizById(
+    // Obtener quiz completo por ID; el cuerpo es el JSON de QuizResponse ya serializado (cacheado por usuario)
+    @GetMapping(value = "/{quizId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = QuizResponse.class)))
+    public ResponseEntity<byte[]> getQuizById(
             @PathVariable String quizId,
             @AuthenticationPrincipal CustomUserDetails userDetails
     ) {
         String userId = userDetails.getUserId();
-        return ResponseEntity.ok(quizService.getQuizById(quizId, userId));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(quizService.getQuizJson(quizId, userId));
     }
 }
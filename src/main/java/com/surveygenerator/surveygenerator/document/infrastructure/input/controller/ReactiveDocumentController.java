@@ -0,0 +1,100 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.input.controller;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizGenerationResult;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.service.ReactiveDocumentService;
+import com.surveygenerator.surveygenerator.user.infrastructure.config.CustomUserDetails;
+import com.surveygenerator.surveygenerator.utils.FileValidator;
+import com.surveygenerator.surveygenerator.utils.ValidatorResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Mismos endpoints que DocumentController; Spring MVC libera el hilo de la petición mientras el Mono está pendiente
+@RestController
+@RequestMapping("/api/v1/documents")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDocumentController {
+
+    private final FileValidator fileValidator;
+    private final ReactiveDocumentService reactiveDocumentService;
+
+    @PostMapping("/upload")
+    public Mono<ResponseEntity<List<QuizResponse>>> uploadDocument(
+            @RequestParam("files") List<MultipartFile> files,
+            @AuthenticationPrincipal(errorOnInvalidType = false) CustomUserDetails userDetails
+    ) {
+        ValidatorResult<List<MultipartFile>> validationResult = fileValidator.validateFiles(files);
+
+        if (!validationResult.isValid()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return reactiveDocumentService.generateQuestions(validationResult.getData(), resolveUserId(userDetails))
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/upload/results")
+    public Mono<ResponseEntity<List<QuizGenerationResult>>> uploadDocumentsWithResults(
+            @RequestParam("files") List<MultipartFile> files,
+            @AuthenticationPrincipal(errorOnInvalidType = false) CustomUserDetails userDetails
+    ) {
+        ValidatorResult<List<MultipartFile>> validationResult = fileValidator.validateFiles(files);
+
+        if (!validationResult.isValid()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return reactiveDocumentService.generateQuestionsPerFile(validationResult.getData(), resolveUserId(userDetails))
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "/upload/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<QuizStreamEvent>>> uploadDocumentStream(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal(errorOnInvalidType = false) CustomUserDetails userDetails
+    ) {
+        ValidatorResult<MultipartFile> validationResult = fileValidator.validateSingleFile(file);
+
+        if (!validationResult.isValid()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Flux<ServerSentEvent<QuizStreamEvent>> events = reactiveDocumentService
+                .streamQuestions(validationResult.getData(), resolveUserId(userDetails))
+                .map(event -> ServerSentEvent.<QuizStreamEvent>builder()
+                        .event(event.type().name().toLowerCase())
+                        .data(event)
+                        .build());
+
+        return ResponseEntity.ok(events);
+    }
+
+    private String resolveUserId(CustomUserDetails userDetails) {
+        String userId = userDetails != null ? userDetails.getUserId() : null;
+
+        if (userId != null) {
+            log.info("Generating questions for authenticated user with userId: {}", userId);
+        } else {
+            log.info("Generating questions for anonymous user (will not be saved to database)");
+        }
+
+        return userId;
+    }
+}
@@ -0,0 +1,44 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.input.controller;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizHistoryPageResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.service.ReactiveQuizService;
+import com.surveygenerator.surveygenerator.user.infrastructure.config.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/quizzes")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveQuizController {
+
+    private final ReactiveQuizService reactiveQuizService;
+
+    @GetMapping("/history")
+    public Mono<ResponseEntity<QuizHistoryPageResponse>> getUserQuizHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return reactiveQuizService.getUserQuizHistory(userDetails.getUserId(), cursor, limit)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{quizId}")
+    public Mono<ResponseEntity<QuizResponse>> getQuizById(
+            @PathVariable String quizId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return reactiveQuizService.getQuizById(quizId, userDetails.getUserId())
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,180 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.adapter;
+
+import com.azure.ai.openai.OpenAIClient;
+import com.azure.ai.openai.models.Batch;
+import com.azure.ai.openai.models.BatchCreateRequest;
+import com.azure.ai.openai.models.BatchStatus;
+import com.azure.ai.openai.models.FileDetails;
+import com.azure.ai.openai.models.FilePurpose;
+import com.azure.ai.openai.models.OpenAIFile;
+import com.azure.core.util.BinaryData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.factory.SurveyGeneratorFactory;
+import com.surveygenerator.surveygenerator.document.application.port.output.BatchGenerationPort;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config.AiGenerationProperties;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.dto.SurveyPromptOptions;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.parser.IncrementalQuizParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Azure OpenAI Batch API: every prompt becomes one line of a JSONL file uploaded with purpose
+ * "batch"; the batch runs within the completion window at the discounted batch price and its
+ * output file is downloaded and parsed once it completes. Needs a Global-Batch deployment.
+ */
+@Component
+@ConditionalOnProperty(name = "app.batch.provider", havingValue = "azure", matchIfMissing = true)
+@Slf4j
+public class AzureOpenAiBatchAdapter implements BatchGenerationPort {
+
+    private static final String CHAT_COMPLETIONS_URL = "/chat/completions";
+    private static final Set<BatchStatus> FAILED_STATUSES = Set.of(
+            BatchStatus.FAILED, BatchStatus.EXPIRED, BatchStatus.CANCELLED, BatchStatus.CANCELLING);
+
+    private final OpenAIClient openAIClient;
+    private final SurveyGeneratorFactory surveyGeneratorFactory;
+    private final AiGenerationProperties generationProperties;
+    private final ObjectMapper objectMapper;
+    private final String deploymentName;
+    private final String completionWindow;
+
+    private final BeanOutputConverter<QuizResponse> outputConverter = new BeanOutputConverter<>(QuizResponse.class);
+    private final String outputFormat = outputConverter.getFormat();
+
+    public AzureOpenAiBatchAdapter(OpenAIClient openAIClient,
+                                   SurveyGeneratorFactory surveyGeneratorFactory,
+                                   AiGenerationProperties generationProperties,
+                                   ObjectMapper objectMapper,
+                                   @Value("${app.batch.azure.deployment-name:${spring.ai.azure.openai.chat.options.deployment-name:gpt-5-nano}}") String deploymentName,
+                                   @Value("${app.batch.azure.completion-window:24h}") String completionWindow) {
+        this.openAIClient = openAIClient;
+        this.surveyGeneratorFactory = surveyGeneratorFactory;
+        this.generationProperties = generationProperties;
+        this.objectMapper = objectMapper;
+        this.deploymentName = deploymentName;
+        this.completionWindow = completionWindow;
+    }
+
+    @Override
+    public String submit(List<BatchItem> items) {
+        StringBuilder jsonl = new StringBuilder();
+        for (BatchItem item : items) {
+            jsonl.append(toJsonLine(item)).append('\n');
+        }
+
+        OpenAIFile inputFile = openAIClient.uploadFile(
+                new FileDetails(BinaryData.fromString(jsonl.toString()), "quiz-batch-" + System.currentTimeMillis() + ".jsonl"),
+                FilePurpose.BATCH);
+        Batch batch = openAIClient.createBatch(
+                new BatchCreateRequest(CHAT_COMPLETIONS_URL, inputFile.getId(), completionWindow));
+
+        log.info("Azure OpenAI batch {} submitted with {} request(s) (input file {})",
+                batch.getId(), items.size(), inputFile.getId());
+        return batch.getId();
+    }
+
+    @Override
+    public BatchState poll(String batchId) {
+        Batch batch = openAIClient.getBatch(batchId);
+        BatchStatus status = batch.getStatus();
+
+        if (FAILED_STATUSES.contains(status)) {
+            String error = batch.getErrors() != null && batch.getErrors().getData() != null
+                    && !batch.getErrors().getData().isEmpty()
+                    ? batch.getErrors().getData().getFirst().getMessage()
+                    : "Batch " + status;
+            log.warn("Azure OpenAI batch {} ended as {}: {}", batchId, status, error);
+            return BatchState.failed(error);
+        }
+        if (status != BatchStatus.COMPLETED) {
+            log.debug("Azure OpenAI batch {} is {}", batchId, status);
+            return BatchState.pending();
+        }
+
+        // Las peticiones fallidas van al fichero de errores, no al de salida
+        List<BatchItemResult> results = new ArrayList<>();
+        if (batch.getOutputFileId() != null) {
+            results.addAll(readResults(batch.getOutputFileId()));
+        }
+        if (batch.getErrorFileId() != null) {
+            results.addAll(readResults(batch.getErrorFileId()));
+        }
+        log.info("Azure OpenAI batch {} completed with {} result(s)", batchId, results.size());
+        return BatchState.completed(results);
+    }
+
+    private String toJsonLine(BatchItem item) {
+        SurveyPromptOptions surveyPromptOptions = SurveyPromptOptions.builder()
+                .numberOfOptionsPerQuestion(generationProperties.getNumberOfOptionsPerQuestion())
+                .numberOfQuestions(generationProperties.getNumberOfQuestions())
+                .markdownContent(item.markdownContent())
+                .format(outputFormat)
+                .deploymentName(deploymentName)
+                .build();
+        Prompt prompt = surveyGeneratorFactory.getStrategy(generationProperties.getPromptLayout())
+                .generatePrompt(surveyPromptOptions);
+
+        List<Map<String, String>> messages = prompt.getInstructions().stream()
+                .map(message -> Map.of(
+                        "role", message.getMessageType().getValue(),
+                        "content", message.getText()))
+                .toList();
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("custom_id", item.customId());
+        line.put("method", "POST");
+        line.put("url", CHAT_COMPLETIONS_URL);
+        line.put("body", Map.of("model", deploymentName, "messages", messages));
+        try {
+            return objectMapper.writeValueAsString(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize batch request " + item.customId(), e);
+        }
+    }
+
+    private List<BatchItemResult> readResults(String fileId) {
+        String content = new String(openAIClient.getFileContent(fileId), StandardCharsets.UTF_8);
+        return content.lines()
+                .filter(line -> !line.isBlank())
+                .map(this::toResult)
+                .toList();
+    }
+
+    private BatchItemResult toResult(String line) {
+        String customId = null;
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            customId = node.path("custom_id").asText(null);
+
+            JsonNode error = node.path("error");
+            if (!error.isMissingNode() && !error.isNull()) {
+                return new BatchItemResult(customId, null, error.path("message").asText("Batch request failed"));
+            }
+            JsonNode response = node.path("response");
+            if (response.path("status_code").asInt() != 200) {
+                return new BatchItemResult(customId, null,
+                        "Batch request failed with status " + response.path("status_code").asInt());
+            }
+
+            String text = response.path("body").path("choices").path(0).path("message").path("content").asText();
+            return new BatchItemResult(customId, IncrementalQuizParser.parse(text), null);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not parse batch result {}: {}", customId, e.getMessage());
+            return new BatchItemResult(customId, null, "Invalid batch result: " + e.getMessage());
+        }
+    }
+}
@@ -1,45 +1,190 @@
 package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.adapter;
 
 import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.factory.SurveyGeneratorFactory;
 import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
-import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.strategy.DefaultPrompt;
+import com.surveygenerator.surveygenerator.document.application.port.output.GenerationMetricsPort;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config.AiGenerationProperties;
 import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.dto.SurveyPromptOptions;
-import lombok.RequiredArgsConstructor;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.parser.IncrementalQuizParser;
+import com.azure.ai.openai.models.CompletionsUsage;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.azure.openai.AzureOpenAiChatModel;
+import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class AzureOpenAiProcessorAdapter implements AiProcessorPort {
 
+    private static final String PROVIDER = "azure";
+
     private final AzureOpenAiChatModel azureOpenAiChatModel;
-    private final DefaultPrompt promptFactory;
+    private final SurveyGeneratorFactory surveyGeneratorFactory;
+    private final AiGenerationProperties generationProperties;
+    private final MeterRegistry meterRegistry;
+    private final GenerationMetricsPort generationMetrics;
+    private final String deploymentName;
+
+    // Solo aporta el esquema JSON del prompt, generado una sola vez; la respuesta la lee IncrementalQuizParser
+    private final BeanOutputConverter<QuizResponse> outputConverter = new BeanOutputConverter<>(QuizResponse.class);
+    private final String outputFormat = outputConverter.getFormat();
+
+    @Autowired
+    public AzureOpenAiProcessorAdapter(AzureOpenAiChatModel azureOpenAiChatModel,
+                                       SurveyGeneratorFactory surveyGeneratorFactory,
+                                       AiGenerationProperties generationProperties,
+                                       MeterRegistry meterRegistry,
+                                       GenerationMetricsPort generationMetrics) {
+        this(azureOpenAiChatModel, surveyGeneratorFactory, generationProperties, meterRegistry, generationMetrics,
+                generationProperties.getDeploymentName());
+    }
+
+    private AzureOpenAiProcessorAdapter(AzureOpenAiChatModel azureOpenAiChatModel,
+                                        SurveyGeneratorFactory surveyGeneratorFactory,
+                                        AiGenerationProperties generationProperties,
+                                        MeterRegistry meterRegistry,
+                                        GenerationMetricsPort generationMetrics,
+                                        String deploymentName) {
+        this.azureOpenAiChatModel = azureOpenAiChatModel;
+        this.surveyGeneratorFactory = surveyGeneratorFactory;
+        this.generationProperties = generationProperties;
+        this.meterRegistry = meterRegistry;
+        this.generationMetrics = generationMetrics;
+        this.deploymentName = deploymentName;
+    }
+
+    // Mismo endpoint y cliente, otro deployment (el router lo usa como backend independiente)
+    public AzureOpenAiProcessorAdapter forDeployment(String deploymentName) {
+        return new AzureOpenAiProcessorAdapter(
+                azureOpenAiChatModel, surveyGeneratorFactory, generationProperties, meterRegistry, generationMetrics,
+                deploymentName);
+    }
+
+    public String getDeploymentName() {
+        return deploymentName;
+    }
 
     @Override
     public QuizResponse generateQuestions(String markdownContent) {
-        var outputConverter = new BeanOutputConverter<>(QuizResponse.class);
+        return generateQuestions(markdownContent, generationProperties.getNumberOfQuestions());
+    }
 
-        SurveyPromptOptions surveyPromptOptions = SurveyPromptOptions.builder()
-                .numberOfOptionsPerQuestion(5)
-                .numberOfQuestions(10)
-                .markdownContent(markdownContent)
-                .format(outputConverter.getFormat())
-                .build();
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions) {
+        return generateQuestions(markdownContent, numberOfQuestions, List.of());
+    }
 
-        Prompt prompt = promptFactory.generatePrompt(surveyPromptOptions);
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+        Prompt prompt = buildPrompt(markdownContent, numberOfQuestions, excludedQuestions);
 
         log.info("Generating questions from markdown content using Azure OpenAI");
-        ChatResponse response = azureOpenAiChatModel
-                .call(prompt);
+        ChatResponse response = generationMetrics.record(GenerationMetricsPort.Stage.LLM_CALL, PROVIDER, deploymentName,
+                () -> azureOpenAiChatModel.call(prompt));
 
         String responseContent = response.getResult().getOutput().getText();
         log.info("Azure OpenAI response successfully received");
+        recordUsage(response);
+
+        return generationMetrics.record(GenerationMetricsPort.Stage.JSON_CONVERSION, PROVIDER, deploymentName,
+                () -> IncrementalQuizParser.parse(responseContent));
+    }
+
+    @Override
+    public Flux<QuizStreamEvent> streamQuestions(String markdownContent) {
+        return Flux.defer(() -> {
+            Prompt prompt = buildPrompt(markdownContent, generationProperties.getNumberOfQuestions(), List.of());
+            IncrementalQuizParser parser = new IncrementalQuizParser();
+            long start = System.nanoTime();
+            AtomicBoolean firstToken = new AtomicBoolean();
+
+            log.info("Streaming questions from markdown content using Azure OpenAI");
+            // En streaming el parseo va intercalado con la llamada: LLM_CALL cubre ambos hasta el último fragmento
+            return azureOpenAiChatModel.stream(prompt)
+                    .doOnNext(this::recordUsage)
+                    .mapNotNull(this::extractText)
+                    .doOnNext(text -> {
+                        if (!text.isEmpty() && firstToken.compareAndSet(false, true)) {
+                            generationMetrics.recordTimeToFirstToken(PROVIDER, deploymentName, System.nanoTime() - start);
+                        }
+                    })
+                    .concatMapIterable(parser::feed)
+                    .doFinally(signal -> {
+                        if (signal != SignalType.CANCEL) {
+                            generationMetrics.record(GenerationMetricsPort.Stage.LLM_CALL, PROVIDER, deploymentName,
+                                    System.nanoTime() - start, signal == SignalType.ON_COMPLETE);
+                        }
+                    })
+                    .concatWith(Mono.fromCallable(() -> {
+                        log.info("Azure OpenAI stream completed");
+                        return QuizStreamEvent.completed(generationMetrics.record(GenerationMetricsPort.Stage.JSON_CONVERSION,
+                                PROVIDER, deploymentName, parser::toQuizResponse));
+                    }));
+        });
+    }
+
+    private Prompt buildPrompt(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+        return generationMetrics.record(GenerationMetricsPort.Stage.PROMPT_BUILD, PROVIDER, deploymentName,
+                () -> createPrompt(markdownContent, numberOfQuestions, excludedQuestions));
+    }
+
+    private Prompt createPrompt(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+        SurveyPromptOptions surveyPromptOptions = SurveyPromptOptions.builder()
+                .numberOfOptionsPerQuestion(generationProperties.getNumberOfOptionsPerQuestion())
+                .numberOfQuestions(numberOfQuestions)
+                .markdownContent(markdownContent)
+                .format(outputFormat)
+                .deploymentName(deploymentName)
+                .excludedQuestions(excludedQuestions)
+                .build();
+
+        return surveyGeneratorFactory.getStrategy(generationProperties.getPromptLayout())
+                .generatePrompt(surveyPromptOptions);
+    }
+
+    // Azure informa los tokens servidos desde su caché de prompts en prompt_tokens_details.cached_tokens
+    private void recordUsage(ChatResponse response) {
+        if (response.getMetadata() == null) {
+            return;
+        }
+        Usage usage = response.getMetadata().getUsage();
+        if (usage == null || usage.getPromptTokens() == null || usage.getPromptTokens() == 0) {
+            return;
+        }
+        generationMetrics.recordTokens(PROVIDER, deploymentName, usage.getPromptTokens(), usage.getCompletionTokens());
+
+        int cachedTokens = 0;
+        if (usage.getNativeUsage() instanceof CompletionsUsage completionsUsage
+                && completionsUsage.getPromptTokensDetails() != null
+                && completionsUsage.getPromptTokensDetails().getCachedTokens() != null) {
+            cachedTokens = completionsUsage.getPromptTokensDetails().getCachedTokens();
+        }
+
+        String layout = generationProperties.getPromptLayout();
+        meterRegistry.counter("ai.generation.prompt.tokens", "layout", layout, "type", "input")
+                .increment(usage.getPromptTokens());
+        meterRegistry.counter("ai.generation.prompt.tokens", "layout", layout, "type", "cached")
+                .increment(cachedTokens);
+        log.info("Prompt tokens: {} (cached: {}), layout: {}", usage.getPromptTokens(), cachedTokens, layout);
+    }
 
-        return outputConverter.convert(responseContent);
+    private String extractText(ChatResponse chunk) {
+        if (chunk.getResult() == null || chunk.getResult().getOutput() == null) {
+            return null;
+        }
+        return chunk.getResult().getOutput().getText();
     }
 }
@@ -1,67 +1,196 @@
 package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.adapter;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.factory.SurveyGeneratorFactory;
 import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
-import lombok.RequiredArgsConstructor;
+import com.surveygenerator.surveygenerator.document.application.port.output.GenerationMetricsPort;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config.AiGenerationProperties;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.dto.SurveyPromptOptions;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.parser.IncrementalQuizParser;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.core.io.Resource;
-import org.springframework.stereotype.Service;
-
-//@Service
-//@RequiredArgsConstructor
-//@Slf4j
-//public class OllamaProcessorAdapter implements AiProcessorPort {
-
-//    @Value("classpath:/static/prompt/GenerateQuizPrompt")
-//    private Resource generateQuizPrompt;
-//
-//    private final ChatClient chatClient;
-//
-//    @Override
-//    public QuizResponse generateQuestions(String markdownContent) {
-//        log.info("Generating questions from markdown content");
-//
-//        var converter = new BeanOutputConverter<>(new ParameterizedTypeReference<QuizResponse>(){});
-//
-//        String response = chatClient.prompt()
-//                .user(u -> u.text(generateQuizPrompt)
-//                        .param( "format", converter.getFormat())
-//                        .param("document", markdownContent)
-//                        .param("q", "5") // Number of questions to generate
-//                        .param("o", "5")) // Number of options per question
-//                .call()
-//                .content();
-//
-//        // Sanitize response to remove control characters that cause JSON parsing issues
-//        String sanitizedResponse = sanitizeJsonResponse(response);
-//        log.debug("Sanitized response: {}", sanitizedResponse);
-//
-//        return converter.convert(sanitizedResponse);
-//    }
-//
-//    /**
-//     * Sanitizes the LLM response by removing or replacing control characters
-//     * that can cause JSON parsing errors.
-//     *
-//     * @param response the raw response from the LLM
-//     * @return sanitized response with control characters handled
-//     */
-//    private String sanitizeJsonResponse(String response) {
-//        if (response == null) {
-//            return null;
-//        }
-//
-//        // Replace tabs with spaces to avoid "Illegal unquoted character" errors
-//        String sanitized = response.replace("\t", "    ");
-//
-//        // Remove other problematic control characters (except \n and \r which are valid in JSON strings when escaped)
-//        // This removes control characters in the range 0x00-0x1F except newline (0x0A) and carriage return (0x0D)
-//        sanitized = sanitized.replaceAll("[\\x00-\\x08\\x0B\\x0C\\x0E-\\x1F\\x7F]", "");
-//
-//        return sanitized;
-//    }
-//}
\ No newline at end of file
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@ConditionalOnProperty(name = "app.ai.router.ollama.enabled", havingValue = "true")
+@Slf4j
+public class OllamaProcessorAdapter implements AiProcessorPort {
+
+    private static final String PROVIDER = "ollama";
+
+    private final RestClient ollamaRestClient;
+    private final SurveyGeneratorFactory surveyGeneratorFactory;
+    private final AiGenerationProperties generationProperties;
+    private final ObjectMapper objectMapper;
+    private final GenerationMetricsPort generationMetrics;
+    private final String model;
+
+    private final BeanOutputConverter<QuizResponse> outputConverter = new BeanOutputConverter<>(QuizResponse.class);
+    private final String outputFormat = outputConverter.getFormat();
+
+    public OllamaProcessorAdapter(@Qualifier("ollamaRestClient") RestClient ollamaRestClient,
+                                  SurveyGeneratorFactory surveyGeneratorFactory,
+                                  AiGenerationProperties generationProperties,
+                                  ObjectMapper objectMapper,
+                                  GenerationMetricsPort generationMetrics,
+                                  @Value("${app.ai.router.ollama.model:llama3.1}") String model) {
+        this.ollamaRestClient = ollamaRestClient;
+        this.surveyGeneratorFactory = surveyGeneratorFactory;
+        this.generationProperties = generationProperties;
+        this.objectMapper = objectMapper;
+        this.generationMetrics = generationMetrics;
+        this.model = model;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent) {
+        return generateQuestions(markdownContent, generationProperties.getNumberOfQuestions());
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions) {
+        return generateQuestions(markdownContent, numberOfQuestions, List.of());
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+        Map<String, Object> body = requestBody(markdownContent, numberOfQuestions, excludedQuestions, false);
+
+        log.info("Generating questions from markdown content using Ollama ({})", model);
+        JsonNode response = generationMetrics.record(GenerationMetricsPort.Stage.LLM_CALL, PROVIDER, model,
+                () -> ollamaRestClient.post()
+                        .uri("/api/chat")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body)
+                        .retrieve()
+                        .body(JsonNode.class));
+
+        if (response == null) {
+            throw new IllegalStateException("Empty response from Ollama");
+        }
+        log.info("Ollama response successfully received");
+        recordUsage(response);
+        String content = response.path("message").path("content").asText();
+        return generationMetrics.record(GenerationMetricsPort.Stage.JSON_CONVERSION, PROVIDER, model,
+                () -> IncrementalQuizParser.parse(content));
+    }
+
+    // Ollama responde en NDJSON: una línea por fragmento con message.content y done=true al final
+    @Override
+    public Flux<QuizStreamEvent> streamQuestions(String markdownContent) {
+        return Flux.defer(() -> {
+            Map<String, Object> body = requestBody(markdownContent, generationProperties.getNumberOfQuestions(), List.of(), true);
+            IncrementalQuizParser parser = new IncrementalQuizParser();
+            long start = System.nanoTime();
+            AtomicBoolean firstToken = new AtomicBoolean();
+
+            Flux<String> chunks = Flux.<String>create(sink -> ollamaRestClient.post()
+                            .uri("/api/chat")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(body)
+                            .exchange((request, response) -> {
+                                if (response.getStatusCode().isError()) {
+                                    sink.error(new IllegalStateException("Ollama returned " + response.getStatusCode()));
+                                    return null;
+                                }
+                                try (BufferedReader reader = new BufferedReader(
+                                        new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                                    String line;
+                                    while (!sink.isCancelled() && (line = reader.readLine()) != null) {
+                                        if (!line.isBlank()) {
+                                            JsonNode node = objectMapper.readTree(line);
+                                            if (node.path("done").asBoolean()) {
+                                                recordUsage(node);
+                                            }
+                                            sink.next(node.path("message").path("content").asText(""));
+                                        }
+                                    }
+                                }
+                                sink.complete();
+                                return null;
+                            }))
+                    .subscribeOn(Schedulers.boundedElastic());
+
+            return chunks
+                    .doOnNext(text -> {
+                        if (!text.isEmpty() && firstToken.compareAndSet(false, true)) {
+                            generationMetrics.recordTimeToFirstToken(PROVIDER, model, System.nanoTime() - start);
+                        }
+                    })
+                    .concatMapIterable(parser::feed)
+                    .doFinally(signal -> {
+                        if (signal != SignalType.CANCEL) {
+                            generationMetrics.record(GenerationMetricsPort.Stage.LLM_CALL, PROVIDER, model,
+                                    System.nanoTime() - start, signal == SignalType.ON_COMPLETE);
+                        }
+                    })
+                    .concatWith(Mono.fromCallable(() -> QuizStreamEvent.completed(generationMetrics.record(
+                            GenerationMetricsPort.Stage.JSON_CONVERSION, PROVIDER, model, parser::toQuizResponse))));
+        });
+    }
+
+    // Ollama informa los tokens en la respuesta final: prompt_eval_count y eval_count
+    private void recordUsage(JsonNode response) {
+        generationMetrics.recordTokens(PROVIDER, model,
+                response.hasNonNull("prompt_eval_count") ? response.get("prompt_eval_count").asInt() : null,
+                response.hasNonNull("eval_count") ? response.get("eval_count").asInt() : null);
+    }
+
+    private Map<String, Object> requestBody(String markdownContent, int numberOfQuestions,
+                                            List<String> excludedQuestions, boolean stream) {
+        return generationMetrics.record(GenerationMetricsPort.Stage.PROMPT_BUILD, PROVIDER, model,
+                () -> createRequestBody(markdownContent, numberOfQuestions, excludedQuestions, stream));
+    }
+
+    private Map<String, Object> createRequestBody(String markdownContent, int numberOfQuestions,
+                                                  List<String> excludedQuestions, boolean stream) {
+        SurveyPromptOptions surveyPromptOptions = SurveyPromptOptions.builder()
+                .numberOfOptionsPerQuestion(generationProperties.getNumberOfOptionsPerQuestion())
+                .numberOfQuestions(numberOfQuestions)
+                .markdownContent(markdownContent)
+                .format(outputFormat)
+                .deploymentName(model)
+                .excludedQuestions(excludedQuestions)
+                .build();
+        Prompt prompt = surveyGeneratorFactory.getStrategy(generationProperties.getPromptLayout())
+                .generatePrompt(surveyPromptOptions);
+
+        // Las opciones de Azure del Prompt se ignoran; solo se envían los mensajes
+        List<Map<String, String>> messages = prompt.getInstructions().stream()
+                .map(message -> Map.of(
+                        "role", message.getMessageType().getValue(),
+                        "content", message.getText()))
+                .toList();
+
+        return Map.of(
+                "model", model,
+                "messages", messages,
+                "stream", stream,
+                "format", "json",
+                "options", Map.of("temperature", 0.4, "top_p", 0.9));
+    }
+}
@@ -0,0 +1,195 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.cache;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.application.port.output.QuizGenerationCachePort;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config.AiGenerationProperties;
+import com.surveygenerator.surveygenerator.utils.LruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorates an {@link AiProcessorPort} with a two-tier cache: an in-process LRU/TTL tier and an
+ * optional persistent tier. Concurrent requests for the same key share a single LLM call.
+ */
+@Slf4j
+public class CachingAiProcessorAdapter implements AiProcessorPort {
+
+    private final AiProcessorPort delegate;
+    private final AiGenerationProperties generationProperties;
+    private final LruCache<String, QuizResponse> memoryCache;
+    private final QuizGenerationCachePort persistentCache;
+    private final ConcurrentHashMap<String, CompletableFuture<QuizResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter memoryHits;
+    private final Counter persistentHits;
+    private final Counter misses;
+
+    public CachingAiProcessorAdapter(AiProcessorPort delegate,
+                                     AiGenerationProperties generationProperties,
+                                     LruCache<String, QuizResponse> memoryCache,
+                                     QuizGenerationCachePort persistentCache,
+                                     MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.generationProperties = generationProperties;
+        this.memoryCache = memoryCache;
+        this.persistentCache = persistentCache;
+
+        this.memoryHits = cacheCounter(meterRegistry, "memory", "hit");
+        this.persistentHits = cacheCounter(meterRegistry, "mongo", "hit");
+        this.misses = cacheCounter(meterRegistry, "none", "miss");
+        FunctionCounter.builder("ai.generation.cache.evictions", memoryCache, LruCache::evictionCount)
+                .description("Entries evicted from the in-memory quiz generation cache")
+                .register(meterRegistry);
+        Gauge.builder("ai.generation.cache.size", memoryCache, LruCache::size)
+                .description("Entries held in the in-memory quiz generation cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent) {
+        return generateQuestions(markdownContent, generationProperties.getNumberOfQuestions());
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions) {
+        String cacheKey = cacheKey(markdownContent, numberOfQuestions);
+
+        Optional<QuizResponse> cached = memoryCache.get(cacheKey);
+        if (cached.isPresent()) {
+            memoryHits.increment();
+            log.info("Quiz generation cache hit (memory) for key {}", cacheKey);
+            return cached.get();
+        }
+
+        CompletableFuture<QuizResponse> pending = new CompletableFuture<>();
+        CompletableFuture<QuizResponse> existing = inFlight.putIfAbsent(cacheKey, pending);
+        if (existing != null) {
+            log.info("Waiting for in-flight generation with key {}", cacheKey);
+            return join(existing);
+        }
+
+        try {
+            QuizResponse response = loadOrGenerate(cacheKey, markdownContent, numberOfQuestions);
+            memoryCache.put(cacheKey, response);
+            pending.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, pending);
+        }
+    }
+
+    // Un relleno depende de las preguntas ya aceptadas, no solo del documento: no se cachea
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+        if (excludedQuestions.isEmpty()) {
+            return generateQuestions(markdownContent, numberOfQuestions);
+        }
+        return delegate.generateQuestions(markdownContent, numberOfQuestions, excludedQuestions);
+    }
+
+    // En caso de acierto se reproduce el quiz guardado como eventos, sin llamar al modelo
+    @Override
+    public Flux<QuizStreamEvent> streamQuestions(String markdownContent) {
+        return Flux.defer(() -> {
+            String cacheKey = cacheKey(markdownContent, generationProperties.getNumberOfQuestions());
+
+            Optional<QuizResponse> cached = memoryCache.get(cacheKey);
+            if (cached.isPresent()) {
+                memoryHits.increment();
+                log.info("Quiz generation cache hit (memory) for key {}, replaying stream", cacheKey);
+                return Flux.fromIterable(QuizStreamEvent.replay(cached.get()));
+            }
+
+            Optional<QuizResponse> stored = findPersisted(cacheKey);
+            if (stored.isPresent()) {
+                memoryCache.put(cacheKey, stored.get());
+                return Flux.fromIterable(QuizStreamEvent.replay(stored.get()));
+            }
+
+            misses.increment();
+            return delegate.streamQuestions(markdownContent)
+                    .doOnNext(event -> {
+                        if (event.type() == QuizStreamEvent.Type.COMPLETED) {
+                            store(cacheKey, event.quiz());
+                        }
+                    });
+        });
+    }
+
+    private QuizResponse loadOrGenerate(String cacheKey, String markdownContent, int numberOfQuestions) {
+        Optional<QuizResponse> stored = findPersisted(cacheKey);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        misses.increment();
+        QuizResponse response = delegate.generateQuestions(markdownContent, numberOfQuestions);
+        if (persistentCache != null) {
+            persistentCache.save(cacheKey, response);
+        }
+        return response;
+    }
+
+    private Optional<QuizResponse> findPersisted(String cacheKey) {
+        if (persistentCache == null) {
+            return Optional.empty();
+        }
+        Optional<QuizResponse> stored = persistentCache.findByKey(cacheKey);
+        if (stored.isPresent()) {
+            persistentHits.increment();
+            log.info("Quiz generation cache hit (mongo) for key {}", cacheKey);
+        }
+        return stored;
+    }
+
+    private void store(String cacheKey, QuizResponse response) {
+        memoryCache.put(cacheKey, response);
+        if (persistentCache != null) {
+            persistentCache.save(cacheKey, response);
+        }
+    }
+
+    private String cacheKey(String markdownContent, int numberOfQuestions) {
+        return QuizCacheKey.of(
+                markdownContent,
+                numberOfQuestions,
+                generationProperties.getNumberOfOptionsPerQuestion(),
+                generationProperties.getDeploymentName(),
+                generationProperties.getPromptVersion(),
+                generationProperties.getPromptLayout());
+    }
+
+    private QuizResponse join(CompletableFuture<QuizResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("ai.generation.cache.requests")
+                .description("Quiz generation cache lookups")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,180 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.cache;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.application.service.GenerationPriority;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config.AiGenerationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorates an {@link AiProcessorPort} so that documents nearly identical to one already
+ * processed (a typo fixed, a heading renamed) reuse its quiz instead of calling the model.
+ * With {@link Policy#SHADOW} (the default) matches are only counted, which lets the threshold be
+ * tuned against real traffic before any response is served from the index.
+ * <p>
+ * A similarity above the threshold does not guarantee the extra text cannot change the
+ * questions: the reused quiz may ask about a paragraph the new document dropped. With
+ * {@link Scope#USER} documents are only matched against the same user's earlier uploads, so a
+ * reused quiz never comes from someone else's document; anonymous uploads are neither looked up
+ * nor indexed. {@link Scope#GLOBAL} shares matches across users and is only meant for
+ * single-tenant deployments.
+ */
+@Slf4j
+public class NearDuplicateAiProcessorAdapter implements AiProcessorPort {
+
+    public enum Policy {
+        REUSE,
+        SHADOW
+    }
+
+    public enum Scope {
+        USER,
+        GLOBAL
+    }
+
+    private final AiProcessorPort delegate;
+    private final AiGenerationProperties generationProperties;
+    private final NearDuplicateIndex index;
+    private final Policy policy;
+    private final Scope scope;
+    private final double threshold;
+
+    private final Counter reused;
+    private final Counter shadowMatches;
+    private final Counter misses;
+    private final DistributionSummary matchSimilarity;
+
+    public NearDuplicateAiProcessorAdapter(AiProcessorPort delegate,
+                                           AiGenerationProperties generationProperties,
+                                           NearDuplicateIndex index,
+                                           Policy policy,
+                                           Scope scope,
+                                           double threshold,
+                                           MeterRegistry meterRegistry) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("app.ai.near-duplicate.threshold must be in (0, 1]");
+        }
+        this.delegate = delegate;
+        this.generationProperties = generationProperties;
+        this.index = index;
+        this.policy = policy;
+        this.scope = scope;
+        this.threshold = threshold;
+
+        this.reused = lookupCounter(meterRegistry, "reused");
+        this.shadowMatches = lookupCounter(meterRegistry, "shadow_match");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.matchSimilarity = DistributionSummary.builder("ai.generation.near-duplicate.similarity")
+                .description("Estimated similarity of the best near-duplicate match")
+                .publishPercentiles(0.5, 0.9)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent) {
+        return generateQuestions(markdownContent, generationProperties.getNumberOfQuestions());
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions) {
+        String variant = variant(numberOfQuestions, GenerationPriority.currentUserId());
+        if (variant == null) {
+            return delegate.generateQuestions(markdownContent, numberOfQuestions);
+        }
+        long[] signature = index.signature(markdownContent);
+
+        Optional<QuizResponse> match = lookup(variant, signature);
+        if (match.isPresent()) {
+            return match.get();
+        }
+
+        QuizResponse response = delegate.generateQuestions(markdownContent, numberOfQuestions);
+        index.add(variant, signature, response);
+        return response;
+    }
+
+    // Igual que en la caché exacta: un relleno no es reutilizable por otro documento
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+        if (excludedQuestions.isEmpty()) {
+            return generateQuestions(markdownContent, numberOfQuestions);
+        }
+        return delegate.generateQuestions(markdownContent, numberOfQuestions, excludedQuestions);
+    }
+
+    @Override
+    public Flux<QuizStreamEvent> streamQuestions(String markdownContent) {
+        // El usuario se toma al crear el Flux: la suscripción puede ocurrir en otro hilo
+        String userId = GenerationPriority.currentUserId();
+        return Flux.defer(() -> {
+            String variant = variant(generationProperties.getNumberOfQuestions(), userId);
+            if (variant == null) {
+                return delegate.streamQuestions(markdownContent);
+            }
+            long[] signature = index.signature(markdownContent);
+
+            Optional<QuizResponse> match = lookup(variant, signature);
+            if (match.isPresent()) {
+                return Flux.fromIterable(QuizStreamEvent.replay(match.get()));
+            }
+
+            return delegate.streamQuestions(markdownContent)
+                    .doOnNext(event -> {
+                        if (event.type() == QuizStreamEvent.Type.COMPLETED) {
+                            index.add(variant, signature, event.quiz());
+                        }
+                    });
+        });
+    }
+
+    // Solo devuelve el quiz cuando la política es REUSE; en SHADOW se mide y se genera igualmente
+    private Optional<QuizResponse> lookup(String variant, long[] signature) {
+        Optional<NearDuplicateIndex.Match> match = index.findBest(variant, signature, threshold);
+        if (match.isEmpty()) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        double similarity = match.get().similarity();
+        matchSimilarity.record(similarity);
+        if (policy == Policy.SHADOW) {
+            shadowMatches.increment();
+            log.info("Near-duplicate document found (similarity {}), generating anyway in shadow mode",
+                    String.format("%.3f", similarity));
+            return Optional.empty();
+        }
+
+        reused.increment();
+        log.info("Near-duplicate document found (similarity {}), reusing its quiz", String.format("%.3f", similarity));
+        return Optional.of(match.get().quiz());
+    }
+
+    // Solo se reutilizan quizzes generados con las mismas opciones de prompt y, con Scope.USER, del mismo usuario
+    private String variant(int numberOfQuestions, String userId) {
+        if (scope == Scope.USER && userId == null) {
+            return null;
+        }
+        return String.join("|",
+                scope == Scope.USER ? "user:" + userId : "global",
+                String.valueOf(numberOfQuestions),
+                String.valueOf(generationProperties.getNumberOfOptionsPerQuestion()),
+                String.valueOf(generationProperties.getDeploymentName()),
+                String.valueOf(generationProperties.getPromptVersion()),
+                String.valueOf(generationProperties.getPromptLayout()));
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ai.generation.near-duplicate.lookups")
+                .description("Near-duplicate index lookups; 'reused' counts avoided LLM calls")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
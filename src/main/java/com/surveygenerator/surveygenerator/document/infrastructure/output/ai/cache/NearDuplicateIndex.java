@@ -0,0 +1,258 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.utils.MinHasher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of previously generated quizzes, keyed by the MinHash signature of their
+ * source markdown. Locality-sensitive hashing splits each signature into bands; documents that
+ * share at least one band with the query are candidates, and only those are compared in full.
+ * Entries are grouped by a variant string (the prompt options), so a match always comes from
+ * the same kind of request. The oldest entries are evicted beyond {@code max-entries}. The
+ * index is snapshotted to disk periodically and at shutdown, and reloaded at startup.
+ */
+@Component
+@ConditionalOnProperty(name = "app.ai.near-duplicate.enabled", havingValue = "true")
+@Slf4j
+public class NearDuplicateIndex {
+
+    private static final int SNAPSHOT_FORMAT = 1;
+
+    private final MinHasher minHasher;
+    private final ObjectMapper objectMapper;
+    private final int numHashes;
+    private final int shingleSize;
+    private final long seed;
+    private final int bands;
+    private final int rows;
+    private final int maxEntries;
+    private final Path snapshotPath;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Orden de inserción: el primero es el más antiguo y el primero en desalojarse
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+    private long nextId;
+    private boolean dirty;
+
+    private final ScheduledExecutorService snapshotter =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("near-duplicate-snapshot").daemon().factory());
+
+    public NearDuplicateIndex(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.near-duplicate.num-hashes:128}") int numHashes,
+            @Value("${app.ai.near-duplicate.bands:16}") int bands,
+            @Value("${app.ai.near-duplicate.shingle-size:5}") int shingleSize,
+            @Value("${app.ai.near-duplicate.seed:42}") long seed,
+            @Value("${app.ai.near-duplicate.max-entries:20000}") int maxEntries,
+            @Value("${app.ai.near-duplicate.snapshot.path:./data/near-duplicate-index.json}") Path snapshotPath,
+            @Value("${app.ai.near-duplicate.snapshot.interval:5m}") Duration snapshotInterval
+    ) {
+        if (bands < 1 || numHashes % bands != 0) {
+            throw new IllegalArgumentException("app.ai.near-duplicate.num-hashes must be a multiple of bands");
+        }
+        this.minHasher = new MinHasher(numHashes, shingleSize, seed);
+        this.objectMapper = objectMapper;
+        this.numHashes = numHashes;
+        this.shingleSize = shingleSize;
+        this.seed = seed;
+        this.bands = bands;
+        this.rows = numHashes / bands;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.snapshotPath = snapshotPath;
+
+        loadSnapshot();
+        Gauge.builder("ai.generation.near-duplicate.index.size", this, NearDuplicateIndex::size)
+                .description("Documents held in the near-duplicate index")
+                .register(meterRegistry);
+        long intervalMillis = snapshotInterval.toMillis();
+        snapshotter.scheduleWithFixedDelay(this::saveSnapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public long[] signature(String markdownContent) {
+        return minHasher.signature(markdownContent);
+    }
+
+    public Optional<Match> findBest(String variant, long[] signature, double threshold) {
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = new HashSet<>();
+            for (long bucket : bucketKeys(variant, signature)) {
+                candidates.addAll(buckets.getOrDefault(bucket, Set.of()));
+            }
+
+            Match best = null;
+            for (long id : candidates) {
+                Entry entry = entries.get(id);
+                if (entry == null || !entry.variant().equals(variant)) {
+                    continue;
+                }
+                double similarity = MinHasher.similarity(signature, entry.signature());
+                if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                    best = new Match(entry.quiz(), similarity);
+                }
+            }
+            return Optional.ofNullable(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(String variant, long[] signature, QuizResponse quiz) {
+        lock.writeLock().lock();
+        try {
+            long id = nextId++;
+            entries.put(id, new Entry(variant, signature, quiz));
+            for (long bucket : bucketKeys(variant, signature)) {
+                buckets.computeIfAbsent(bucket, key -> new HashSet<>()).add(id);
+            }
+
+            Iterator<Map.Entry<Long, Entry>> oldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && oldest.hasNext()) {
+                Map.Entry<Long, Entry> evicted = oldest.next();
+                oldest.remove();
+                unindex(evicted.getKey(), evicted.getValue());
+            }
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unindex(long id, Entry entry) {
+        for (long bucket : bucketKeys(entry.variant(), entry.signature())) {
+            Set<Long> ids = buckets.get(bucket);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    buckets.remove(bucket);
+                }
+            }
+        }
+    }
+
+    // Una clave por banda; la variante forma parte de la clave para no mezclar opciones de prompt distintas
+    private long[] bucketKeys(String variant, long[] signature) {
+        long variantHash = MinHasher.mix(variant.hashCode());
+        long[] keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long key = MinHasher.mix(variantHash + band);
+            for (int row = 0; row < rows; row++) {
+                key = MinHasher.mix(key ^ signature[band * rows + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private void loadSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return;
+        }
+        try {
+            Snapshot snapshot = objectMapper.readValue(snapshotPath.toFile(), Snapshot.class);
+            if (snapshot.format() != SNAPSHOT_FORMAT || snapshot.numHashes() != numHashes
+                    || snapshot.shingleSize() != shingleSize || snapshot.seed() != seed) {
+                // Firmas calculadas con otros parámetros no son comparables: se empieza de cero
+                log.warn("Ignoring near-duplicate snapshot {} built with different MinHash settings", snapshotPath);
+                return;
+            }
+            snapshot.entries().forEach(entry -> add(entry.variant(), entry.signature(), entry.quiz()));
+            dirty = false;
+            log.info("Loaded {} document(s) into the near-duplicate index from {}", size(), snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load near-duplicate snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    void saveSnapshot() throws IOException {
+        Snapshot snapshot;
+        lock.readLock().lock();
+        try {
+            if (!dirty) {
+                return;
+            }
+            snapshot = new Snapshot(SNAPSHOT_FORMAT, numHashes, shingleSize, seed, new ArrayList<>(entries.values()));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (snapshotPath.getParent() != null) {
+            Files.createDirectories(snapshotPath.getParent());
+        }
+        // Se escribe aparte y se sustituye de una vez: una caída a mitad nunca deja un snapshot truncado
+        Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        objectMapper.writeValue(temporary.toFile(), snapshot);
+        Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        lock.writeLock().lock();
+        try {
+            // Si entró algo mientras se escribía, el siguiente ciclo lo guardará
+            dirty = entries.size() != snapshot.entries().size()
+                    || !entries.isEmpty() && entries.lastEntry().getValue() != snapshot.entries().getLast();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Saved {} near-duplicate entries to {}", snapshot.entries().size(), snapshotPath);
+    }
+
+    private void saveSnapshotQuietly() {
+        try {
+            saveSnapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not save near-duplicate snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        snapshotter.shutdownNow();
+        saveSnapshotQuietly();
+    }
+
+    public record Match(QuizResponse quiz, double similarity) {
+    }
+
+    record Entry(String variant, long[] signature, QuizResponse quiz) {
+    }
+
+    record Snapshot(int format, int numHashes, int shingleSize, long seed, List<Entry> entries) {
+    }
+}
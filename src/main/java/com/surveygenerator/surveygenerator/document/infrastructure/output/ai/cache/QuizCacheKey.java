@@ -0,0 +1,52 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.stream.Collectors;
+
+/**
+ * Content-addressed cache key: SHA-256 over the normalized markdown and every prompt option
+ * that can change the generated quiz.
+ */
+public final class QuizCacheKey {
+
+    private QuizCacheKey() {
+    }
+
+    public static String of(String markdownContent,
+                            int numberOfQuestions,
+                            int numberOfOptionsPerQuestion,
+                            String deploymentName,
+                            String promptVersion,
+                            String promptLayout) {
+        String fingerprint = String.join("\u0000",
+                promptVersion,
+                promptLayout,
+                deploymentName,
+                String.valueOf(numberOfQuestions),
+                String.valueOf(numberOfOptionsPerQuestion),
+                normalize(markdownContent));
+        return sha256(fingerprint);
+    }
+
+    // Cambios de fin de línea, espacios finales o forma Unicode no deben producir otra clave
+    static String normalize(String markdownContent) {
+        return Normalizer.normalize(markdownContent, Normalizer.Form.NFC)
+                .lines()
+                .map(String::stripTrailing)
+                .collect(Collectors.joining("\n"))
+                .strip();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config;
+
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.limiter.AdaptiveConcurrencyLimiter;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.limiter.ConcurrencyLimitedAiProcessorAdapter;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.router.BackendHealth;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.router.RoutingAiProcessorAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+// Envuelve cada backend con su propio limitador y su estado de salud para el router
+@Component
+public class AiBackendFactory {
+
+    private final MeterRegistry meterRegistry;
+    private final int windowSize;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final boolean limiterEnabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final Duration defaultRetryAfter;
+    private final double latencyTolerance;
+
+    public AiBackendFactory(
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.router.window-size:100}") int windowSize,
+            @Value("${app.ai.router.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.ai.router.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${app.ai.limiter.enabled:true}") boolean limiterEnabled,
+            @Value("${app.ai.limiter.initial-limit:4}") int initialLimit,
+            @Value("${app.ai.limiter.min-limit:1}") int minLimit,
+            @Value("${app.ai.limiter.max-limit:32}") int maxLimit,
+            @Value("${app.ai.limiter.max-queue:200}") int maxQueue,
+            @Value("${app.ai.limiter.max-wait:30s}") Duration maxWait,
+            @Value("${app.ai.limiter.default-retry-after:5s}") Duration defaultRetryAfter,
+            @Value("${app.ai.limiter.latency-tolerance:2.0}") double latencyTolerance
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.windowSize = windowSize;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.limiterEnabled = limiterEnabled;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        this.defaultRetryAfter = defaultRetryAfter;
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    public RoutingAiProcessorAdapter.Backend backend(String name, AiProcessorPort processor) {
+        return new RoutingAiProcessorAdapter.Backend(name, limited(name, processor),
+                new BackendHealth(windowSize, failureThreshold, openDuration, Clock.systemUTC()));
+    }
+
+    public AiProcessorPort limited(String name, AiProcessorPort processor) {
+        if (!limiterEnabled) {
+            return processor;
+        }
+        return new ConcurrencyLimitedAiProcessorAdapter(processor, new AdaptiveConcurrencyLimiter(
+                name, initialLimit, minLimit, maxLimit, maxQueue, maxWait, defaultRetryAfter, latencyTolerance,
+                meterRegistry));
+    }
+}
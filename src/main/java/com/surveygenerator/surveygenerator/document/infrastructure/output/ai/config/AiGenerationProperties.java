@@ -0,0 +1,28 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Valores que determinan la salida del modelo; también forman parte de la clave de caché
+@Component
+@Getter
+public class AiGenerationProperties {
+
+    @Value("${app.ai.quiz.number-of-questions:10}")
+    private int numberOfQuestions;
+
+    @Value("${app.ai.quiz.number-of-options-per-question:5}")
+    private int numberOfOptionsPerQuestion;
+
+    @Value("${spring.ai.azure.openai.chat.options.deployment-name:gpt-5-nano}")
+    private String deploymentName;
+
+    // Incrementar al modificar GenerateQuizPrompt o ExpertSystemPrompt para invalidar la caché
+    @Value("${app.ai.prompt.version:v1}")
+    private String promptVersion;
+
+    // Estrategia de SurveyGeneratorFactory: DEFAULT (documento al inicio) o CACHE_FRIENDLY (documento al final)
+    @Value("${app.ai.prompt.layout:CACHE_FRIENDLY}")
+    private String promptLayout;
+}
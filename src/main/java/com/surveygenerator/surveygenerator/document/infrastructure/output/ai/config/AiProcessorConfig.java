@@ -0,0 +1,125 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.application.port.output.QuizGenerationCachePort;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.adapter.AzureOpenAiProcessorAdapter;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.adapter.OllamaProcessorAdapter;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.cache.CachingAiProcessorAdapter;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.cache.NearDuplicateAiProcessorAdapter;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.cache.NearDuplicateIndex;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.quality.QualityCheckingAiProcessorAdapter;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.router.RoutingAiProcessorAdapter;
+import com.surveygenerator.surveygenerator.utils.LruCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compone la cadena de decoradores alrededor del adaptador del proveedor de IA
+@Configuration
+@Slf4j
+public class AiProcessorConfig {
+
+    @Bean
+    @Primary
+    AiProcessorPort aiProcessorPort(
+            @Qualifier("routedAiProcessor") AiProcessorPort routedAiProcessor,
+            AiGenerationProperties generationProperties,
+            ObjectProvider<QuizGenerationCachePort> quizGenerationCachePort,
+            ObjectProvider<NearDuplicateIndex> nearDuplicateIndex,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${app.ai.cache.max-entries:500}") int cacheMaxEntries,
+            @Value("${app.ai.cache.ttl:24h}") Duration cacheTtl,
+            @Value("${app.ai.near-duplicate.policy:SHADOW}") NearDuplicateAiProcessorAdapter.Policy nearDuplicatePolicy,
+            @Value("${app.ai.near-duplicate.scope:USER}") NearDuplicateAiProcessorAdapter.Scope nearDuplicateScope,
+            @Value("${app.ai.near-duplicate.threshold:0.9}") double nearDuplicateThreshold,
+            @Value("${app.ai.quality.enabled:true}") boolean qualityEnabled,
+            @Value("${app.ai.quality.max-top-ups:1}") int qualityMaxTopUps
+    ) {
+        AiProcessorPort processor = routedAiProcessor;
+
+        // Lo más cerca del proveedor: las cachés y el índice solo guardan quizzes ya reparados
+        if (qualityEnabled) {
+            log.info("Quiz quality filter enabled (max top-ups: {})", qualityMaxTopUps);
+            processor = new QualityCheckingAiProcessorAdapter(
+                    processor,
+                    generationProperties,
+                    qualityMaxTopUps,
+                    meterRegistry);
+        }
+
+        // Va por dentro de la caché exacta: solo se consulta cuando el contenido no coincide byte a byte
+        NearDuplicateIndex index = nearDuplicateIndex.getIfAvailable();
+        if (index != null) {
+            log.info("Near-duplicate detection enabled (policy: {}, scope: {}, threshold: {}, indexed: {})",
+                    nearDuplicatePolicy, nearDuplicateScope, nearDuplicateThreshold, index.size());
+            processor = new NearDuplicateAiProcessorAdapter(
+                    processor,
+                    generationProperties,
+                    index,
+                    nearDuplicatePolicy,
+                    nearDuplicateScope,
+                    nearDuplicateThreshold,
+                    meterRegistry);
+        }
+
+        if (cacheEnabled) {
+            QuizGenerationCachePort persistentCache = quizGenerationCachePort.getIfAvailable();
+            log.info("Quiz generation cache enabled (max entries: {}, ttl: {}, mongo tier: {})",
+                    cacheMaxEntries, cacheTtl, persistentCache != null);
+            processor = new CachingAiProcessorAdapter(
+                    processor,
+                    generationProperties,
+                    new LruCache<String, QuizResponse>(cacheMaxEntries, cacheTtl),
+                    persistentCache,
+                    meterRegistry);
+        }
+
+        return processor;
+    }
+
+    // Backends disponibles detrás del router; sin router solo se usa el deployment de Azure por defecto
+    @Bean
+    AiProcessorPort routedAiProcessor(
+            AzureOpenAiProcessorAdapter azureOpenAiProcessorAdapter,
+            ObjectProvider<OllamaProcessorAdapter> ollamaProcessorAdapter,
+            ObjectProvider<RoutingAiProcessorAdapter.Backend> additionalBackends,
+            AiBackendFactory backendFactory,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.router.enabled:true}") boolean routerEnabled,
+            @Value("${app.ai.router.azure.extra-deployments:}") List<String> extraDeployments,
+            @Value("${app.ai.router.hedging.enabled:true}") boolean hedgingEnabled,
+            @Value("${app.ai.router.hedging.hedge-after:20s}") Duration hedgeAfter
+    ) {
+        String azureName = "azure:" + azureOpenAiProcessorAdapter.getDeploymentName();
+        if (!routerEnabled) {
+            return backendFactory.limited(azureName, azureOpenAiProcessorAdapter);
+        }
+
+        List<RoutingAiProcessorAdapter.Backend> backends = new ArrayList<>();
+        backends.add(backendFactory.backend(azureName, azureOpenAiProcessorAdapter));
+        extraDeployments.stream()
+                .map(String::strip)
+                .filter(deployment -> !deployment.isEmpty())
+                .forEach(deployment -> backends.add(backendFactory.backend("azure:" + deployment,
+                        azureOpenAiProcessorAdapter.forDeployment(deployment))));
+        ollamaProcessorAdapter.ifAvailable(ollama ->
+                backends.add(backendFactory.backend("ollama:" + ollama.getModel(), ollama)));
+        // Backends registrados como beans, p. ej. el stub de TestSurveyGeneratorApplication
+        additionalBackends.orderedStream().forEach(backends::add);
+
+        log.info("AI router enabled with backends {} (hedging: {}, hedge after: {})",
+                backends.stream().map(RoutingAiProcessorAdapter.Backend::name).toList(), hedgingEnabled, hedgeAfter);
+        return new RoutingAiProcessorAdapter(backends, hedgingEnabled, hedgeAfter, meterRegistry);
+    }
+}
@@ -2,17 +2,17 @@ package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.co
 
 import com.azure.ai.openai.OpenAIClient;
 import com.azure.ai.openai.OpenAIClientBuilder;
-import com.azure.core.http.HttpClient;
-import com.azure.core.util.HttpClientOptions;
-import org.springframework.ai.azure.openai.AzureOpenAiChatModel;
-import org.springframework.ai.model.azure.openai.autoconfigure.AzureOpenAIClientBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
-
 @Configuration
 public class AzureOpenAiConfig {
 
-
-}
\ No newline at end of file
+    // Cliente del SDK para las APIs que Spring AI no expone (files y batches); reutiliza endpoint y credenciales
+    @Bean
+    @ConditionalOnProperty(name = "app.batch.provider", havingValue = "azure", matchIfMissing = true)
+    OpenAIClient openAIClient(OpenAIClientBuilder openAIClientBuilder) {
+        return openAIClientBuilder.buildClient();
+    }
+}
@@ -1,25 +1,32 @@
 package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config;
 
-//import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.Resource;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
+
+// Ollama se consume por su API HTTP (/api/chat) sin el starter de Spring AI, que choca con el de Azure
 @Configuration
+@ConditionalOnProperty(name = "app.ai.router.ollama.enabled", havingValue = "true")
 public class OllamaConfig {
 
-//    @Value("classpath:/static/prompt/ExpertSystemPrompt")
-//    private Resource proSystemPrompt;
-//
-//    @Bean
-//    ChatClient chatClient(ChatClient.Builder builder){
-//        return builder.defaultSystem(proSystemPrompt)
-//                .defaultOptions(ChatOptions.builder()
-//                        .temperature(0.4)
-//                        .topP(0.9)
-//                        .build())
-//                .build();
-//    }
+    @Bean
+    RestClient ollamaRestClient(
+            RestClient.Builder builder,
+            @Value("${app.ai.router.ollama.base-url:http://localhost:11434}") String baseUrl,
+            @Value("${app.ai.router.ollama.timeout:120s}") Duration timeout
+    ) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(5));
+        requestFactory.setReadTimeout(timeout);
+
+        return builder.clone()
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
 }
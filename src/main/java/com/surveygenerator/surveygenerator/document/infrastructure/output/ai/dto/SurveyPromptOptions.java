@@ -2,6 +2,8 @@ package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.dt
 
 import lombok.*;
 
+import java.util.List;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -12,4 +14,7 @@ public class SurveyPromptOptions {
     private int numberOfOptionsPerQuestion;
     private String markdownContent;
     private String format;
+    private String deploymentName;
+    // Preguntas ya aceptadas que el modelo no debe repetir (solo en las peticiones de relleno)
+    private List<String> excludedQuestions;
 }
@@ -0,0 +1,219 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.limiter;
+
+import com.surveygenerator.surveygenerator.document.application.service.GenerationPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit for one AI backend. Each success that keeps latency within
+ * {@code latencyTolerance} times the observed baseline grows the limit by about one per window;
+ * slower answers shrink it by 10% and a 429 halves it and pauses new calls for the Retry-After.
+ * Callers over the limit wait in per-priority FIFO queues (authenticated before anonymous) for
+ * at most {@code maxWait}.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SLOW_DECREASE = 0.9;
+    private static final double THROTTLED_DECREASE = 0.5;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final Duration defaultRetryAfter;
+    private final double latencyTolerance;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Map<GenerationPriority, ArrayDeque<Object>> waiters = new EnumMap<>(GenerationPriority.class);
+
+    private double limit;
+    private int inFlight;
+    private long baselineLatencyNanos;
+    private long blockedUntilNanos = System.nanoTime();
+
+    private final Counter rejections;
+    private final Counter throttled;
+
+    public AdaptiveConcurrencyLimiter(String name,
+                                      int initialLimit,
+                                      int minLimit,
+                                      int maxLimit,
+                                      int maxQueue,
+                                      Duration maxWait,
+                                      Duration defaultRetryAfter,
+                                      double latencyTolerance,
+                                      MeterRegistry meterRegistry) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        this.defaultRetryAfter = defaultRetryAfter;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+        for (GenerationPriority priority : GenerationPriority.values()) {
+            waiters.put(priority, new ArrayDeque<>());
+        }
+
+        Gauge.builder("ai.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("backend", name)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("ai.limiter.in.flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("backend", name)
+                .register(meterRegistry);
+        for (GenerationPriority priority : GenerationPriority.values()) {
+            Gauge.builder("ai.limiter.queue.depth", this, limiter -> limiter.queueDepth(priority))
+                    .tag("backend", name)
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        this.rejections = Counter.builder("ai.limiter.rejections")
+                .tag("backend", name)
+                .description("Calls rejected after waiting longer than the maximum queue time")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("ai.limiter.throttled")
+                .tag("backend", name)
+                .description("Calls answered with 429 Too Many Requests")
+                .register(meterRegistry);
+    }
+
+    public void acquire(GenerationPriority priority) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        lock.lock();
+        try {
+            if (totalQueued() >= maxQueue) {
+                rejections.increment();
+                throw new BackendSaturatedException("AI backend " + name + " is saturated: too many queued requests");
+            }
+
+            Object ticket = new Object();
+            ArrayDeque<Object> queue = waiters.get(priority);
+            queue.addLast(ticket);
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    if (now - blockedUntilNanos >= 0 && inFlight < (int) limit && isTurn(priority, ticket)) {
+                        inFlight++;
+                        return;
+                    }
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        rejections.increment();
+                        throw new BackendSaturatedException("AI backend " + name + " is saturated: waited more than " + maxWait);
+                    }
+                    // Si está en pausa por un 429 hay que despertar al terminar la pausa aunque nadie avise
+                    long pause = blockedUntilNanos - now;
+                    changed.awaitNanos(pause > 0 ? Math.min(remaining, pause) : remaining);
+                }
+            } finally {
+                queue.remove(ticket);
+                changed.signalAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for AI backend " + name, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(Duration latency, Throwable error) {
+        lock.lock();
+        try {
+            inFlight--;
+            Optional<Duration> retryAfter = error != null ? RateLimitSignal.retryAfter(error) : Optional.empty();
+            if (retryAfter.isPresent()) {
+                onThrottled(retryAfter.get());
+            } else if (error == null) {
+                onSuccess(latency.toNanos());
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onThrottled(Duration retryAfter) {
+        Duration pause = retryAfter.isZero() ? defaultRetryAfter : retryAfter;
+        long pauseUntil = System.nanoTime() + pause.toNanos();
+        if (pauseUntil - blockedUntilNanos > 0) {
+            blockedUntilNanos = pauseUntil;
+        }
+        limit = Math.max(minLimit, limit * THROTTLED_DECREASE);
+        throttled.increment();
+        log.warn("AI backend {} throttled (429): limit reduced to {}, pausing for {}", name, (int) limit, pause);
+    }
+
+    private void onSuccess(long latencyNanos) {
+        // La línea base sigue al mínimo observado y sube despacio si el backend se vuelve más lento
+        if (baselineLatencyNanos == 0 || latencyNanos < baselineLatencyNanos) {
+            baselineLatencyNanos = latencyNanos;
+        } else {
+            baselineLatencyNanos += (latencyNanos - baselineLatencyNanos) / 100;
+        }
+
+        if (latencyNanos > baselineLatencyNanos * latencyTolerance) {
+            limit = Math.max(minLimit, limit * SLOW_DECREASE);
+        } else if (inFlight + 1 >= limit / 2) {
+            // Solo crece si el límite actual se está usando; si no, no hay evidencia de que sobre capacidad
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    private boolean isTurn(GenerationPriority priority, Object ticket) {
+        for (GenerationPriority higher : GenerationPriority.values()) {
+            if (higher == priority) {
+                return waiters.get(priority).peekFirst() == ticket;
+            }
+            if (!waiters.get(higher).isEmpty()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private int totalQueued() {
+        return waiters.values().stream().mapToInt(ArrayDeque::size).sum();
+    }
+
+    public double getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queueDepth(GenerationPriority priority) {
+        lock.lock();
+        try {
+            return waiters.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
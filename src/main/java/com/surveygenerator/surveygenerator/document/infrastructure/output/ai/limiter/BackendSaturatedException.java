@@ -0,0 +1,9 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.limiter;
+
+// Rechazo por carga del limitador local: el backend no ha fallado, así que no cuenta para su circuit breaker
+public class BackendSaturatedException extends IllegalStateException {
+
+    public BackendSaturatedException(String message) {
+        super(message);
+    }
+}
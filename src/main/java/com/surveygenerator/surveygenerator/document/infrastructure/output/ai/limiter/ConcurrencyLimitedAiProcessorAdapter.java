@@ -0,0 +1,119 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.limiter;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.application.service.GenerationPriority;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Cada llamada al backend pasa por su limitador; la prioridad se toma del hilo que origina la petición
+public class ConcurrencyLimitedAiProcessorAdapter implements AiProcessorPort {
+
+    private final AiProcessorPort delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedAiProcessorAdapter(AiProcessorPort delegate, AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent) {
+        return limited(() -> delegate.generateQuestions(markdownContent));
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions) {
+        return limited(() -> delegate.generateQuestions(markdownContent, numberOfQuestions));
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+        return limited(() -> delegate.generateQuestions(markdownContent, numberOfQuestions, excludedQuestions));
+    }
+
+    @Override
+    public Flux<QuizStreamEvent> streamQuestions(String markdownContent) {
+        GenerationPriority priority = GenerationPriority.current();
+
+        // La espera del permiso bloquea, así que no se hace en el hilo que se suscribe
+        return Flux.defer(() -> {
+            Permit permit = new Permit();
+            return Mono.fromCallable(() -> {
+                        limiter.acquire(priority);
+                        permit.granted();
+                        return permit;
+                    })
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapMany(granted -> {
+                        AtomicReference<Throwable> failure = new AtomicReference<>();
+                        return delegate.streamQuestions(markdownContent)
+                                .doOnError(failure::set)
+                                .doFinally(signal -> permit.release(
+                                        signal == SignalType.ON_COMPLETE ? null : failureOrCancelled(failure.get())));
+                    })
+                    // Cancelar con el permiso recién concedido descarta el valor antes de que exista el stream: se libera aquí
+                    .doOnCancel(permit::cancel);
+        });
+    }
+
+    private QuizResponse limited(Supplier<QuizResponse> call) {
+        limiter.acquire(GenerationPriority.current());
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            limiter.release(Duration.ofNanos(System.nanoTime() - start), failure);
+        }
+    }
+
+    // Una cancelación no aporta señal de latencia: se libera el permiso sin ajustar el límite
+    private static Throwable failureOrCancelled(Throwable failure) {
+        return failure != null ? failure : new CancellationException("Stream cancelled");
+    }
+
+    // Permiso de un stream: lo devuelve una sola vez quien llegue el último entre la concesión y la cancelación,
+    // o el fin del stream si llegó a empezar
+    private final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean isGranted;
+        private volatile boolean isCancelled;
+        private volatile long start;
+
+        void granted() {
+            start = System.nanoTime();
+            isGranted = true;
+            if (isCancelled) {
+                release(failureOrCancelled(null));
+            }
+        }
+
+        void cancel() {
+            isCancelled = true;
+            if (isGranted) {
+                release(failureOrCancelled(null));
+            }
+        }
+
+        void release(Throwable failure) {
+            if (isGranted && released.compareAndSet(false, true)) {
+                limiter.release(Duration.ofNanos(System.nanoTime() - start), failure);
+            }
+        }
+    }
+}
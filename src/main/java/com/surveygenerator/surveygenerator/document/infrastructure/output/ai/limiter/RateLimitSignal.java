@@ -0,0 +1,76 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.limiter;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpHeaderName;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Recognises a provider "429 Too Many Requests" anywhere in an exception's cause chain and
+ * extracts how long the provider asked us to back off. Covers the Azure SDK and RestClient.
+ */
+public final class RateLimitSignal {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private RateLimitSignal() {
+    }
+
+    // Optional vacío si no es un 429; Duration.ZERO si es un 429 sin Retry-After
+    public static Optional<Duration> retryAfter(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpResponseException azureError
+                    && azureError.getResponse() != null
+                    && azureError.getResponse().getStatusCode() == TOO_MANY_REQUESTS) {
+                return Optional.of(fromAzure(azureError));
+            }
+            if (cause instanceof HttpClientErrorException.TooManyRequests restError) {
+                HttpHeaders headers = restError.getResponseHeaders();
+                return Optional.of(parseRetryAfter(headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null));
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Duration fromAzure(HttpResponseException error) {
+        String retryAfterMs = error.getResponse().getHeaderValue(HttpHeaderName.RETRY_AFTER_MS);
+        if (retryAfterMs == null) {
+            retryAfterMs = error.getResponse().getHeaderValue(HttpHeaderName.X_MS_RETRY_AFTER_MS);
+        }
+        if (retryAfterMs != null) {
+            try {
+                return Duration.ofMillis(Long.parseLong(retryAfterMs.strip()));
+            } catch (NumberFormatException ignored) {
+                // se intenta con Retry-After
+            }
+        }
+        return parseRetryAfter(error.getResponse().getHeaderValue(HttpHeaderName.RETRY_AFTER));
+    }
+
+    // Retry-After admite segundos o una fecha HTTP
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return Duration.ZERO;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.strip()));
+        } catch (NumberFormatException e) {
+            try {
+                Duration untilDate = Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value.strip(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return untilDate.isNegative() ? Duration.ZERO : untilDate;
+            } catch (DateTimeParseException ignored) {
+                return Duration.ZERO;
+            }
+        }
+    }
+}
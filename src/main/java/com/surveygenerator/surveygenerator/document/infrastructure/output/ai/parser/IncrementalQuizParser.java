@@ -0,0 +1,333 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.parser;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Single-pass, lenient parser for the {@link QuizResponse} JSON shape. Chunks are consumed
+ * character by character as they arrive; strings are decoded straight into the fields of the
+ * question being built, so neither the response nor the questions are buffered as JSON text.
+ * A question is emitted as soon as its object closes.
+ * <p>
+ * Model output is not always valid JSON, so the parser tolerates: anything before the first
+ * {@code '{'} (markdown fences, preamble) and after the root object; raw control characters
+ * and unknown escapes such as {@code \'} inside strings; unescaped quotes inside a string
+ * (a quote only closes it when followed by {@code , : } ]}); unquoted keys, missing or trailing commas;
+ * non-string answers; {@code options} given directly as an array with the answer next to it;
+ * and a truncated document, which yields the questions completed so far.
+ */
+@Slf4j
+public class IncrementalQuizParser {
+
+    private static final String STATEMENT_KEY = "statement";
+    private static final String QUESTIONS_KEY = "questions";
+    private static final String QUESTION_KEY = "question";
+    private static final String OPTIONS_KEY = "options";
+    private static final String ANSWER_KEY = "answer";
+
+    private enum Role {
+        ROOT, QUESTIONS, QUESTION, OPTIONS_OBJECT, OPTIONS_ARRAY, OTHER
+    }
+
+    private final Deque<Frame> stack = new ArrayDeque<>();
+    private final List<QuizResponse.Question> questions = new ArrayList<>();
+    // Texto de la cadena o del literal en curso; se reutiliza para todos los valores
+    private final StringBuilder text = new StringBuilder();
+    private final StringBuilder pendingWhitespace = new StringBuilder();
+
+    private boolean started;
+    private boolean finished;
+    private boolean inString;
+    private boolean inLiteral;
+    private boolean escaped;
+    private boolean quotePending;
+    private int unicodeDigits = -1;
+    private int unicodeValue;
+    private int repairs;
+
+    private String statement;
+    private QuestionDraft draft;
+
+    // Atajo para respuestas completas (sin streaming)
+    public static QuizResponse parse(String content) {
+        IncrementalQuizParser parser = new IncrementalQuizParser();
+        parser.consume(content, null);
+        return parser.toQuizResponse();
+    }
+
+    public List<QuizStreamEvent> feed(String chunk) {
+        List<QuizStreamEvent> events = new ArrayList<>();
+        consume(chunk, events);
+        return events;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    // Un documento truncado (p. ej. por límite de tokens) devuelve las preguntas completas hasta ese punto
+    public QuizResponse toQuizResponse() {
+        if (!finished) {
+            if (questions.isEmpty()) {
+                throw new IllegalStateException("Model response does not contain a complete quiz JSON object");
+            }
+            log.warn("Model response is truncated, keeping the {} complete question(s)", questions.size());
+        }
+        if (repairs > 0) {
+            log.debug("Repaired {} malformed token(s) in the model response", repairs);
+        }
+        return QuizResponse.builder()
+                .statement(statement)
+                .questions(List.copyOf(questions))
+                .build();
+    }
+
+    private void consume(CharSequence chunk, List<QuizStreamEvent> events) {
+        if (chunk == null) {
+            return;
+        }
+        for (int i = 0; i < chunk.length() && !finished; i++) {
+            char c = chunk.charAt(i);
+            if (!started) {
+                if (c == '{') {
+                    started = true;
+                    stack.push(new Frame(Role.ROOT, true));
+                }
+                continue;
+            }
+            if (inString) {
+                onStringChar(c, events);
+            } else {
+                onStructuralChar(c, events);
+            }
+        }
+    }
+
+    private void onStringChar(char c, List<QuizStreamEvent> events) {
+        if (quotePending) {
+            if (Character.isWhitespace(c)) {
+                pendingWhitespace.append(c);
+                return;
+            }
+            quotePending = false;
+            if (c == ',' || c == ':' || c == '}' || c == ']' || c == '"') {
+                inString = false;
+                pendingWhitespace.setLength(0);
+                onScalar(text.toString(), events);
+                onStructuralChar(c, events);
+                return;
+            }
+            // La comilla anterior formaba parte del texto
+            repairs++;
+            text.append('"').append(pendingWhitespace);
+            pendingWhitespace.setLength(0);
+        }
+
+        if (unicodeDigits >= 0) {
+            int digit = Character.digit(c, 16);
+            if (digit >= 0) {
+                unicodeValue = unicodeValue * 16 + digit;
+                if (++unicodeDigits == 4) {
+                    text.append((char) unicodeValue);
+                    unicodeDigits = -1;
+                }
+                return;
+            }
+            // Escape \\u incompleto: se conserva tal cual y se sigue con el carácter actual
+            repairs++;
+            text.append("\\u");
+            if (unicodeDigits > 0) {
+                text.append(String.format("%0" + unicodeDigits + "x", unicodeValue));
+            }
+            unicodeDigits = -1;
+        }
+
+        if (escaped) {
+            escaped = false;
+            switch (c) {
+                case '"', '\\', '/' -> text.append(c);
+                case 'b' -> text.append('\b');
+                case 'f' -> text.append('\f');
+                case 'n' -> text.append('\n');
+                case 'r' -> text.append('\r');
+                case 't' -> text.append('\t');
+                case 'u' -> {
+                    unicodeDigits = 0;
+                    unicodeValue = 0;
+                }
+                default -> {
+                    // Escape no válido (\' o \é): se descarta la barra
+                    repairs++;
+                    text.append(c);
+                }
+            }
+            return;
+        }
+
+        switch (c) {
+            case '\\' -> escaped = true;
+            case '"' -> quotePending = true;
+            default -> text.append(c);
+        }
+    }
+
+    private void onStructuralChar(char c, List<QuizStreamEvent> events) {
+        if (inLiteral) {
+            if (!Character.isWhitespace(c) && c != ',' && c != ':' && c != '}' && c != ']' && c != '"') {
+                text.append(c);
+                return;
+            }
+            inLiteral = false;
+            String literal = text.toString();
+            onScalar("null".equals(literal) ? null : literal, events);
+        }
+
+        switch (c) {
+            case '"' -> {
+                inString = true;
+                text.setLength(0);
+            }
+            case '{' -> open(true);
+            case '[' -> open(false);
+            case '}', ']' -> close(events);
+            case ',' -> {
+                Frame top = stack.peek();
+                if (top != null && top.object) {
+                    top.expectingKey = true;
+                }
+            }
+            default -> {
+                if (c != ':' && !Character.isWhitespace(c)) {
+                    inLiteral = true;
+                    text.setLength(0);
+                    text.append(c);
+                }
+            }
+        }
+    }
+
+    private void open(boolean object) {
+        Frame parent = stack.peek();
+        String key = parent != null && parent.object ? parent.pendingKey : null;
+        Role parentRole = parent != null ? parent.role : Role.OTHER;
+
+        Role role = Role.OTHER;
+        if (parentRole == Role.ROOT && !object && QUESTIONS_KEY.equals(key)) {
+            role = Role.QUESTIONS;
+        } else if (parentRole == Role.QUESTIONS && object) {
+            role = Role.QUESTION;
+            draft = new QuestionDraft();
+        } else if (parentRole == Role.QUESTION && OPTIONS_KEY.equals(key)) {
+            role = object ? Role.OPTIONS_OBJECT : Role.OPTIONS_ARRAY;
+        } else if (parentRole == Role.OPTIONS_OBJECT && !object && OPTIONS_KEY.equals(key)) {
+            role = Role.OPTIONS_ARRAY;
+        }
+        stack.push(new Frame(role, object));
+    }
+
+    private void close(List<QuizStreamEvent> events) {
+        Frame closed = stack.poll();
+        if (closed == null || stack.isEmpty()) {
+            finished = true;
+            return;
+        }
+        if (closed.role == Role.QUESTION) {
+            completeQuestion(events);
+        }
+        // Tras un valor compuesto lo siguiente en el objeto padre es una clave, haya coma o no
+        Frame parent = stack.peek();
+        if (parent.object) {
+            parent.expectingKey = true;
+        }
+    }
+
+    // En posición de clave también se aceptan claves sin comillas
+    private void onScalar(String value, List<QuizStreamEvent> events) {
+        Frame top = stack.peek();
+        if (top == null) {
+            return;
+        }
+        if (top.object && top.expectingKey) {
+            top.pendingKey = value;
+            top.expectingKey = false;
+            return;
+        }
+        if (top.object) {
+            top.expectingKey = true;
+        }
+        if (value == null) {
+            return;
+        }
+
+        String key = top.pendingKey;
+        switch (top.role) {
+            case ROOT -> {
+                if (STATEMENT_KEY.equals(key)) {
+                    statement = value;
+                    emit(events, QuizStreamEvent.statement(value));
+                }
+            }
+            case QUESTION -> {
+                if (QUESTION_KEY.equals(key)) {
+                    draft.question = value;
+                } else if (ANSWER_KEY.equals(key)) {
+                    draft.answer = value;
+                }
+            }
+            case OPTIONS_OBJECT -> {
+                if (ANSWER_KEY.equals(key)) {
+                    draft.answer = value;
+                }
+            }
+            case OPTIONS_ARRAY -> draft.options.add(value);
+            default -> {
+                // Campos desconocidos: se ignoran
+            }
+        }
+    }
+
+    private void completeQuestion(List<QuizStreamEvent> events) {
+        QuestionDraft completed = draft;
+        draft = null;
+        if (completed == null || completed.question == null) {
+            log.warn("Skipping question without text in model response");
+            return;
+        }
+        QuizResponse.Question question = new QuizResponse.Question(
+                completed.question,
+                new QuizResponse.Question.QuestionOptions(List.copyOf(completed.options), completed.answer));
+        questions.add(question);
+        emit(events, QuizStreamEvent.question(questions.size() - 1, question));
+    }
+
+    private static void emit(List<QuizStreamEvent> events, QuizStreamEvent event) {
+        if (events != null) {
+            events.add(event);
+        }
+    }
+
+    private static final class Frame {
+        private final Role role;
+        private final boolean object;
+        private boolean expectingKey;
+        private String pendingKey;
+
+        private Frame(Role role, boolean object) {
+            this.role = role;
+            this.object = object;
+            this.expectingKey = object;
+        }
+    }
+
+    private static final class QuestionDraft {
+        private String question;
+        private String answer;
+        private final List<String> options = new ArrayList<>();
+    }
+}
@@ -0,0 +1,187 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.quality;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.application.service.GenerationPriority;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config.AiGenerationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Decorates an {@link AiProcessorPort} with a validation and repair stage. Every question goes
+ * through {@link QuizQualityFilter}; if fewer than the requested number survive, the delegate
+ * is asked for only the missing questions (up to {@code maxTopUps} times), with the accepted
+ * ones listed in the prompt as exclusions, and the answers are filtered against them. A failed
+ * top-up never fails the request: the quiz is returned with the questions it has, unless none
+ * are valid at all.
+ */
+@Slf4j
+public class QualityCheckingAiProcessorAdapter implements AiProcessorPort {
+
+    private final AiProcessorPort delegate;
+    private final AiGenerationProperties generationProperties;
+    private final QuizQualityFilter filter;
+    private final int maxTopUps;
+    private final MeterRegistry meterRegistry;
+
+    private final Counter topUpCalls;
+    private final Counter topUpQuestions;
+    private final Counter shortQuizzes;
+
+    public QualityCheckingAiProcessorAdapter(AiProcessorPort delegate,
+                                             AiGenerationProperties generationProperties,
+                                             int maxTopUps,
+                                             MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.generationProperties = generationProperties;
+        this.filter = new QuizQualityFilter(generationProperties.getNumberOfOptionsPerQuestion());
+        this.maxTopUps = Math.max(0, maxTopUps);
+        this.meterRegistry = meterRegistry;
+
+        this.topUpCalls = Counter.builder("ai.generation.quality.top-ups")
+                .description("Extra LLM calls made to replace missing or discarded questions")
+                .register(meterRegistry);
+        this.topUpQuestions = Counter.builder("ai.generation.quality.top-up.questions")
+                .description("Questions requested through top-up calls")
+                .register(meterRegistry);
+        this.shortQuizzes = Counter.builder("ai.generation.quality.short-quizzes")
+                .description("Quizzes returned with fewer questions than requested after all top-ups")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent) {
+        return generateQuestions(markdownContent, generationProperties.getNumberOfQuestions());
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions) {
+        return generateQuestions(markdownContent, numberOfQuestions, List.of());
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+        QuizResponse response = delegate.generateQuestions(markdownContent, numberOfQuestions, excludedQuestions);
+
+        QuizQualityFilter.Session session = filter.start(numberOfQuestions);
+        response.questions().forEach(session::accept);
+        topUp(markdownContent, session, excludedQuestions);
+        return finish(session, response.statement());
+    }
+
+    // Las preguntas se filtran según llegan; las que faltan se piden al terminar el stream y se emiten antes de COMPLETED
+    @Override
+    public Flux<QuizStreamEvent> streamQuestions(String markdownContent) {
+        return Flux.defer(() -> {
+            GenerationPriority priority = GenerationPriority.current();
+            QuizQualityFilter.Session session = filter.start(generationProperties.getNumberOfQuestions());
+            AtomicReference<String> statement = new AtomicReference<>();
+            AtomicInteger streamed = new AtomicInteger();
+
+            Flux<QuizStreamEvent> filtered = delegate.streamQuestions(markdownContent)
+                    .concatMapIterable(event -> switch (event.type()) {
+                        case STATEMENT -> {
+                            statement.set(event.statement());
+                            yield List.of(event);
+                        }
+                        case QUESTION -> {
+                            streamed.incrementAndGet();
+                            yield acceptAsEvents(session, List.of(event.question()));
+                        }
+                        // El quiz final puede traer preguntas que el parser no llegó a emitir por separado
+                        case COMPLETED -> {
+                            if (statement.get() == null) {
+                                statement.set(event.quiz().statement());
+                            }
+                            List<QuizResponse.Question> questions = event.quiz().questions();
+                            yield acceptAsEvents(session, questions.subList(Math.min(streamed.get(), questions.size()), questions.size()));
+                        }
+                        case ERROR -> List.of(event);
+                    });
+
+            Flux<QuizStreamEvent> completion = Mono.fromCallable(() -> GenerationPriority.callWith(priority, () -> {
+                        int before = session.accepted().size();
+                        topUp(markdownContent, session, List.of());
+                        List<QuizStreamEvent> events = new ArrayList<>(questionEvents(session, before));
+                        events.add(QuizStreamEvent.completed(finish(session, statement.get())));
+                        return events;
+                    }))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapIterable(events -> events);
+
+            return filtered.concatWith(completion);
+        });
+    }
+
+    // Cada relleno lleva en el prompt las preguntas ya aceptadas; sin eso el modelo repite las mismas y el filtro las descarta
+    private void topUp(String markdownContent, QuizQualityFilter.Session session, List<String> excludedQuestions) {
+        for (int attempt = 1; attempt <= maxTopUps && session.missing() > 0; attempt++) {
+            int missing = session.missing();
+            topUpCalls.increment();
+            topUpQuestions.increment(missing);
+            log.info("Quiz has {} valid question(s) missing, requesting a top-up (attempt {} of {})",
+                    missing, attempt, maxTopUps);
+            try {
+                delegate.generateQuestions(markdownContent, missing, exclusions(session, excludedQuestions))
+                        .questions().forEach(session::accept);
+            } catch (RuntimeException e) {
+                log.warn("Top-up generation failed, keeping {} question(s): {}", session.accepted().size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private static List<String> exclusions(QuizQualityFilter.Session session, List<String> excludedQuestions) {
+        List<String> exclusions = new ArrayList<>(excludedQuestions);
+        session.accepted().forEach(question -> exclusions.add(question.question()));
+        return exclusions;
+    }
+
+    private QuizResponse finish(QuizQualityFilter.Session session, String statement) {
+        recordIssues(session.issues());
+        if (session.accepted().isEmpty()) {
+            throw new IllegalStateException("The generated quiz has no valid questions");
+        }
+        if (session.missing() > 0) {
+            shortQuizzes.increment();
+            log.warn("Returning quiz with {} question(s), {} short of the requested amount",
+                    session.accepted().size(), session.missing());
+        }
+        return session.toQuizResponse(statement);
+    }
+
+    private List<QuizStreamEvent> acceptAsEvents(QuizQualityFilter.Session session, List<QuizResponse.Question> questions) {
+        int before = session.accepted().size();
+        questions.forEach(session::accept);
+        return questionEvents(session, before);
+    }
+
+    // Índices consecutivos sobre las preguntas aceptadas, no sobre las que envió el modelo
+    private static List<QuizStreamEvent> questionEvents(QuizQualityFilter.Session session, int from) {
+        List<QuizResponse.Question> accepted = session.accepted();
+        List<QuizStreamEvent> events = new ArrayList<>(accepted.size() - from);
+        for (int index = from; index < accepted.size(); index++) {
+            events.add(QuizStreamEvent.question(index, accepted.get(index)));
+        }
+        return events;
+    }
+
+    private void recordIssues(Map<QuizQualityFilter.Issue, Integer> issues) {
+        issues.forEach((issue, count) -> meterRegistry.counter("ai.generation.quality.issues",
+                "issue", issue.name().toLowerCase()).increment(count));
+        if (!issues.isEmpty()) {
+            log.info("Quiz output repaired: {}", issues);
+        }
+    }
+}
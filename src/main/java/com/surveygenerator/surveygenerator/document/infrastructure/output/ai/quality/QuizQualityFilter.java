@@ -0,0 +1,178 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.quality;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.utils.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Validates and repairs the questions of a generated quiz one by one. Options are trimmed and
+ * deduplicated, the answer is matched against the options by normalized text (or by letter,
+ * when the model answers "B" instead of repeating the option), and questions that cannot be
+ * repaired or repeat an earlier one are dropped. A {@link Session} accumulates the accepted
+ * questions of one quiz, so the same rules apply to a complete response and to a stream.
+ */
+public class QuizQualityFilter {
+
+    // "B", "b)", "B." o "2": el modelo a veces responde con la posición en lugar del texto
+    private static final Pattern OPTION_REFERENCE = Pattern.compile("^\\s*(?:([a-zA-Z])|(\\d{1,2}))\\s*[).:]?\\s*$");
+
+    public enum Issue {
+        DUPLICATE_QUESTION,
+        DUPLICATE_OPTION,
+        ANSWER_NOT_IN_OPTIONS,
+        ANSWER_ADDED_TO_OPTIONS,
+        ANSWER_BY_REFERENCE,
+        INVALID_QUESTION,
+        EXTRA_QUESTION
+    }
+
+    private final int optionsPerQuestion;
+
+    public QuizQualityFilter(int optionsPerQuestion) {
+        this.optionsPerQuestion = Math.max(2, optionsPerQuestion);
+    }
+
+    public Session start(int numberOfQuestions) {
+        return new Session(numberOfQuestions);
+    }
+
+    public final class Session {
+
+        private final int numberOfQuestions;
+        private final List<QuizResponse.Question> accepted = new ArrayList<>();
+        private final Set<String> seenQuestions = new HashSet<>();
+        private final Map<Issue, Integer> issues = new EnumMap<>(Issue.class);
+
+        private Session(int numberOfQuestions) {
+            this.numberOfQuestions = numberOfQuestions;
+        }
+
+        // Devuelve la pregunta reparada si se acepta; vacío si se descarta
+        public Optional<QuizResponse.Question> accept(QuizResponse.Question question) {
+            if (accepted.size() >= numberOfQuestions) {
+                report(Issue.EXTRA_QUESTION);
+                return Optional.empty();
+            }
+            Optional<QuizResponse.Question> repaired = repair(question);
+            if (repaired.isEmpty()) {
+                return Optional.empty();
+            }
+            if (!seenQuestions.add(TextNormalizer.normalize(repaired.get().question()))) {
+                report(Issue.DUPLICATE_QUESTION);
+                return Optional.empty();
+            }
+            accepted.add(repaired.get());
+            return repaired;
+        }
+
+        public List<QuizResponse.Question> accepted() {
+            return List.copyOf(accepted);
+        }
+
+        public int missing() {
+            return Math.max(0, numberOfQuestions - accepted.size());
+        }
+
+        public Map<Issue, Integer> issues() {
+            return Map.copyOf(issues);
+        }
+
+        public QuizResponse toQuizResponse(String statement) {
+            return QuizResponse.builder()
+                    .statement(statement)
+                    .questions(accepted())
+                    .build();
+        }
+
+        private Optional<QuizResponse.Question> repair(QuizResponse.Question question) {
+            if (question == null || isBlank(question.question()) || question.options() == null
+                    || question.options().options() == null) {
+                report(Issue.INVALID_QUESTION);
+                return Optional.empty();
+            }
+
+            List<String> options = new ArrayList<>();
+            Set<String> seenOptions = new HashSet<>();
+            for (String option : question.options().options()) {
+                if (isBlank(option)) {
+                    continue;
+                }
+                if (seenOptions.add(TextNormalizer.normalize(option))) {
+                    options.add(option.strip());
+                } else {
+                    report(Issue.DUPLICATE_OPTION);
+                }
+            }
+
+            String answer = resolveAnswer(question.options().answer(), options);
+            if (answer == null) {
+                report(Issue.ANSWER_NOT_IN_OPTIONS);
+                return Optional.empty();
+            }
+
+            // Con opciones de más se conservan las primeras, sin perder nunca la correcta
+            while (options.size() > optionsPerQuestion) {
+                int last = options.size() - 1;
+                options.remove(options.get(last).equals(answer) ? last - 1 : last);
+            }
+            if (options.size() < 2) {
+                report(Issue.INVALID_QUESTION);
+                return Optional.empty();
+            }
+
+            return Optional.of(new QuizResponse.Question(
+                    question.question().strip(),
+                    new QuizResponse.Question.QuestionOptions(List.copyOf(options), answer)));
+        }
+
+        // La respuesta se normaliza al texto exacto de la opción; si no aparece y hay hueco, se añade
+        private String resolveAnswer(String answer, List<String> options) {
+            if (isBlank(answer)) {
+                return null;
+            }
+            String normalized = TextNormalizer.normalize(answer);
+            for (String option : options) {
+                if (TextNormalizer.normalize(option).equals(normalized)) {
+                    return option;
+                }
+            }
+
+            Matcher reference = OPTION_REFERENCE.matcher(answer);
+            if (reference.matches()) {
+                int position = reference.group(1) != null
+                        ? Character.toLowerCase(reference.group(1).charAt(0)) - 'a'
+                        : Integer.parseInt(reference.group(2)) - 1;
+                if (position >= 0 && position < options.size()) {
+                    report(Issue.ANSWER_BY_REFERENCE);
+                    return options.get(position);
+                }
+            }
+
+            if (options.size() < optionsPerQuestion) {
+                report(Issue.ANSWER_ADDED_TO_OPTIONS);
+                String stripped = answer.strip();
+                // Posición derivada del texto para que la correcta no quede siempre la última
+                options.add(Math.floorMod(normalized.hashCode(), options.size() + 1), stripped);
+                return stripped;
+            }
+            return null;
+        }
+
+        private void report(Issue issue) {
+            issues.merge(issue, 1, Integer::sum);
+        }
+    }
+
+    private static boolean isBlank(String text) {
+        return text == null || text.isBlank();
+    }
+}
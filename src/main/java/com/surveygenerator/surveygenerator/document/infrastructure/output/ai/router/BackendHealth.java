@@ -0,0 +1,126 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.router;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Rolling latency/error window and circuit breaker for one AI backend. The window keeps the
+ * last {@code windowSize} calls; after {@code failureThreshold} consecutive failures the circuit
+ * opens for {@code openDuration}, then a single trial call decides whether it closes again.
+ */
+public class BackendHealth {
+
+    public enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    private final long[] latenciesMillis;
+    private final boolean[] failures;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private int next;
+    private int count;
+    private int consecutiveFailures;
+    private CircuitState state = CircuitState.CLOSED;
+    private Instant openUntil = Instant.MIN;
+    private boolean trialInFlight;
+
+    public BackendHealth(int windowSize, int failureThreshold, Duration openDuration, Clock clock) {
+        this.latenciesMillis = new long[Math.max(1, windowSize)];
+        this.failures = new boolean[latenciesMillis.length];
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    // Reserva la llamada de prueba en HALF_OPEN para que solo una petición sondee el backend
+    public synchronized boolean tryAcquire() {
+        if (state == CircuitState.OPEN) {
+            if (clock.instant().isBefore(openUntil)) {
+                return false;
+            }
+            state = CircuitState.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized boolean isAvailable() {
+        return state == CircuitState.CLOSED
+                || (state == CircuitState.OPEN && !clock.instant().isBefore(openUntil))
+                || (state == CircuitState.HALF_OPEN && !trialInFlight);
+    }
+
+    public synchronized void recordSuccess(Duration latency) {
+        record(latency, false);
+        consecutiveFailures = 0;
+        state = CircuitState.CLOSED;
+        trialInFlight = false;
+    }
+
+    public synchronized void recordFailure(Duration latency) {
+        record(latency, true);
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = CircuitState.OPEN;
+            openUntil = clock.instant().plus(openDuration);
+            trialInFlight = false;
+        }
+    }
+
+    // Una llamada cancelada no cuenta como fallo del backend
+    public synchronized void recordCancelled() {
+        trialInFlight = false;
+    }
+
+    // El perdedor de un hedge tardó al menos esto: se guarda como cota inferior para que deje de ser el primario
+    public synchronized void recordCancelled(Duration elapsed) {
+        record(elapsed, false);
+        trialInFlight = false;
+    }
+
+    public synchronized long p95Millis() {
+        if (count == 0) {
+            return 0;
+        }
+        long[] window = Arrays.copyOf(latenciesMillis, count);
+        Arrays.sort(window);
+        return window[(int) Math.ceil(0.95 * count) - 1];
+    }
+
+    public synchronized double errorRate() {
+        if (count == 0) {
+            return 0;
+        }
+        int failed = 0;
+        for (int i = 0; i < count; i++) {
+            if (failures[i]) {
+                failed++;
+            }
+        }
+        return (double) failed / count;
+    }
+
+    public synchronized int sampleCount() {
+        return count;
+    }
+
+    public synchronized CircuitState state() {
+        return state;
+    }
+
+    private void record(Duration latency, boolean failed) {
+        latenciesMillis[next] = latency.toMillis();
+        failures[next] = failed;
+        next = (next + 1) % latenciesMillis.length;
+        count = Math.min(count + 1, latenciesMillis.length);
+    }
+}
@@ -0,0 +1,270 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.router;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.application.service.GenerationPriority;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.limiter.BackendSaturatedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Routes each request to the healthiest backend, ranked by rolling p95 latency penalised by its
+ * error rate. If the chosen backend has not answered after the hedge delay, the same request is
+ * sent to the next backend and the first successful answer wins; failures fall over to the next
+ * backend. Backends whose circuit is open are skipped until their cool-down expires.
+ */
+@Slf4j
+public class RoutingAiProcessorAdapter implements AiProcessorPort {
+
+    // Con menos muestras el p95 no es fiable y se usa el retardo configurado
+    private static final int MIN_SAMPLES_FOR_ADAPTIVE_HEDGE = 20;
+    private static final Duration MIN_HEDGE_DELAY = Duration.ofSeconds(1);
+
+    private final List<Backend> backends;
+    private final Duration hedgeAfter;
+    private final boolean hedgingEnabled;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter hedges;
+    private final Counter failovers;
+
+    public RoutingAiProcessorAdapter(List<Backend> backends,
+                                     boolean hedgingEnabled,
+                                     Duration hedgeAfter,
+                                     MeterRegistry meterRegistry) {
+        if (backends.isEmpty()) {
+            throw new IllegalArgumentException("At least one AI backend is required");
+        }
+        this.backends = List.copyOf(backends);
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgeAfter = hedgeAfter;
+
+        this.hedges = Counter.builder("ai.router.hedges")
+                .description("Requests duplicated to a second backend after the hedge delay")
+                .register(meterRegistry);
+        this.failovers = Counter.builder("ai.router.failovers")
+                .description("Requests retried on another backend after a failure")
+                .register(meterRegistry);
+        for (Backend backend : this.backends) {
+            Gauge.builder("ai.router.backend.latency.p95", backend.health(), BackendHealth::p95Millis)
+                    .tag("backend", backend.name())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("ai.router.backend.error.rate", backend.health(), BackendHealth::errorRate)
+                    .tag("backend", backend.name())
+                    .register(meterRegistry);
+            Gauge.builder("ai.router.backend.circuit.open", backend.health(),
+                            health -> health.state() == BackendHealth.CircuitState.CLOSED ? 0 : 1)
+                    .tag("backend", backend.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent) {
+        return route(processor -> processor.generateQuestions(markdownContent));
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions) {
+        return route(processor -> processor.generateQuestions(markdownContent, numberOfQuestions));
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+        return route(processor -> processor.generateQuestions(markdownContent, numberOfQuestions, excludedQuestions));
+    }
+
+    // En streaming no se hace hedge: solo se cambia de backend si falla antes del primer evento
+    @Override
+    public Flux<QuizStreamEvent> streamQuestions(String markdownContent) {
+        GenerationPriority priority = GenerationPriority.current();
+        return Flux.defer(() -> streamFrom(rank().iterator(), markdownContent, priority, null));
+    }
+
+    private Flux<QuizStreamEvent> streamFrom(Iterator<Backend> candidates, String markdownContent,
+                                             GenerationPriority priority, Throwable lastError) {
+        Backend backend = nextAcquired(candidates);
+        if (backend == null) {
+            return Flux.error(lastError != null ? lastError : noBackendAvailable());
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean emitted = new AtomicBoolean();
+        return GenerationPriority.callWith(priority, () -> backend.processor().streamQuestions(markdownContent))
+                .doOnNext(event -> emitted.set(true))
+                .doOnComplete(() -> backend.health().recordSuccess(elapsedSince(start)))
+                .doOnCancel(() -> backend.health().recordCancelled())
+                .onErrorResume(error -> {
+                    recordError(backend, error, elapsedSince(start));
+                    if (emitted.get()) {
+                        return Flux.error(error);
+                    }
+                    log.warn("AI backend {} failed before streaming, trying next: {}", backend.name(), error.getMessage());
+                    failovers.increment();
+                    return streamFrom(candidates, markdownContent, priority, error);
+                });
+    }
+
+    private QuizResponse route(Function<AiProcessorPort, QuizResponse> call) {
+        Iterator<Backend> candidates = rank().iterator();
+        CompletionService<Attempt> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Attempt>> running = new ArrayList<>(2);
+        AtomicBoolean settled = new AtomicBoolean();
+        // La prioridad vive en el hilo del llamante; se reaplica en los hilos que llaman a cada backend
+        GenerationPriority priority = GenerationPriority.current();
+        Function<AiProcessorPort, QuizResponse> prioritizedCall =
+                processor -> GenerationPriority.callWith(priority, () -> call.apply(processor));
+
+        Backend primary = launchNext(candidates, prioritizedCall, completion, running, settled);
+        if (primary == null) {
+            throw noBackendAvailable();
+        }
+
+        boolean hedged = false;
+        RuntimeException lastError = null;
+        try {
+            while (!running.isEmpty()) {
+                Future<Attempt> done;
+                if (hedgingEnabled && !hedged && candidates.hasNext()) {
+                    done = completion.poll(hedgeDelay(primary).toMillis(), TimeUnit.MILLISECONDS);
+                    if (done == null) {
+                        hedged = true;
+                        Backend hedge = launchNext(candidates, prioritizedCall, completion, running, settled);
+                        if (hedge != null) {
+                            log.info("AI backend {} exceeded hedge delay, hedging to {}", primary.name(), hedge.name());
+                            hedges.increment();
+                        }
+                        continue;
+                    }
+                } else {
+                    done = completion.take();
+                }
+                running.remove(done);
+
+                Attempt attempt = done.get();
+                if (attempt.error() == null) {
+                    return attempt.response();
+                }
+                lastError = attempt.error();
+                if (running.isEmpty() && launchNext(candidates, prioritizedCall, completion, running, settled) != null) {
+                    failovers.increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for AI backends", e);
+        } catch (ExecutionException e) {
+            // Las tareas capturan sus propias excepciones, solo falla si el executor no pudo ejecutarlas
+            throw new IllegalStateException("AI backend call could not be executed", e.getCause());
+        } finally {
+            settled.set(true);
+            running.forEach(future -> future.cancel(true));
+        }
+
+        throw lastError != null ? lastError : noBackendAvailable();
+    }
+
+    private Backend launchNext(Iterator<Backend> candidates,
+                               Function<AiProcessorPort, QuizResponse> call,
+                               CompletionService<Attempt> completion,
+                               List<Future<Attempt>> running,
+                               AtomicBoolean settled) {
+        Backend backend = nextAcquired(candidates);
+        if (backend != null) {
+            running.add(completion.submit(() -> invoke(backend, call, settled)));
+        }
+        return backend;
+    }
+
+    private Attempt invoke(Backend backend, Function<AiProcessorPort, QuizResponse> call, AtomicBoolean settled) {
+        long start = System.nanoTime();
+        try {
+            QuizResponse response = call.apply(backend.processor());
+            backend.health().recordSuccess(elapsedSince(start));
+            return new Attempt(response, null);
+        } catch (RuntimeException e) {
+            if (settled.get()) {
+                // Perdió el hedge y se canceló: no cuenta como fallo del backend
+                backend.health().recordCancelled(elapsedSince(start));
+            } else {
+                log.warn("AI backend {} failed: {}", backend.name(), e.getMessage());
+                recordError(backend, e, elapsedSince(start));
+            }
+            return new Attempt(null, e);
+        }
+    }
+
+    // El rechazo por saturación del limitador es descarte de carga, no un fallo: no abre el circuito
+    private static void recordError(Backend backend, Throwable error, Duration elapsed) {
+        if (error instanceof BackendSaturatedException) {
+            backend.health().recordCancelled();
+        } else {
+            backend.health().recordFailure(elapsed);
+        }
+    }
+
+    private Backend nextAcquired(Iterator<Backend> candidates) {
+        while (candidates.hasNext()) {
+            Backend backend = candidates.next();
+            if (backend.health().tryAcquire()) {
+                return backend;
+            }
+        }
+        return null;
+    }
+
+    private List<Backend> rank() {
+        return backends.stream()
+                .filter(backend -> backend.health().isAvailable())
+                .sorted(Comparator.comparingDouble(RoutingAiProcessorAdapter::score))
+                .toList();
+    }
+
+    // Un backend sin muestras puntúa 1 y se prueba pronto; los errores multiplican la latencia
+    private static double score(Backend backend) {
+        BackendHealth health = backend.health();
+        return (health.p95Millis() + 1) * (1 + 4 * health.errorRate());
+    }
+
+    private Duration hedgeDelay(Backend primary) {
+        if (primary.health().sampleCount() < MIN_SAMPLES_FOR_ADAPTIVE_HEDGE) {
+            return hedgeAfter;
+        }
+        Duration p95 = Duration.ofMillis(primary.health().p95Millis());
+        return p95.compareTo(MIN_HEDGE_DELAY) < 0 ? MIN_HEDGE_DELAY : p95;
+    }
+
+    private static Duration elapsedSince(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    private static IllegalStateException noBackendAvailable() {
+        return new IllegalStateException("No AI backend available: every circuit is open");
+    }
+
+    public record Backend(String name, AiProcessorPort processor, BackendHealth health) {
+    }
+
+    private record Attempt(QuizResponse response, RuntimeException error) {
+    }
+}
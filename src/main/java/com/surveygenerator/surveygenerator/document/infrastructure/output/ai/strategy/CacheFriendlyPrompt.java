@@ -0,0 +1,58 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.strategy;
+
+import com.surveygenerator.surveygenerator.document.application.factory.PromptStrategy;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.dto.SurveyPromptOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.azure.openai.AzureOpenAiChatOptions;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders the prompt as system text, JSON schema and instructions first, and the question counts
+ * and document last. The first message is byte-identical across requests, so Azure OpenAI can
+ * serve it from its prompt cache (only applied once the shared prefix reaches 1024 tokens).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheFriendlyPrompt implements PromptStrategy {
+
+    private final CompiledQuizPrompt compiledQuizPrompt;
+
+    private final Map<String, AzureOpenAiChatOptions> chatOptionsByDeployment = new ConcurrentHashMap<>();
+
+    @Override
+    public Prompt generatePrompt(SurveyPromptOptions promptOptions) {
+
+        AzureOpenAiChatOptions azureOpenAiChatOptions = chatOptionsByDeployment.computeIfAbsent(
+                promptOptions.getDeploymentName(),
+                deploymentName -> AzureOpenAiChatOptions.builder()
+                        .deploymentName(deploymentName)
+                        // Sin esto las respuestas en streaming no traen usage (ni cached tokens)
+                        .streamUsage(true)
+                        .build());
+
+        SystemMessage systemMessage = new SystemMessage(compiledQuizPrompt.renderStablePrefix(promptOptions.getFormat()));
+        UserMessage userMessage = new UserMessage(compiledQuizPrompt.renderDocumentText(
+                promptOptions.getNumberOfQuestions(),
+                promptOptions.getNumberOfOptionsPerQuestion(),
+                promptOptions.getMarkdownContent())
+                + compiledQuizPrompt.renderExclusions(promptOptions.getExcludedQuestions()));
+
+        log.info("Cache-friendly prompt generated successfully");
+
+        return new Prompt(List.of(systemMessage, userMessage), azureOpenAiChatOptions);
+    }
+
+    @Override
+    public String getStep() {
+        return "CACHE_FRIENDLY";
+    }
+}
@@ -0,0 +1,132 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.strategy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prompt resources loaded and rendered once. For every combination of question count, option
+ * count and format the template is rendered a single time with a marker in the document slot;
+ * per request only the document is spliced between the cached prefix and suffix.
+ */
+@Component
+@Slf4j
+public class CompiledQuizPrompt {
+
+    private static final String DOCUMENT_MARKER = "@@DOCUMENT_SLOT@@";
+    private static final String QUESTIONS_PLACEHOLDER = "{questions}";
+
+    private final String userTemplate;
+    private final String systemText;
+    private final String instructionsTemplate;
+    private final String documentTemplate;
+    private final String exclusionsTemplate;
+    private final Map<SkeletonKey, Skeleton> skeletons = new ConcurrentHashMap<>();
+    private final Map<String, String> stablePrefixes = new ConcurrentHashMap<>();
+
+    public CompiledQuizPrompt(
+            @Value("classpath:/static/prompt/GenerateQuizPrompt") Resource generateQuizPrompt,
+            @Value("classpath:/static/prompt/ExpertSystemPrompt") Resource proSystemPrompt,
+            @Value("classpath:/static/prompt/QuizInstructionsPrompt") Resource quizInstructionsPrompt,
+            @Value("classpath:/static/prompt/QuizDocumentPrompt") Resource quizDocumentPrompt,
+            @Value("classpath:/static/prompt/QuizExclusionsPrompt") Resource quizExclusionsPrompt
+    ) {
+        this.userTemplate = read(generateQuizPrompt);
+        this.systemText = read(proSystemPrompt);
+        this.instructionsTemplate = read(quizInstructionsPrompt);
+        this.documentTemplate = read(quizDocumentPrompt);
+        this.exclusionsTemplate = read(quizExclusionsPrompt);
+    }
+
+    public String getSystemText() {
+        return systemText;
+    }
+
+    public String renderUserText(int numberOfQuestions, int numberOfOptions, String format, String document) {
+        return splice(skeleton(userTemplate, numberOfQuestions, numberOfOptions, format), document);
+    }
+
+    /**
+     * System text, instructions and JSON schema. Depends only on the format, so it is the same
+     * string for every request and can be served from the provider's prompt cache.
+     */
+    public String renderStablePrefix(String format) {
+        return stablePrefixes.computeIfAbsent(format, key -> systemText + "\n\n"
+                + new PromptTemplate(instructionsTemplate).render(Map.of("format", key)));
+    }
+
+    // Lo que cambia en cada petición (cantidades y documento) va siempre al final
+    public String renderDocumentText(int numberOfQuestions, int numberOfOptions, String document) {
+        return splice(skeleton(documentTemplate, numberOfQuestions, numberOfOptions, ""), document);
+    }
+
+    /**
+     * Block appended after the document when only the missing questions of a quiz are requested,
+     * listing the ones already accepted so the model does not generate them again. Empty when
+     * there is nothing to exclude, so a regular request renders exactly as before.
+     */
+    public String renderExclusions(List<String> excludedQuestions) {
+        if (excludedQuestions == null || excludedQuestions.isEmpty()) {
+            return "";
+        }
+        StringBuilder questions = new StringBuilder();
+        for (String question : excludedQuestions) {
+            questions.append("- ").append(question.strip()).append('\n');
+        }
+        // Sustitución literal: el texto de las preguntas puede traer llaves que PromptTemplate interpretaría
+        return "\n\n" + exclusionsTemplate.replace(QUESTIONS_PLACEHOLDER, questions.toString().stripTrailing());
+    }
+
+    private Skeleton skeleton(String template, int numberOfQuestions, int numberOfOptions, String format) {
+        return skeletons.computeIfAbsent(
+                new SkeletonKey(template, numberOfQuestions, numberOfOptions, format), this::compile);
+    }
+
+    private static String splice(Skeleton skeleton, String document) {
+        return new StringBuilder(skeleton.prefix().length() + document.length() + skeleton.suffix().length())
+                .append(skeleton.prefix())
+                .append(document)
+                .append(skeleton.suffix())
+                .toString();
+    }
+
+    private Skeleton compile(SkeletonKey key) {
+        String rendered = new PromptTemplate(key.template()).render(Map.of(
+                "format", key.format(),
+                "document", DOCUMENT_MARKER,
+                "q", key.numberOfQuestions(),
+                "o", key.numberOfOptions()
+        ));
+
+        int slot = rendered.indexOf(DOCUMENT_MARKER);
+        if (slot < 0) {
+            return new Skeleton(rendered, "");
+        }
+        log.debug("Compiled quiz prompt skeleton for {} questions / {} options", key.numberOfQuestions(), key.numberOfOptions());
+        return new Skeleton(rendered.substring(0, slot), rendered.substring(slot + DOCUMENT_MARKER.length()));
+    }
+
+    private static String read(Resource resource) {
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load prompt resource " + resource.getDescription(), e);
+        }
+    }
+
+    // template se compara por identidad en la práctica: siempre es uno de los campos de esta clase
+    private record SkeletonKey(String template, int numberOfQuestions, int numberOfOptions, String format) {
+    }
+
+    private record Skeleton(String prefix, String suffix) {
+    }
+}
@@ -3,46 +3,45 @@ package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.st
 
 import com.surveygenerator.surveygenerator.document.application.factory.PromptStrategy;
 import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.dto.SurveyPromptOptions;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.azure.openai.AzureOpenAiChatOptions;
-import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class DefaultPrompt implements PromptStrategy {
 
-    @Value("classpath:/static/prompt/GenerateQuizPrompt")
-    private Resource generateQuizPrompt;
+    private final CompiledQuizPrompt compiledQuizPrompt;
 
-    @Value("classpath:/static/prompt/ExpertSystemPrompt")
-    private Resource proSystemPrompt;
+    // AzureOpenAiChatModel copia las opciones de cada Prompt, así que se pueden compartir
+    private final Map<String, AzureOpenAiChatOptions> chatOptionsByDeployment = new ConcurrentHashMap<>();
 
     public Prompt generatePrompt(SurveyPromptOptions promptOptions) {
 
-        AzureOpenAiChatOptions azureOpenAiChatOptions =
-                AzureOpenAiChatOptions.builder()
-                        .deploymentName("gpt-5-nano")
-                .build();
-
-        PromptTemplate promptTemplate = new PromptTemplate(generateQuizPrompt);
-        Map<String, Object> promptParams = Map.of(
-                "format", promptOptions.getFormat(),
-                "document", promptOptions.getMarkdownContent(),
-                "q", promptOptions.getNumberOfQuestions(),
-                "o", promptOptions.getNumberOfOptionsPerQuestion()
-        );
-
-        Message userMessage = promptTemplate.createMessage(promptParams);
-        SystemMessage systemMessage = new SystemMessage(proSystemPrompt);
+        AzureOpenAiChatOptions azureOpenAiChatOptions = chatOptionsByDeployment.computeIfAbsent(
+                promptOptions.getDeploymentName(),
+                deploymentName -> AzureOpenAiChatOptions.builder()
+                        .deploymentName(deploymentName)
+                        .build());
+
+        String userText = compiledQuizPrompt.renderUserText(
+                promptOptions.getNumberOfQuestions(),
+                promptOptions.getNumberOfOptionsPerQuestion(),
+                promptOptions.getFormat(),
+                promptOptions.getMarkdownContent())
+                + compiledQuizPrompt.renderExclusions(promptOptions.getExcludedQuestions());
+
+        UserMessage userMessage = new UserMessage(userText);
+        SystemMessage systemMessage = new SystemMessage(compiledQuizPrompt.getSystemText());
 
         log.info("Prompt generated successfully");
 
@@ -0,0 +1,97 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.cache;
+
+import com.surveygenerator.surveygenerator.document.application.port.output.QuizViewCachePort;
+import com.surveygenerator.surveygenerator.utils.LruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Default, per-instance backend of {@link QuizViewCachePort}: an LRU/TTL cache of the serialized
+ * quiz bytes. Invalidating a user bumps that user's generation, which is part of every key, so
+ * the old entries become unreachable at once and age out of the LRU without being scanned.
+ */
+@Component
+@ConditionalOnProperty(name = "app.quiz.view-cache.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryQuizViewCacheAdapter implements QuizViewCachePort {
+
+    private final LruCache<String, byte[]> entries;
+    private final LruCache<String, Long> userGenerations;
+    // Nunca se reutiliza un valor: una generación desalojada no puede resucitar entradas antiguas
+    private final AtomicLong generationSequence = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public InMemoryQuizViewCacheAdapter(
+            MeterRegistry meterRegistry,
+            @Value("${app.quiz.view-cache.max-entries:5000}") int maxEntries,
+            @Value("${app.quiz.view-cache.ttl:30m}") Duration ttl
+    ) {
+        this.entries = new LruCache<>(maxEntries, ttl);
+        this.userGenerations = new LruCache<>(maxEntries, ttl.multipliedBy(2));
+
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        FunctionCounter.builder("quiz.view.cache.evictions", entries, LruCache::evictionCount)
+                .tag("backend", "memory")
+                .description("Entries evicted from the quiz view cache")
+                .register(meterRegistry);
+        Gauge.builder("quiz.view.cache.size", entries, LruCache::size)
+                .tag("backend", "memory")
+                .description("Entries held in the quiz view cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public byte[] getOrLoad(String userId, String quizId, Supplier<byte[]> loader) {
+        // La clave se fija antes de cargar: si el usuario se invalida mientras tanto, lo cargado queda inalcanzable
+        String key = key(userId, quizId);
+        Optional<byte[]> cached = entries.get(key);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached.get();
+        }
+
+        misses.increment();
+        byte[] json = loader.get();
+        entries.put(key, json);
+        return json;
+    }
+
+    @Override
+    public void evictUser(String userId) {
+        userGenerations.put(userId, generationSequence.incrementAndGet());
+    }
+
+    private String key(String userId, String quizId) {
+        return userId + ':' + generation(userId) + ':' + quizId;
+    }
+
+    private long generation(String userId) {
+        synchronized (userGenerations) {
+            return userGenerations.get(userId).orElseGet(() -> {
+                long generation = generationSequence.incrementAndGet();
+                userGenerations.put(userId, generation);
+                return generation;
+            });
+        }
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("quiz.view.cache.requests")
+                .tag("backend", "memory")
+                .tag("result", result)
+                .description("Quiz view cache lookups")
+                .register(meterRegistry);
+    }
+}
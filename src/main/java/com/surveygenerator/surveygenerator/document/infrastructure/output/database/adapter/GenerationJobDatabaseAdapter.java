@@ -0,0 +1,109 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.adapter;
+
+import com.surveygenerator.surveygenerator.document.application.port.output.GenerationJobPort;
+import com.surveygenerator.surveygenerator.document.domain.model.GenerationJobFileModel;
+import com.surveygenerator.surveygenerator.document.domain.model.GenerationJobModel;
+import com.surveygenerator.surveygenerator.document.domain.model.JobStatus;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.GenerationJobContentEntity;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.GenerationJobEntity;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.mapper.GenerationJobEntityMapper;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.repository.GenerationJobContentRepository;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.repository.GenerationJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+@Component
+@RequiredArgsConstructor
+public class GenerationJobDatabaseAdapter implements GenerationJobPort {
+
+    private final GenerationJobRepository generationJobRepository;
+    private final GenerationJobContentRepository generationJobContentRepository;
+    private final GenerationJobEntityMapper generationJobEntityMapper;
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public GenerationJobModel save(GenerationJobModel job) {
+        var entity = generationJobEntityMapper.toEntity(job);
+        var savedEntity = generationJobRepository.save(entity);
+        return generationJobEntityMapper.toModel(savedEntity);
+    }
+
+    @Override
+    public Optional<GenerationJobModel> findById(String id) {
+        return generationJobRepository.findById(id)
+                .map(generationJobEntityMapper::toModel);
+    }
+
+    @Override
+    public List<GenerationJobModel> findAllByStatusIn(Collection<JobStatus> statuses) {
+        return generationJobRepository.findByStatusIn(statuses)
+                .stream()
+                .map(generationJobEntityMapper::toModel)
+                .toList();
+    }
+
+    @Override
+    public void updateStatus(String id, JobStatus status, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("status", status)
+                .set("error", error);
+        if (status == JobStatus.RUNNING) {
+            update.set("startedAt", now);
+        }
+        if (status.isFinished()) {
+            update.set("finishedAt", now);
+        }
+        mongoTemplate.updateFirst(byId(id), update, GenerationJobEntity.class);
+    }
+
+    @Override
+    public void updateFile(String id, int fileIndex, GenerationJobFileModel file) {
+        Update update = new Update()
+                .set("files." + fileIndex, generationJobEntityMapper.toFileEntity(file));
+        mongoTemplate.updateFirst(byId(id), update, GenerationJobEntity.class);
+    }
+
+    @Override
+    public void saveContents(String id, List<String> contents) {
+        LocalDateTime now = LocalDateTime.now();
+        generationJobContentRepository.saveAll(IntStream.range(0, contents.size())
+                .mapToObj(index -> GenerationJobContentEntity.builder()
+                        .id(contentId(id, index))
+                        .jobId(id)
+                        .fileIndex(index)
+                        .content(contents.get(index))
+                        .createdAt(now)
+                        .build())
+                .toList());
+    }
+
+    @Override
+    public Optional<String> findContent(String id, int fileIndex) {
+        return generationJobContentRepository.findById(contentId(id, fileIndex))
+                .map(GenerationJobContentEntity::getContent);
+    }
+
+    @Override
+    public void deleteContent(String id, int fileIndex) {
+        generationJobContentRepository.deleteById(contentId(id, fileIndex));
+    }
+
+    private String contentId(String id, int fileIndex) {
+        return id + ":" + fileIndex;
+    }
+
+    private Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+}
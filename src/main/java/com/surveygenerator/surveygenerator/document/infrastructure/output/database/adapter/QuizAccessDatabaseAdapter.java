@@ -2,33 +2,112 @@ package com.surveygenerator.surveygenerator.document.infrastructure.output.datab
 
 import com.surveygenerator.surveygenerator.document.application.port.output.QuizAccessDatabasePort;
 import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizSummaryModel;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.QuizEntity;
 import com.surveygenerator.surveygenerator.document.infrastructure.output.database.mapper.QuizEntityMapper;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.mapper.QuizEntityWriter;
 import com.surveygenerator.surveygenerator.document.infrastructure.output.database.repository.QuizRepository;
-import lombok.RequiredArgsConstructor;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class QuizAccessDatabaseAdapter implements QuizAccessDatabasePort {
 
     private final QuizRepository quizRepository;
     private final QuizEntityMapper quizEntityMapper;
+    private final QuizEntityWriter quizEntityWriter;
+    private final MongoTemplate mongoTemplate;
+    private final WriteConcern bulkWriteConcern;
+
+    public QuizAccessDatabaseAdapter(QuizRepository quizRepository,
+                                     QuizEntityMapper quizEntityMapper,
+                                     QuizEntityWriter quizEntityWriter,
+                                     MongoTemplate mongoTemplate,
+                                     @Value("${app.quiz.bulk-insert.write-concern:W1}") String bulkWriteConcern) {
+        this.quizRepository = quizRepository;
+        this.quizEntityMapper = quizEntityMapper;
+        this.quizEntityWriter = quizEntityWriter;
+        this.mongoTemplate = mongoTemplate;
+        this.bulkWriteConcern = WriteConcern.valueOf(bulkWriteConcern);
+        if (this.bulkWriteConcern == null) {
+            throw new IllegalArgumentException("Unknown write concern: " + bulkWriteConcern);
+        }
+    }
 
     @Override
     public QuizModel save(QuizModel quizModel) {
-        var entity = quizEntityMapper.toEntity(quizModel);
+        var entity = quizEntityWriter.toEntity(quizModel);
         var savedEntity = quizRepository.save(entity);
         return quizEntityMapper.toModel(savedEntity);
     }
 
     @Override
-    public List<QuizModel> findAllByUserId(String userId) {
-        return quizRepository.findByUserIdOrderByCreatedAtDesc(userId)
+    public void saveAll(List<QuizModel> quizModels) {
+        if (quizModels.isEmpty()) {
+            return;
+        }
+
+        // Se convierte directamente a Document: sin pasar por el repositorio ni volver a mapear a modelo
+        MongoConverter converter = mongoTemplate.getConverter();
+        List<Document> documents = quizModels.stream()
+                .map(model -> {
+                    // El id se genera aquí y no en el servidor para que el llamador pueda referenciar el quiz
+                    if (model.getId() == null) {
+                        model.setId(new ObjectId().toHexString());
+                    }
+                    Document document = new Document();
+                    converter.write(quizEntityWriter.toEntity(model), document);
+                    return document;
+                })
+                .toList();
+
+        // Unordered: el servidor no se detiene en el primer error y puede aplicar las escrituras en paralelo
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(QuizEntity.class))
+                .withWriteConcern(bulkWriteConcern)
+                .insertMany(documents, new InsertManyOptions().ordered(false));
+        log.debug("Inserted {} quizzes in bulk", documents.size());
+    }
+
+    @Override
+    public List<QuizSummaryModel> findSummariesByUserId(String userId,
+                                                        LocalDateTime afterCreatedAt,
+                                                        String afterId,
+                                                        int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (afterCreatedAt != null && afterId != null) {
+            // Keyset: elementos estrictamente posteriores al último de la página anterior
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(afterCreatedAt),
+                    Criteria.where("createdAt").is(afterCreatedAt).and("_id").lt(afterId));
+        }
+
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+                .limit(limit);
+        // Proyección: no se leen ni se mapean las preguntas
+        query.fields().include("statement", "createdAt");
+
+        return mongoTemplate.find(query, QuizEntity.class)
                 .stream()
-                .map(quizEntityMapper::toModel)
+                .map(quizEntityMapper::toSummaryModel)
                 .toList();
     }
 
@@ -37,4 +116,24 @@ public class QuizAccessDatabaseAdapter implements QuizAccessDatabasePort {
         return quizRepository.findByIdAndUserId(id, userId)
                 .map(quizEntityMapper::toModel);
     }
+
+    @Override
+    public Optional<byte[]> findResponseJsonByIdAndUserId(String id, String userId) {
+        if (!ObjectId.isValid(id)) {
+            return Optional.empty();
+        }
+
+        // RawBsonDocument: el documento no se decodifica, solo se copia el binario del campo proyectado
+        RawBsonDocument document = mongoTemplate.getCollection(mongoTemplate.getCollectionName(QuizEntity.class))
+                .withDocumentClass(RawBsonDocument.class)
+                .find(Filters.and(
+                        Filters.eq("_id", new ObjectId(id)),
+                        Filters.eq("userId", userId),
+                        Filters.eq("responseJsonVersion", QuizEntityWriter.RESPONSE_JSON_VERSION)))
+                .projection(Projections.include("responseJson"))
+                .first();
+
+        return Optional.ofNullable(document)
+                .map(raw -> raw.getBinary("responseJson").getData());
+    }
 }
@@ -0,0 +1,79 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.adapter;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.port.output.QuizGenerationCachePort;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.QuestionEntity;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.QuizGenerationCacheEntity;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.repository.QuizGenerationCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "app.ai.cache.mongo.enabled", havingValue = "true")
+@Slf4j
+public class QuizGenerationCacheDatabaseAdapter implements QuizGenerationCachePort {
+
+    private final QuizGenerationCacheRepository cacheRepository;
+    private final Duration ttl;
+
+    // Mismo TTL que la caché en memoria, para que ambos niveles caduquen a la vez
+    public QuizGenerationCacheDatabaseAdapter(QuizGenerationCacheRepository cacheRepository,
+                                              @Value("${app.ai.cache.ttl:24h}") Duration ttl) {
+        this.cacheRepository = cacheRepository;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Optional<QuizResponse> findByKey(String cacheKey) {
+        // El monitor TTL de MongoDB pasa cada minuto: se descartan también las entradas vencidas aún no borradas
+        return cacheRepository.findById(cacheKey)
+                .filter(entity -> entity.getExpiresAt() != null && entity.getExpiresAt().isAfter(Instant.now()))
+                .map(this::toResponse);
+    }
+
+    @Override
+    public void save(String cacheKey, QuizResponse quizResponse) {
+        try {
+            cacheRepository.save(toEntity(cacheKey, quizResponse));
+        } catch (RuntimeException e) {
+            // La caché es best-effort: un fallo al guardar no debe romper la generación
+            log.warn("Could not store generated quiz in MongoDB cache: {}", e.getMessage());
+        }
+    }
+
+    private QuizGenerationCacheEntity toEntity(String cacheKey, QuizResponse response) {
+        return QuizGenerationCacheEntity.builder()
+                .key(cacheKey)
+                .statement(response.statement())
+                .questions(response.questions().stream()
+                        .map(question -> QuestionEntity.builder()
+                                .question(question.question())
+                                .options(question.options().options())
+                                .answer(question.options().answer())
+                                .build())
+                        .toList())
+                .createdAt(LocalDateTime.now())
+                .expiresAt(Instant.now().plus(ttl))
+                .build();
+    }
+
+    private QuizResponse toResponse(QuizGenerationCacheEntity entity) {
+        return QuizResponse.builder()
+                .statement(entity.getStatement())
+                .questions(entity.getQuestions().stream()
+                        .map(question -> new QuizResponse.Question(
+                                question.getQuestion(),
+                                new QuizResponse.Question.QuestionOptions(
+                                        question.getOptions(),
+                                        question.getAnswer())))
+                        .toList())
+                .build();
+    }
+}
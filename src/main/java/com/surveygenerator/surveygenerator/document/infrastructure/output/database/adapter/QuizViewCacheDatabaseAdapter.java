@@ -0,0 +1,102 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.adapter;
+
+import com.surveygenerator.surveygenerator.document.application.port.output.QuizViewCachePort;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.QuizViewCacheEntity;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.repository.QuizViewCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Backend compartido entre instancias: una invalidación en cualquier instancia la ven todas
+@Component
+@ConditionalOnProperty(name = "app.quiz.view-cache.backend", havingValue = "mongo")
+@Slf4j
+public class QuizViewCacheDatabaseAdapter implements QuizViewCachePort {
+
+    private final QuizViewCacheRepository cacheRepository;
+    private final Duration ttl;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public QuizViewCacheDatabaseAdapter(QuizViewCacheRepository cacheRepository,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.quiz.view-cache.ttl:30m}") Duration ttl) {
+        this.cacheRepository = cacheRepository;
+        this.ttl = ttl;
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+    }
+
+    @Override
+    public byte[] getOrLoad(String userId, String quizId, Supplier<byte[]> loader) {
+        String key = key(userId, quizId);
+        Optional<byte[]> cached = find(key);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached.get();
+        }
+
+        misses.increment();
+        byte[] json = loader.get();
+        store(key, userId, json);
+        return json;
+    }
+
+    @Override
+    public void evictUser(String userId) {
+        try {
+            cacheRepository.deleteByUserId(userId);
+        } catch (RuntimeException e) {
+            // El quiz ya está guardado; como mucho se sirve una copia obsoleta hasta que venza el TTL
+            log.warn("Could not invalidate quiz view cache for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private Optional<byte[]> find(String key) {
+        try {
+            // El monitor TTL de MongoDB pasa cada minuto: se descartan también las entradas vencidas aún no borradas
+            return cacheRepository.findById(key)
+                    .filter(entity -> entity.getExpiresAt().isAfter(Instant.now()))
+                    .map(QuizViewCacheEntity::getJson);
+        } catch (RuntimeException e) {
+            log.warn("Could not read quiz view cache: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // Una carga que coincide con una invalidación puede dejar una copia obsoleta; el TTL acota cuánto dura
+    private void store(String key, String userId, byte[] json) {
+        try {
+            cacheRepository.save(QuizViewCacheEntity.builder()
+                    .key(key)
+                    .userId(userId)
+                    .json(json)
+                    .expiresAt(Instant.now().plus(ttl))
+                    .build());
+        } catch (RuntimeException e) {
+            // La caché es best-effort: un fallo al guardar no debe romper la lectura del quiz
+            log.warn("Could not store quiz in view cache: {}", e.getMessage());
+        }
+    }
+
+    private static String key(String userId, String quizId) {
+        return userId + ':' + quizId;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("quiz.view.cache.requests")
+                .tag("backend", "mongo")
+                .tag("result", result)
+                .description("Quiz view cache lookups")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,71 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.adapter;
+
+import com.surveygenerator.surveygenerator.document.application.port.output.ReactiveQuizAccessDatabasePort;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizSummaryModel;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.mapper.QuizEntityMapper;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.mapper.QuizEntityWriter;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.repository.ReactiveQuizRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveQuizAccessDatabaseAdapter implements ReactiveQuizAccessDatabasePort {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id"));
+
+    private final ReactiveQuizRepository reactiveQuizRepository;
+    private final QuizEntityMapper quizEntityMapper;
+    private final QuizEntityWriter quizEntityWriter;
+
+    @Override
+    public Mono<Void> saveAll(List<QuizModel> quizModels) {
+        if (quizModels.isEmpty()) {
+            return Mono.empty();
+        }
+
+        // insert en lugar de save: los quizzes son nuevos y no hace falta comprobar si existen.
+        // Mismo documento que el adaptador bloqueante, con el responseJson ya serializado
+        return reactiveQuizRepository.insert(quizModels.stream().map(quizEntityWriter::toEntity).toList())
+                .count()
+                .doOnNext(count -> log.debug("Inserted {} quizzes", count))
+                .then();
+    }
+
+    @Override
+    public Flux<QuizSummaryModel> findSummariesByUserId(String userId,
+                                                        LocalDateTime afterCreatedAt,
+                                                        String afterId,
+                                                        int limit) {
+        if (afterCreatedAt == null || afterId == null) {
+            return reactiveQuizRepository.findSummariesByUserId(userId, NEWEST_FIRST, Limit.of(limit))
+                    .map(quizEntityMapper::toSummaryModel);
+        }
+        if (!ObjectId.isValid(afterId)) {
+            return Flux.error(new IllegalArgumentException("Invalid history cursor"));
+        }
+
+        return reactiveQuizRepository.findSummariesByUserIdAfter(
+                        userId, afterCreatedAt, new ObjectId(afterId), NEWEST_FIRST, Limit.of(limit))
+                .map(quizEntityMapper::toSummaryModel);
+    }
+
+    @Override
+    public Mono<QuizModel> findByIdAndUserId(String id, String userId) {
+        return reactiveQuizRepository.findByIdAndUserId(id, userId)
+                .map(quizEntityMapper::toModel);
+    }
+}
@@ -0,0 +1,413 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.adapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoInterruptedException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.MongoWriteConcernException;
+import com.mongodb.bulk.BulkWriteError;
+import com.surveygenerator.surveygenerator.document.application.port.output.QuizAccessDatabasePort;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizSummaryModel;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.spool.QuizSpoolFile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind for quiz inserts. {@link #saveAll} journals the quizzes to a local spool file and
+ * returns; a background writer drains them in batches into MongoDB. Transient failures (network,
+ * timeouts, primary step-down) are retried with capped backoff for as long as they last, with
+ * the batch kept in the spool; permanent ones (validation, oversized documents) are moved to a
+ * dead-letter file in the spool format, so the writer never blocks on them. Quizzes still in the
+ * spool at shutdown are recovered on the next start. Ids are assigned up front so a retried
+ * insert is idempotent (duplicates are ignored). Reads include the user's quizzes that are not
+ * stored yet. Once {@code capacity} quizzes are pending, or if the spool cannot be written, new
+ * quizzes are saved synchronously instead, which pushes a MongoDB outage back to the callers.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "app.quiz.write-behind.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class WriteBehindQuizAccessDatabaseAdapter implements QuizAccessDatabasePort {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(500);
+    // Mismo orden que la consulta del historial: createdAt y _id descendentes
+    private static final Comparator<QuizSummaryModel> NEWEST_FIRST = Comparator
+            .comparing(QuizSummaryModel::getCreatedAt)
+            .thenComparing(QuizSummaryModel::getId)
+            .reversed();
+
+    private final QuizAccessDatabaseAdapter delegate;
+    private final QuizSpoolFile spool;
+    private final QuizSpoolFile deadLetters;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration maxBackoff;
+    private final Duration shutdownTimeout;
+    private final int compactEvery;
+
+    private final LinkedBlockingQueue<QuizModel> queue = new LinkedBlockingQueue<>();
+    // Todo lo aceptado y aún sin ack, incluido el lote que se está escribiendo: lo leen las consultas
+    private final Map<String, QuizModel> pending = new ConcurrentHashMap<>();
+    // Protege la pareja spool + cola para que la compactación vea exactamente lo pendiente
+    private final ReentrantLock spoolLock = new ReentrantLock();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private int acknowledgedSinceCompaction;
+
+    private final Counter fallbacks;
+    private final Counter retries;
+    private final Counter deadLettered;
+
+    public WriteBehindQuizAccessDatabaseAdapter(
+            QuizAccessDatabaseAdapter delegate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.quiz.write-behind.spool-path:./data/quiz-spool.jsonl}") Path spoolPath,
+            @Value("${app.quiz.write-behind.fsync:true}") boolean fsync,
+            @Value("${app.quiz.write-behind.capacity:10000}") int capacity,
+            @Value("${app.quiz.write-behind.batch-size:200}") int batchSize,
+            @Value("${app.quiz.write-behind.flush-interval:200ms}") Duration flushInterval,
+            @Value("${app.quiz.write-behind.max-backoff:30s}") Duration maxBackoff,
+            @Value("${app.quiz.write-behind.dead-letter-path:./data/quiz-dead-letter.jsonl}") Path deadLetterPath,
+            @Value("${app.quiz.write-behind.shutdown-timeout:10s}") Duration shutdownTimeout,
+            @Value("${app.quiz.write-behind.compact-every:1000}") int compactEvery
+    ) throws IOException {
+        this.delegate = delegate;
+        this.capacity = capacity;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushInterval = flushInterval;
+        this.maxBackoff = maxBackoff;
+        this.shutdownTimeout = shutdownTimeout;
+        this.compactEvery = compactEvery;
+
+        this.spool = new QuizSpoolFile(spoolPath, objectMapper, fsync);
+        this.deadLetters = new QuizSpoolFile(deadLetterPath, objectMapper, fsync);
+        List<QuizModel> recovered = spool.recover();
+        // Compacta al arrancar: descarta acks antiguos y una posible última línea a medias
+        spool.rewrite(recovered);
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} unsaved quiz(zes) from spool {}", recovered.size(), spoolPath);
+            queue.addAll(recovered);
+            recovered.forEach(quiz -> pending.put(quiz.getId(), quiz));
+        }
+
+        Gauge.builder("quiz.write-behind.queue.size", pending, Map::size)
+                .description("Quizzes accepted but not yet written to MongoDB")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("quiz.write-behind.fallbacks")
+                .description("Saves done synchronously because the write-behind queue was full or the spool failed")
+                .register(meterRegistry);
+        this.retries = Counter.builder("quiz.write-behind.retries")
+                .description("Failed MongoDB batch inserts that were retried")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("quiz.write-behind.dead-letters")
+                .description("Quizzes moved to the dead-letter file after a permanent failure")
+                .register(meterRegistry);
+
+        this.writer = Thread.ofPlatform().name("quiz-write-behind").daemon(false).start(this::runWriter);
+    }
+
+    @Override
+    public QuizModel save(QuizModel quizModel) {
+        return delegate.save(quizModel);
+    }
+
+    @Override
+    public void saveAll(List<QuizModel> quizModels) {
+        if (quizModels.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (QuizModel quiz : quizModels) {
+            if (quiz.getId() == null) {
+                quiz.setId(new ObjectId().toHexString());
+            }
+            // MongoDB guarda milisegundos: se trunca ya para que el orden del historial no cambie al escribirse
+            quiz.setCreatedAt((quiz.getCreatedAt() != null ? quiz.getCreatedAt() : now).truncatedTo(ChronoUnit.MILLIS));
+        }
+
+        spoolLock.lock();
+        try {
+            if (running && pending.size() + quizModels.size() <= capacity) {
+                spool.append(quizModels);
+                quizModels.forEach(quiz -> pending.put(quiz.getId(), quiz));
+                queue.addAll(quizModels);
+                return;
+            }
+            log.warn("Write-behind queue full or stopping, saving {} quiz(zes) synchronously", quizModels.size());
+        } catch (IOException e) {
+            log.warn("Could not append to quiz spool, saving {} quiz(zes) synchronously: {}", quizModels.size(), e.getMessage());
+        } finally {
+            spoolLock.unlock();
+        }
+
+        fallbacks.increment();
+        delegate.saveAll(quizModels);
+    }
+
+    @Override
+    public List<QuizSummaryModel> findSummariesByUserId(String userId, LocalDateTime afterCreatedAt, String afterId, int limit) {
+        // Primero lo pendiente: un quiz que se escribe y confirma entre las dos lecturas sigue apareciendo
+        List<QuizModel> unsaved = pendingOf(userId).stream()
+                .filter(quiz -> isAfterCursor(quiz, afterCreatedAt, afterId))
+                .toList();
+        List<QuizSummaryModel> stored = delegate.findSummariesByUserId(userId, afterCreatedAt, afterId, limit);
+        if (unsaved.isEmpty()) {
+            return stored;
+        }
+
+        // Un quiz ya insertado pero aún sin ack está en ambos lados
+        Map<String, QuizSummaryModel> merged = new LinkedHashMap<>();
+        stored.forEach(summary -> merged.put(summary.getId(), summary));
+        unsaved.forEach(quiz -> merged.putIfAbsent(quiz.getId(), QuizSummaryModel.builder()
+                .id(quiz.getId())
+                .statement(quiz.getStatement())
+                .createdAt(quiz.getCreatedAt())
+                .build()));
+        return merged.values().stream()
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Optional<QuizModel> findByIdAndUserId(String id, String userId) {
+        QuizModel unsaved = pending.get(id);
+        if (unsaved != null && Objects.equals(unsaved.getUserId(), userId)) {
+            return Optional.of(unsaved);
+        }
+        return delegate.findByIdAndUserId(id, userId);
+    }
+
+    // Un quiz pendiente aún no tiene JSON guardado: vacío, y el llamador lo lee con findByIdAndUserId
+    @Override
+    public Optional<byte[]> findResponseJsonByIdAndUserId(String id, String userId) {
+        if (pending.containsKey(id)) {
+            return Optional.empty();
+        }
+        return delegate.findResponseJsonByIdAndUserId(id, userId);
+    }
+
+    private List<QuizModel> pendingOf(String userId) {
+        return pending.values().stream()
+                .filter(quiz -> Objects.equals(quiz.getUserId(), userId))
+                .toList();
+    }
+
+    private static boolean isAfterCursor(QuizModel quiz, LocalDateTime afterCreatedAt, String afterId) {
+        if (afterCreatedAt == null || afterId == null) {
+            return true;
+        }
+        int byDate = quiz.getCreatedAt().compareTo(afterCreatedAt);
+        return byDate < 0 || byDate == 0 && quiz.getId().compareTo(afterId) < 0;
+    }
+
+    private void runWriter() {
+        while (running || !queue.isEmpty()) {
+            List<QuizModel> batch = new ArrayList<>(batchSize);
+            try {
+                QuizModel first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                // Solo se interrumpe al agotar el tiempo de apagado: lo pendiente sigue en el spool
+                break;
+            }
+
+            if (!writeWithRetry(batch)) {
+                break;
+            }
+            acknowledge(batch);
+        }
+        log.info("Quiz write-behind writer stopped with {} quiz(zes) left in the spool", queue.size());
+    }
+
+    // false solo si se interrumpió: el lote sigue en el spool. Si no, queda guardado o apartado.
+    // Los errores transitorios se reintentan sin límite: el lote ya es durable en el spool
+    private boolean writeWithRetry(List<QuizModel> batch) {
+        List<QuizModel> remaining = batch;
+        Duration backoff = INITIAL_BACKOFF.compareTo(maxBackoff) > 0 ? maxBackoff : INITIAL_BACKOFF;
+        while (true) {
+            try {
+                delegate.saveAll(remaining);
+                return true;
+            } catch (MongoBulkWriteException e) {
+                // Unordered: solo fallan los documentos de getWriteErrors; los duplicados son de un intento anterior
+                List<QuizModel> rejected = rejectedDocuments(remaining, e);
+                if (!rejected.isEmpty()) {
+                    deadLetter(rejected, e.getWriteErrors().getFirst().getMessage());
+                }
+                if (e.getWriteConcernError() == null) {
+                    return true;
+                }
+                // Error de write concern: transitorio. Al reintentar, lo ya insertado dará duplicado
+                remaining = without(remaining, rejected);
+                log.warn("Bulk quiz insert not acknowledged by the write concern, retrying in {}: {}", backoff, e.getMessage());
+            } catch (RuntimeException e) {
+                if (isInterruption(e)) {
+                    return false;
+                }
+                if (!isTransient(e)) {
+                    log.warn("Bulk quiz insert failed permanently: {}", e.getMessage());
+                    return isolate(remaining, e);
+                }
+                log.warn("Bulk quiz insert failed, retrying in {}: {}", backoff, e.getMessage());
+            }
+
+            if (remaining.isEmpty()) {
+                return true;
+            }
+            retries.increment();
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return false;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+        }
+    }
+
+    // Un error permanente del lote entero puede venir de un solo quiz: se reintentan uno a uno para aislarlo
+    private boolean isolate(List<QuizModel> batch, RuntimeException error) {
+        if (batch.size() == 1) {
+            deadLetter(batch, error.getMessage());
+            return true;
+        }
+        for (QuizModel quiz : batch) {
+            if (!writeWithRetry(List.of(quiz))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<QuizModel> rejectedDocuments(List<QuizModel> batch, MongoBulkWriteException error) {
+        return error.getWriteErrors().stream()
+                .filter(writeError -> ErrorCategory.fromErrorCode(writeError.getCode()) != ErrorCategory.DUPLICATE_KEY)
+                .map(BulkWriteError::getIndex)
+                .filter(index -> index < batch.size())
+                .map(batch::get)
+                .toList();
+    }
+
+    private static List<QuizModel> without(List<QuizModel> batch, List<QuizModel> removed) {
+        if (removed.isEmpty()) {
+            return batch;
+        }
+        Set<String> removedIds = new HashSet<>(removed.stream().map(QuizModel::getId).toList());
+        return batch.stream().filter(quiz -> !removedIds.contains(quiz.getId())).toList();
+    }
+
+    // Red, timeouts y cambios de primario se resuelven solos; validación o tamaño excesivo no
+    private static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoSocketException || cause instanceof MongoTimeoutException
+                    || cause instanceof MongoExecutionTimeoutException || cause instanceof MongoNotPrimaryException
+                    || cause instanceof MongoNodeIsRecoveringException || cause instanceof MongoWriteConcernException) {
+                return true;
+            }
+            if (cause instanceof MongoException mongoError
+                    && (mongoError.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)
+                    || mongoError.hasErrorLabel("RetryableWriteError"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInterruption(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoInterruptedException || cause instanceof InterruptedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // El fichero usa el formato del spool: se puede reinyectar copiándolo como spool con la aplicación parada
+    private void deadLetter(List<QuizModel> quizzes, String reason) {
+        deadLettered.increment(quizzes.size());
+        List<String> ids = quizzes.stream().map(QuizModel::getId).toList();
+        log.error("Moving {} quiz(zes) to the dead-letter file ({}): {}", quizzes.size(), reason, ids);
+        try {
+            deadLetters.append(quizzes);
+        } catch (IOException e) {
+            log.error("Could not write dead-letter quizzes {}, dropping them: {}", ids, e.getMessage());
+        }
+    }
+
+    private void acknowledge(List<QuizModel> batch) {
+        spoolLock.lock();
+        try {
+            spool.acknowledge(batch.stream().map(QuizModel::getId).toList());
+            batch.forEach(quiz -> pending.remove(quiz.getId()));
+            acknowledgedSinceCompaction += batch.size();
+            if (queue.isEmpty() || acknowledgedSinceCompaction >= compactEvery) {
+                spool.rewrite(new ArrayList<>(queue));
+                acknowledgedSinceCompaction = 0;
+            }
+        } catch (IOException e) {
+            // Sin el ack el quiz se reinsertaría tras un reinicio y MongoDB descartaría el duplicado
+            log.warn("Could not update quiz spool: {}", e.getMessage());
+        } finally {
+            spoolLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        try {
+            writer.join(shutdownTimeout.toMillis());
+            if (writer.isAlive()) {
+                writer.interrupt();
+                writer.join(1000);
+            }
+            spool.close();
+            deadLetters.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
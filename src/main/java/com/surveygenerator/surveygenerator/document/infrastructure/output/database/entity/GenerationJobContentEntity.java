@@ -0,0 +1,31 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Un documento por archivo: con el contenido dentro, un job de varios archivos de 2MB superaba los 16MB de MongoDB
+@Document(collection = "generation_job_contents")
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GenerationJobContentEntity {
+    @Id
+    private String id;  // jobId:índice del archivo
+
+    private String jobId;
+    private int fileIndex;
+    private String content;
+
+    @Indexed(expireAfter = "7d")  // Igual que el job: si no llega a procesarse, no queda huérfano
+    private LocalDateTime createdAt;
+}
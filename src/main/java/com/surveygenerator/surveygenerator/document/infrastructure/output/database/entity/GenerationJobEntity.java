@@ -0,0 +1,42 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity;
+
+import com.surveygenerator.surveygenerator.document.domain.model.JobMode;
+import com.surveygenerator.surveygenerator.document.domain.model.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Document(collection = "generation_jobs")
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GenerationJobEntity {
+    @Id
+    private String id;
+
+    private String userId;
+
+    @Indexed  // Índice para localizar jobs pendientes al arrancar
+    private JobStatus status;
+
+    private JobMode mode;
+    private String providerBatchId;
+
+    private List<GenerationJobFileEntity> files;
+    private String error;
+
+    @Indexed(expireAfter = "7d")  // Los jobs se conservan una semana
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,24 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity;
+
+import com.surveygenerator.surveygenerator.document.domain.model.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GenerationJobFileEntity {
+    private String fileName;
+    private JobStatus status;
+    private String error;
+    private String statement;
+    private List<QuestionEntity> questions;
+    private String quizId;
+}
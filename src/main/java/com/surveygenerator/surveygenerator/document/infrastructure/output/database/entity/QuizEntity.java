@@ -6,13 +6,15 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Document(collection = "quizzes")
+// Cubre el historial paginado por cursor: filtro por usuario y orden por fecha/_id descendente
+@CompoundIndex(name = "user_created_at_idx", def = "{'userId': 1, 'createdAt': -1, '_id': -1}")
 @Builder
 @Getter
 @Setter
@@ -22,7 +24,6 @@ public class QuizEntity {
     @Id
     private String id;
 
-    @Indexed  // Índice para búsquedas por usuario
     private String userId;
 
     private String statement;
@@ -30,4 +31,8 @@ public class QuizEntity {
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    // JSON canónico de QuizResponse guardado al insertar; se sirve tal cual sin mapear (null en quizzes antiguos)
+    private byte[] responseJson;
+    private Integer responseJsonVersion;
 }
@@ -0,0 +1,33 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Document(collection = "quiz_generation_cache")
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuizGenerationCacheEntity {
+    @Id
+    private String key;  // Hash del markdown normalizado + opciones del prompt
+
+    private String statement;
+    private List<QuestionEntity> questions;
+
+    private LocalDateTime createdAt;
+
+    @Indexed(expireAfter = "0s")  // MongoDB borra la entrada al llegar a expiresAt (createdAt + app.ai.cache.ttl)
+    private Instant expiresAt;
+}
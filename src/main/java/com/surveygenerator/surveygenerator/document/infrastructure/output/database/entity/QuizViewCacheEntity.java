@@ -0,0 +1,31 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document(collection = "quiz_view_cache")
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuizViewCacheEntity {
+    @Id
+    private String key;  // userId:quizId
+
+    @Indexed  // Para invalidar todos los quizzes de un usuario
+    private String userId;
+
+    private byte[] json;  // QuizResponse ya serializado
+
+    @Indexed(expireAfter = "0s")  // MongoDB borra la entrada al llegar a expiresAt
+    private Instant expiresAt;
+}
@@ -0,0 +1,83 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.mapper;
+
+import com.surveygenerator.surveygenerator.document.domain.model.GenerationJobFileModel;
+import com.surveygenerator.surveygenerator.document.domain.model.GenerationJobModel;
+import com.surveygenerator.surveygenerator.document.domain.model.JobMode;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.GenerationJobEntity;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.GenerationJobFileEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class GenerationJobEntityMapper {
+
+    private final QuizEntityMapper quizEntityMapper;
+
+    public GenerationJobModel toModel(GenerationJobEntity entity) {
+        return GenerationJobModel.builder()
+                .id(entity.getId())
+                .userId(entity.getUserId())
+                .status(entity.getStatus())
+                .mode(entity.getMode() != null ? entity.getMode() : JobMode.INTERACTIVE)
+                .providerBatchId(entity.getProviderBatchId())
+                .files(entity.getFiles().stream()
+                        .map(file -> toFileModel(file, entity.getUserId()))
+                        .toList())
+                .error(entity.getError())
+                .createdAt(entity.getCreatedAt())
+                .startedAt(entity.getStartedAt())
+                .finishedAt(entity.getFinishedAt())
+                .build();
+    }
+
+    public GenerationJobEntity toEntity(GenerationJobModel model) {
+        return GenerationJobEntity.builder()
+                .id(model.getId())
+                .userId(model.getUserId())
+                .status(model.getStatus())
+                .mode(model.getMode())
+                .providerBatchId(model.getProviderBatchId())
+                .files(model.getFiles().stream()
+                        .map(this::toFileEntity)
+                        .toList())
+                .error(model.getError())
+                .createdAt(model.getCreatedAt())
+                .startedAt(model.getStartedAt())
+                .finishedAt(model.getFinishedAt())
+                .build();
+    }
+
+    public GenerationJobFileEntity toFileEntity(GenerationJobFileModel model) {
+        QuizModel quiz = model.getQuiz();
+        return GenerationJobFileEntity.builder()
+                .fileName(model.getFileName())
+                .status(model.getStatus())
+                .error(model.getError())
+                .statement(quiz != null ? quiz.getStatement() : null)
+                .questions(quiz != null ? quiz.getQuestions().stream()
+                        .map(quizEntityMapper::toQuestionEntity)
+                        .toList() : null)
+                .quizId(model.getQuizId())
+                .build();
+    }
+
+    private GenerationJobFileModel toFileModel(GenerationJobFileEntity entity, String userId) {
+        QuizModel quiz = entity.getQuestions() == null ? null : QuizModel.builder()
+                .userId(userId)
+                .statement(entity.getStatement())
+                .questions(entity.getQuestions().stream()
+                        .map(quizEntityMapper::toQuestionModel)
+                        .toList())
+                .build();
+
+        return GenerationJobFileModel.builder()
+                .fileName(entity.getFileName())
+                .status(entity.getStatus())
+                .error(entity.getError())
+                .quiz(quiz)
+                .quizId(entity.getQuizId())
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.surveygenerator.surveygenerator.document.infrastructure.output.datab
 
 import com.surveygenerator.surveygenerator.document.domain.model.QuestionModel;
 import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizSummaryModel;
 import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.QuestionEntity;
 import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.QuizEntity;
 import org.springframework.stereotype.Component;
@@ -24,6 +25,14 @@ public class QuizEntityMapper {
                 .build();
     }
 
+    public QuizSummaryModel toSummaryModel(QuizEntity entity) {
+        return QuizSummaryModel.builder()
+                .id(entity.getId())
+                .statement(entity.getStatement())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+
     public QuizEntity toEntity(QuizModel model) {
         return QuizEntity.builder()
                 .id(model.getId())
@@ -37,7 +46,7 @@ public class QuizEntityMapper {
                 .build();
     }
 
-    private QuestionModel toQuestionModel(QuestionEntity entity) {
+    public QuestionModel toQuestionModel(QuestionEntity entity) {
         return QuestionModel.builder()
                 .question(entity.getQuestion())
                 .options(entity.getOptions())
@@ -45,7 +54,7 @@ public class QuizEntityMapper {
                 .build();
     }
 
-    private QuestionEntity toQuestionEntity(QuestionModel model) {
+    public QuestionEntity toQuestionEntity(QuestionModel model) {
         return QuestionEntity.builder()
                 .question(model.getQuestion())
                 .options(model.getOptions())
@@ -0,0 +1,52 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surveygenerator.surveygenerator.document.application.mapper.QuizMapper;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.QuizEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the {@link QuizEntity} stored for a new quiz, including the pre-serialized
+ * {@code responseJson} served by {@code GET /api/v1/quizzes/{id}}. Shared by the blocking and
+ * reactive adapters so both profiles write the same document.
+ */
+@Component
+@Slf4j
+public class QuizEntityWriter {
+
+    // Subir al cambiar la forma de QuizResponse: los JSON guardados con otra versión se ignoran
+    public static final int RESPONSE_JSON_VERSION = 1;
+
+    private final QuizEntityMapper quizEntityMapper;
+    private final QuizMapper quizMapper;
+    private final ObjectMapper objectMapper;
+    private final boolean storeResponseJson;
+
+    public QuizEntityWriter(QuizEntityMapper quizEntityMapper,
+                            QuizMapper quizMapper,
+                            ObjectMapper objectMapper,
+                            @Value("${app.quiz.pre-serialized-json.enabled:true}") boolean storeResponseJson) {
+        this.quizEntityMapper = quizEntityMapper;
+        this.quizMapper = quizMapper;
+        this.objectMapper = objectMapper;
+        this.storeResponseJson = storeResponseJson;
+    }
+
+    public QuizEntity toEntity(QuizModel model) {
+        QuizEntity entity = quizEntityMapper.toEntity(model);
+        if (storeResponseJson) {
+            try {
+                entity.setResponseJson(objectMapper.writeValueAsBytes(quizMapper.toResponse(model)));
+                entity.setResponseJsonVersion(RESPONSE_JSON_VERSION);
+            } catch (JsonProcessingException e) {
+                // Sin el JSON el quiz se sigue pudiendo leer por el camino con mapeo
+                log.warn("Could not pre-serialize quiz response: {}", e.getMessage());
+            }
+        }
+        return entity;
+    }
+}
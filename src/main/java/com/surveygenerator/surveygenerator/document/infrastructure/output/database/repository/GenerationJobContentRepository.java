@@ -0,0 +1,9 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.repository;
+
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.GenerationJobContentEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GenerationJobContentRepository extends MongoRepository<GenerationJobContentEntity, String> {
+}
@@ -0,0 +1,16 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.repository;
+
+import com.surveygenerator.surveygenerator.document.domain.model.JobStatus;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.GenerationJobEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GenerationJobRepository extends MongoRepository<GenerationJobEntity, String> {
+
+    // Jobs que no llegaron a terminar (p. ej. por un reinicio del proceso)
+    List<GenerationJobEntity> findByStatusIn(Collection<JobStatus> statuses);
+}
@@ -0,0 +1,9 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.repository;
+
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.QuizGenerationCacheEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuizGenerationCacheRepository extends MongoRepository<QuizGenerationCacheEntity, String> {
+}
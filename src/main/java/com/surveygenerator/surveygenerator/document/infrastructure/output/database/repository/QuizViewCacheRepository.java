@@ -0,0 +1,11 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.repository;
+
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.QuizViewCacheEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuizViewCacheRepository extends MongoRepository<QuizViewCacheEntity, String> {
+
+    void deleteByUserId(String userId);
+}
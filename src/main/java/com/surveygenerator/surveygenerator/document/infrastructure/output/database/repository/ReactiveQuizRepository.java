@@ -0,0 +1,29 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.repository;
+
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.QuizEntity;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReactiveQuizRepository extends ReactiveMongoRepository<QuizEntity, String> {
+
+    Mono<QuizEntity> findByIdAndUserId(String id, String userId);
+
+    // Proyección de resúmenes: no se leen las preguntas
+    @Query(value = "{ 'userId': ?0 }", fields = "{ 'statement': 1, 'createdAt': 1 }")
+    Flux<QuizEntity> findSummariesByUserId(String userId, Sort sort, Limit limit);
+
+    // Keyset: el _id se pasa como ObjectId porque en @Query no se convierte desde String
+    @Query(value = "{ 'userId': ?0, '$or': [ { 'createdAt': { '$lt': ?1 } }, { 'createdAt': ?1, '_id': { '$lt': ?2 } } ] }",
+            fields = "{ 'statement': 1, 'createdAt': 1 }")
+    Flux<QuizEntity> findSummariesByUserIdAfter(String userId, LocalDateTime afterCreatedAt, ObjectId afterId,
+                                                Sort sort, Limit limit);
+}
@@ -0,0 +1,100 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.metrics;
+
+import com.surveygenerator.surveygenerator.document.application.port.output.GenerationMetricsPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@link GenerationMetricsPort} through Micrometer. Every stage is recorded under
+ * {@code generation.stage.duration} with the same tag keys ({@code stage}, {@code provider},
+ * {@code deployment}, {@code outcome}), so stages can be compared and aggregated in Prometheus.
+ */
+@Component
+public class MicrometerGenerationMetricsAdapter implements GenerationMetricsPort {
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary documentSize;
+    private final DistributionSummary chunkTokens;
+
+    public MicrometerGenerationMetricsAdapter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.documentSize = DistributionSummary.builder("generation.document.size")
+                .description("Characters of markdown extracted from each uploaded file")
+                .baseUnit("characters")
+                .register(meterRegistry);
+        this.chunkTokens = DistributionSummary.builder("generation.chunk.tokens")
+                .description("Estimated prompt tokens per document chunk")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void record(Stage stage, String provider, String deployment, long nanos, boolean success) {
+        Timer.builder("generation.stage.duration")
+                .description("Latency of each stage of quiz generation")
+                .tag("stage", stage.tag())
+                .tag("provider", provider)
+                .tag("deployment", deployment)
+                .tag("outcome", outcome(success))
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordPipeline(String mode, long nanos, boolean success) {
+        Timer.builder("generation.pipeline.duration")
+                .description("End-to-end latency of a quiz generation request")
+                .tag("mode", mode)
+                .tag("outcome", outcome(success))
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordTimeToFirstToken(String provider, String deployment, long nanos) {
+        Timer.builder("ai.generation.time-to-first-token")
+                .description("Time from sending a streaming request to the first content token")
+                .tag("provider", provider)
+                .tag("deployment", deployment)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordTokens(String provider, String deployment, Integer promptTokens, Integer completionTokens) {
+        if (promptTokens != null && promptTokens > 0) {
+            tokenCounter(provider, deployment, "prompt").increment(promptTokens);
+        }
+        if (completionTokens != null && completionTokens > 0) {
+            tokenCounter(provider, deployment, "completion").increment(completionTokens);
+        }
+    }
+
+    @Override
+    public void recordDocumentSize(int characters) {
+        documentSize.record(characters);
+    }
+
+    @Override
+    public void recordChunkTokens(int tokens) {
+        chunkTokens.record(tokens);
+    }
+
+    private Counter tokenCounter(String provider, String deployment, String type) {
+        return Counter.builder("ai.generation.tokens")
+                .description("Tokens reported by the model provider")
+                .tag("provider", provider)
+                .tag("deployment", deployment)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static String outcome(boolean success) {
+        return success ? "success" : "error";
+    }
+}
@@ -0,0 +1,12 @@
+package com.surveygenerator.surveygenerator.user.application.port.output;
+
+import com.surveygenerator.surveygenerator.user.domain.model.UserModel;
+import reactor.core.publisher.Mono;
+
+// Variante no bloqueante de UserAccessDatabasePort para el perfil "reactive"
+public interface ReactiveUserAccessDatabasePort {
+    Mono<Boolean> existsByUsername(String username);
+    Mono<Boolean> existsByEmail(String email);
+    Mono<UserModel> save(UserModel userModel);
+    Mono<UserModel> findByUsername(String username);
+}
@@ -0,0 +1,56 @@
+package com.surveygenerator.surveygenerator.user.application.service;
+
+import com.surveygenerator.surveygenerator.user.application.dto.command.UserLoginRequest;
+import com.surveygenerator.surveygenerator.user.application.dto.command.UserRegisterRequest;
+import com.surveygenerator.surveygenerator.user.application.dto.response.UserLoginResponse;
+import com.surveygenerator.surveygenerator.user.application.dto.response.UserRegisterResponse;
+import com.surveygenerator.surveygenerator.user.application.mapper.UserMapper;
+import com.surveygenerator.surveygenerator.user.application.port.output.ReactiveUserAccessDatabasePort;
+import com.surveygenerator.surveygenerator.utils.JwtUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserService {
+
+    private final ReactiveUserAccessDatabasePort reactiveUserAccessDatabasePort;
+    private final UserMapper userMapper;
+    private final AuthenticationManager authManager;
+    private final JwtUtils jwtUtils;
+
+    public Mono<UserLoginResponse> login(UserLoginRequest request) {
+        // AuthenticationManager y BCrypt son bloqueantes: fuera de los hilos de la petición
+        return Mono.fromRunnable(() -> authManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(request.email(), request.password())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(reactiveUserAccessDatabasePort.findByUsername(request.email()))
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Invalid email or password")))
+                .map(user -> {
+                    String accessToken = jwtUtils.generateAccessToken(user);
+                    log.info("User with email {} success login", request.email());
+                    return new UserLoginResponse(accessToken);
+                });
+    }
+
+    public Mono<UserRegisterResponse> registerUser(UserRegisterRequest request) {
+        return reactiveUserAccessDatabasePort.existsByUsername(request.username())
+                .flatMap(usernameTaken -> usernameTaken
+                        ? Mono.<Boolean>error(new IllegalArgumentException("Username already exists"))
+                        : reactiveUserAccessDatabasePort.existsByEmail(request.email()))
+                .flatMap(emailTaken -> emailTaken
+                        ? Mono.error(new IllegalArgumentException("Email already exists"))
+                        // El hash de la contraseña es costoso en CPU
+                        : Mono.fromCallable(() -> userMapper.toUserModel(request)).subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(reactiveUserAccessDatabasePort::save)
+                .map(userMapper::toUserRegisterResponse);
+    }
+}
@@ -1,6 +1,7 @@
 package com.surveygenerator.surveygenerator.user.infrastructure.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,6 +18,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -28,13 +30,19 @@ public class AuthConfiguration {
     @Bean
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
-            AuthenticationProvider authenticationProvider) throws Exception {
+            AuthenticationProvider authenticationProvider,
+            @Value("${server.port:8080}") int serverPort,
+            @Value("${management.server.port:-1}") int managementPort) throws Exception {
 
         return http
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF for stateless API
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/v1/users/register", "/api/v1/users/login").permitAll()
-                        .requestMatchers("/api/v1/documents/upload").permitAll()
+                        .requestMatchers("/api/v1/documents/upload", "/api/v1/documents/upload/results", "/api/v1/documents/upload/stream").permitAll()
+                        .requestMatchers("/api/v1/jobs", "/api/v1/jobs/*").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Prometheus no envía JWT: el resto de Actuator solo queda abierto en el puerto interno de gestión
+                        .requestMatchers(onManagementPort(serverPort, managementPort)).permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session ->
@@ -44,6 +52,12 @@ public class AuthConfiguration {
                 .build();
     }
 
+    // Si el puerto de gestión no está separado no se abre nada: Actuator exige autenticación como el resto de la API
+    private static RequestMatcher onManagementPort(int serverPort, int managementPort) {
+        boolean separatePort = managementPort > 0 && managementPort != serverPort;
+        return request -> separatePort && request.getLocalPort() == managementPort;
+    }
+
     // Evita doble registro del filtro
     // Ya no se registra en el SecurityContext y no en el contenedor de filtros de Spring
     @Bean
@@ -1,6 +1,7 @@
 package com.surveygenerator.surveygenerator.user.infrastructure.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surveygenerator.surveygenerator.utils.JwtClaims;
 import com.surveygenerator.surveygenerator.utils.JwtUtils;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
@@ -8,10 +9,11 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -24,13 +26,27 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final UserActiveStatusCache userActiveStatusCache;
+    private final boolean claimsAuthentication;
+
+    public JwtAuthorizationFilter(
+            JwtUtils jwtUtils,
+            UserDetailsService userDetailsService,
+            UserActiveStatusCache userActiveStatusCache,
+            @Value("${app.security.jwt.claims-authentication:true}") boolean claimsAuthentication
+    ) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+        this.userActiveStatusCache = userActiveStatusCache;
+        this.claimsAuthentication = claimsAuthentication;
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -38,7 +54,7 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         String token = extractTokenFromHeader(request);
-        String username = null;
+        JwtClaims claims;
 
         if (token == null) {
             filterChain.doFilter(request, response);
@@ -46,7 +62,7 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
         }
 
         try {
-            username = jwtUtils.getUsernameFromToken(token);
+            claims = jwtUtils.parseClaims(token);
         } catch (SignatureException e) {
             handleException(response, "Token invalido");
             return;
@@ -58,9 +74,20 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
             return;
         }
 
+        String username = claims.username();
+
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails;
+            if (claimsAuthentication) {
+                if (!userActiveStatusCache.isActive(username)) {
+                    handleException(response, "Usuario deshabilitado");
+                    return;
+                }
+                userDetails = fromClaims(claims);
+            } else {
+                userDetails = userDetailsService.loadUserByUsername(username);
+            }
 
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                     userDetails,
@@ -74,6 +101,19 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     }
 
+    // El token ya está firmado por nosotros y contiene userId y roles: no hace falta consultar MongoDB
+    private CustomUserDetails fromClaims(JwtClaims claims) {
+        return new CustomUserDetails(
+                claims.userId(),
+                claims.username(),
+                null,  // La contraseña no viaja en el token ni se necesita tras el login
+                claims.authorities().stream()
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .collect(Collectors.toSet()),
+                true
+        );
+    }
+
     public static String extractTokenFromHeader(HttpServletRequest request) {
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
@@ -0,0 +1,50 @@
+package com.surveygenerator.surveygenerator.user.infrastructure.config;
+
+import com.surveygenerator.surveygenerator.user.application.port.output.UserAccessDatabasePort;
+import com.surveygenerator.surveygenerator.user.domain.model.UserModel;
+import com.surveygenerator.surveygenerator.utils.LruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Con autenticación por claims, cubre a los usuarios desactivados consultando MongoDB como mucho una vez por TTL
+@Component
+@Slf4j
+public class UserActiveStatusCache {
+
+    private final UserAccessDatabasePort userAccessDatabasePort;
+    private final boolean enabled;
+    private final LruCache<String, Boolean> activeByUsername;
+
+    public UserActiveStatusCache(
+            UserAccessDatabasePort userAccessDatabasePort,
+            @Value("${app.security.jwt.active-check.enabled:true}") boolean enabled,
+            @Value("${app.security.jwt.active-check.ttl:60s}") Duration ttl,
+            @Value("${app.security.jwt.active-check.max-entries:10000}") int maxEntries
+    ) {
+        this.userAccessDatabasePort = userAccessDatabasePort;
+        this.enabled = enabled;
+        this.activeByUsername = new LruCache<>(maxEntries, ttl);
+    }
+
+    public boolean isActive(String username) {
+        if (!enabled) {
+            return true;
+        }
+
+        return activeByUsername.get(username).orElseGet(() -> {
+            boolean active = userAccessDatabasePort.findByUsername(username)
+                    .map(UserModel::isActive)
+                    .orElse(false);
+            log.debug("Loaded active status for user {}: {}", username, active);
+            activeByUsername.put(username, active);
+            return active;
+        });
+    }
+
+    public void invalidate(String username) {
+        activeByUsername.invalidate(username);
+    }
+}
@@ -0,0 +1,42 @@
+package com.surveygenerator.surveygenerator.user.infrastructure.input.controller;
+
+import com.surveygenerator.surveygenerator.user.application.dto.command.UserLoginRequest;
+import com.surveygenerator.surveygenerator.user.application.dto.command.UserRegisterRequest;
+import com.surveygenerator.surveygenerator.user.application.dto.response.UserLoginResponse;
+import com.surveygenerator.surveygenerator.user.application.dto.response.UserRegisterResponse;
+import com.surveygenerator.surveygenerator.user.application.service.ReactiveUserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserController {
+
+    private final ReactiveUserService reactiveUserService;
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<UserRegisterResponse>> registerUser(
+            @RequestBody UserRegisterRequest request
+    ) {
+        log.info("Registering user with email: {}", request.email());
+        return reactiveUserService.registerUser(request).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<UserLoginResponse>> loginUser(
+            @RequestBody UserLoginRequest request
+    ) {
+        log.info("User login attempt with email: {}", request.email());
+        return reactiveUserService.login(request).map(ResponseEntity::ok);
+    }
+}
@@ -7,6 +7,7 @@ import com.surveygenerator.surveygenerator.user.application.dto.response.UserReg
 import com.surveygenerator.surveygenerator.user.application.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/v1/users")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 public class UserController {
@@ -0,0 +1,45 @@
+package com.surveygenerator.surveygenerator.user.infrastructure.output.database.adapter;
+
+import com.surveygenerator.surveygenerator.user.application.port.output.ReactiveUserAccessDatabasePort;
+import com.surveygenerator.surveygenerator.user.domain.model.UserModel;
+import com.surveygenerator.surveygenerator.user.infrastructure.output.database.mapper.UserEntityMapper;
+import com.surveygenerator.surveygenerator.user.infrastructure.output.database.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserAccessDatabaseAdapter implements ReactiveUserAccessDatabasePort {
+
+    private final ReactiveUserRepository reactiveUserRepository;
+    private final UserEntityMapper userEntityMapper;
+
+    @Override
+    public Mono<Boolean> existsByUsername(String username) {
+        return reactiveUserRepository.existsByUsername(username);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return reactiveUserRepository.existsByEmail(email);
+    }
+
+    @Override
+    public Mono<UserModel> save(UserModel userModel) {
+        return Mono.fromSupplier(() -> userEntityMapper.toEntity(userModel))
+                .doOnNext(entity -> log.info("Saving user: {}", entity.getEmail()))
+                .flatMap(reactiveUserRepository::save)
+                .map(userEntityMapper::toModel);
+    }
+
+    @Override
+    public Mono<UserModel> findByUsername(String username) {
+        return reactiveUserRepository.findByUsername(username)
+                .map(userEntityMapper::toModel);
+    }
+}
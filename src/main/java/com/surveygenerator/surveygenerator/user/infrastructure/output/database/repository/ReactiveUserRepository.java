@@ -0,0 +1,11 @@
+package com.surveygenerator.surveygenerator.user.infrastructure.output.database.repository;
+
+import com.surveygenerator.surveygenerator.user.infrastructure.output.database.entity.UserEntity;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<UserEntity, String> {
+    Mono<UserEntity> findByUsername(String username);
+    Mono<Boolean> existsByUsername(String username);
+    Mono<Boolean> existsByEmail(String email);
+}
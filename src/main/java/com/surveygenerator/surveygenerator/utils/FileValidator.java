@@ -12,6 +12,7 @@ import java.util.List;
 public class FileValidator {
 
     private static final String[] ALLOWED_EXTENSIONS = {".md"};
+    private static final String ARCHIVE_EXTENSION = ".zip";
 
     public ValidatorResult<List<MultipartFile>> validateFiles(List<MultipartFile> files) {
         log.debug("Validating multipart file upload");
@@ -54,6 +55,23 @@ public class FileValidator {
         return ValidatorResult.success(file);
     }
 
+    public ValidatorResult<MultipartFile> validateArchive(MultipartFile archive) {
+        log.debug("Validating archive upload");
+
+        if (archive == null || archive.isEmpty()) {
+            log.warn("No archive found in request or archive is empty");
+            return ValidatorResult.error("No archive found in request or archive is empty");
+        }
+
+        String filename = archive.getOriginalFilename();
+        if (filename == null || !filename.toLowerCase().endsWith(ARCHIVE_EXTENSION)) {
+            log.warn("Invalid archive extension for file: {}", filename);
+            return ValidatorResult.error("Only " + ARCHIVE_EXTENSION + " archives are allowed");
+        }
+
+        return ValidatorResult.success(archive);
+    }
+
     private ValidatorResult<Void> validateFileExtension(String filename) {
         if (filename == null || filename.trim().isEmpty()) {
             log.warn("Filename is null or empty");
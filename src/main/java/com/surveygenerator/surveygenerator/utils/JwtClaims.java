@@ -0,0 +1,13 @@
+package com.surveygenerator.surveygenerator.utils;
+
+import java.time.Instant;
+import java.util.Set;
+
+// Vista tipada de los claims que emite JwtUtils.generateAccessToken
+public record JwtClaims(
+        String username,
+        String userId,
+        String email,
+        Set<String> authorities,
+        Instant expiresAt
+) {}
@@ -1,14 +1,26 @@
 package com.surveygenerator.surveygenerator.utils;
 
 import com.surveygenerator.surveygenerator.user.domain.model.UserModel;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 @Slf4j
@@ -16,6 +28,23 @@ public class JwtUtils {
     private final SecretKey secretKey = Jwts.SIG.HS256.key().build();
     private final Long expirationTime = 86400000L; // 1 day in milliseconds
 
+    // El parser es inmutable y thread-safe: se construye una sola vez
+    private final JwtParser jwtParser = Jwts.parser()
+            .verifyWith(secretKey)
+            .build();
+
+    // Tokens ya verificados, por hash del token; cada entrada caduca con el exp del propio token
+    private final LruCache<String, JwtClaims> verifiedTokens;
+
+    public JwtUtils(
+            @Value("${app.security.jwt.verified-cache.enabled:true}") boolean verifiedCacheEnabled,
+            @Value("${app.security.jwt.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries
+    ) {
+        this.verifiedTokens = verifiedCacheEnabled
+                ? new LruCache<>(verifiedCacheMaxEntries, Duration.ofMillis(expirationTime))
+                : null;
+    }
+
     public String generateAccessToken(UserModel user) {
         log.info("Generating access token for user: {}", user.getEmail());
         return generateToken(getExtraClaims(user), user);
@@ -39,21 +68,52 @@ public class JwtUtils {
                 .compact();
     }
 
+    // Verifica la firma una sola vez y devuelve todos los claims del token
+    public JwtClaims parseClaims(String token) {
+        if (verifiedTokens == null) {
+            return toJwtClaims(jwtParser.parseSignedClaims(token).getPayload());
+        }
+
+        String tokenHash = sha256(token);
+        Optional<JwtClaims> cached = verifiedTokens.get(tokenHash);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        JwtClaims claims = toJwtClaims(jwtParser.parseSignedClaims(token).getPayload());
+        verifiedTokens.put(tokenHash, claims, claims.expiresAt());
+        return claims;
+    }
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return parseClaims(token).username();
     }
 
     public String getUserIdFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("userId", String.class);
+        return parseClaims(token).userId();
+    }
+
+    private JwtClaims toJwtClaims(Claims claims) {
+        Collection<?> authorities = claims.get("authorities", Collection.class);
+        Set<String> roles = authorities == null ? Set.of() : authorities.stream()
+                .map(String::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                claims.get("email", String.class),
+                roles,
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
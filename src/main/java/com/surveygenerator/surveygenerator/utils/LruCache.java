@@ -0,0 +1,81 @@
+package com.surveygenerator.surveygenerator.utils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small thread-safe LRU cache with a per-entry expiry. Entries are evicted when the cache
+ * grows past {@code maxSize} (least recently used first) or lazily once they expire.
+ */
+public class LruCache<K, V> {
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    private final AtomicLong evictions = new AtomicLong();
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+    public LruCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public LruCache(int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                boolean evict = size() > LruCache.this.maxSize;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    public synchronized Optional<V> get(K key) {
+        CacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(clock.instant())) {
+            entries.remove(key);
+            evictions.incrementAndGet();
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    public void put(K key, V value) {
+        put(key, value, clock.instant().plus(ttl));
+    }
+
+    public synchronized void put(K key, V value, Instant expiresAt) {
+        entries.put(key, new CacheEntry<>(value, expiresAt));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    private record CacheEntry<V>(V value, Instant expiresAt) {
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
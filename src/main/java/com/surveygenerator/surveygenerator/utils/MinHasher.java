@@ -0,0 +1,93 @@
+package com.surveygenerator.surveygenerator.utils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over word shingles, for estimating the Jaccard similarity of two texts.
+ * Text is case-folded and stripped of accents and punctuation before it is split into words,
+ * so formatting-only edits do not change the signature. Two signatures are comparable only if
+ * they were built with the same number of hashes, shingle size and seed.
+ */
+public final class MinHasher {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int shingleSize;
+    private final long[] seeds;
+
+    public MinHasher(int numHashes, int shingleSize, long seed) {
+        if (numHashes < 1 || shingleSize < 1) {
+            throw new IllegalArgumentException("numHashes and shingleSize must be positive");
+        }
+        this.shingleSize = shingleSize;
+        this.seeds = new SplittableRandom(seed).longs(numHashes).toArray();
+    }
+
+    public int numHashes() {
+        return seeds.length;
+    }
+
+    public long[] signature(String text) {
+        long[] signature = new long[seeds.length];
+        // -1 es el máximo sin signo: cualquier hash lo sustituye
+        Arrays.fill(signature, -1L);
+
+        List<String> words = TextNormalizer.words(text);
+        if (words.isEmpty()) {
+            return signature;
+        }
+        int size = Math.min(shingleSize, words.size());
+        for (int start = 0; start + size <= words.size(); start++) {
+            long shingle = shingleHash(words, start, size);
+            for (int i = 0; i < seeds.length; i++) {
+                long hash = mix(shingle ^ seeds[i]);
+                if (Long.compareUnsigned(hash, signature[i]) < 0) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // Fracción de posiciones iguales: estimador insesgado de la similitud de Jaccard entre los conjuntos de shingles
+    public static double similarity(long[] a, long[] b) {
+        if (a.length != b.length || a.length == 0) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    // Finalizador de MurmurHash3: reparte bien incluso entradas muy parecidas
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    // FNV-1a sobre las palabras del shingle, separadas por un carácter que no aparece en ellas
+    private static long shingleHash(List<String> words, int start, int size) {
+        long hash = FNV_OFFSET;
+        for (int i = start; i < start + size; i++) {
+            String word = words.get(i);
+            for (int c = 0; c < word.length(); c++) {
+                hash ^= word.charAt(c);
+                hash *= FNV_PRIME;
+            }
+            hash ^= ' ';
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,36 @@
+package com.surveygenerator.surveygenerator.utils;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical form of free text for comparisons that should ignore formatting: accents, case,
+ * punctuation and runs of whitespace are folded away, so "¿Qué es X?" and "que es x" compare
+ * equal. Used for question deduplication, answer matching and MinHash shingling.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        // NFKD separa las tildes del carácter base para poder quitarlas
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return NON_WORD.matcher(folded).replaceAll(" ").strip();
+    }
+
+    public static List<String> words(String text) {
+        String normalized = normalize(text);
+        return normalized.isEmpty() ? List.of() : List.of(normalized.split(" "));
+    }
+}
@@ -0,0 +1,25 @@
+package com.surveygenerator.surveygenerator.utils;
+
+/**
+ * Cheap token count estimate for prompt budgeting. GPT-style tokenizers average roughly four
+ * characters per token for English prose and markdown, which is close enough for sizing chunks
+ * without pulling in a tokenizer.
+ */
+public final class TokenEstimator {
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    public static int charsFor(int tokens) {
+        return tokens * CHARS_PER_TOKEN;
+    }
+}
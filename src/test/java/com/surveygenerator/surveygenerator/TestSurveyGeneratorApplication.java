@@ -1,11 +1,12 @@
 package com.surveygenerator.surveygenerator;
 
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config.StubAiBackendConfiguration;
 import org.springframework.boot.SpringApplication;
 
 public class TestSurveyGeneratorApplication {
 
     public static void main(String[] args) {
-        SpringApplication.from(SurveyGeneratorApplication::main).with(TestcontainersConfiguration.class).run(args);
+        SpringApplication.from(SurveyGeneratorApplication::main).with(TestcontainersConfiguration.class, StubAiBackendConfiguration.class).run(args);
     }
 
 }
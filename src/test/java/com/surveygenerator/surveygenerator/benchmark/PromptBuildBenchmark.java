@@ -0,0 +1,101 @@
+package com.surveygenerator.surveygenerator.benchmark;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.dto.SurveyPromptOptions;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.strategy.CompiledQuizPrompt;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.strategy.DefaultPrompt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.ai.azure.openai.AzureOpenAiChatOptions;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a quiz prompt the way {@code DefaultPrompt} used to (template parsed, system
+ * prompt read and JSON schema generated on every call) against the precompiled skeletons.
+ * Run {@link #main} from the test classpath; the GC profiler reports bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptBuildBenchmark {
+
+    private Resource generateQuizPrompt;
+    private Resource systemPrompt;
+    private String document;
+    private DefaultPrompt defaultPrompt;
+    private String format;
+
+    @Setup
+    public void setUp() {
+        generateQuizPrompt = new ClassPathResource("static/prompt/GenerateQuizPrompt");
+        systemPrompt = new ClassPathResource("static/prompt/ExpertSystemPrompt");
+        document = "## Section\n\nSome markdown paragraph with `code` and **bold** text.\n\n".repeat(300);
+
+        defaultPrompt = new DefaultPrompt(new CompiledQuizPrompt(generateQuizPrompt, systemPrompt,
+                new ClassPathResource("static/prompt/QuizInstructionsPrompt"),
+                new ClassPathResource("static/prompt/QuizDocumentPrompt")));
+        format = new BeanOutputConverter<>(QuizResponse.class).getFormat();
+    }
+
+    @Benchmark
+    public Prompt legacyPerCallCompilation() {
+        var outputConverter = new BeanOutputConverter<>(QuizResponse.class);
+        AzureOpenAiChatOptions options = AzureOpenAiChatOptions.builder()
+                .deploymentName("gpt-5-nano")
+                .build();
+
+        PromptTemplate promptTemplate = new PromptTemplate(generateQuizPrompt);
+        Message userMessage = promptTemplate.createMessage(Map.of(
+                "format", outputConverter.getFormat(),
+                "document", document,
+                "q", 10,
+                "o", 5));
+        SystemMessage systemMessage = new SystemMessage(systemPrompt);
+
+        return new Prompt(List.of(systemMessage, userMessage), options);
+    }
+
+    @Benchmark
+    public Prompt precompiledSkeleton() {
+        return defaultPrompt.generatePrompt(SurveyPromptOptions.builder()
+                .numberOfQuestions(10)
+                .numberOfOptionsPerQuestion(5)
+                .markdownContent(document)
+                .format(format)
+                .deploymentName("gpt-5-nano")
+                .build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PromptBuildBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,134 @@
+package com.surveygenerator.surveygenerator.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surveygenerator.surveygenerator.document.application.mapper.QuizMapper;
+import com.surveygenerator.surveygenerator.document.domain.model.QuestionModel;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.entity.QuizEntity;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.mapper.QuizEntityMapper;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the two ways {@code GET /api/v1/quizzes/{id}} can build its body from the bytes the
+ * driver receives. The mapped path decodes BSON into a {@code Document}, then into a
+ * {@code QuizEntity}, a {@code QuizModel} and a {@code QuizResponse}, and finally serializes it
+ * with Jackson. The pre-serialized path reads the {@code responseJson} binary from a
+ * {@code RawBsonDocument}. Run {@link #main} from the test classpath; the GC profiler reports
+ * bytes allocated per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuizReadPathBenchmark {
+
+    private final DocumentCodec documentCodec = new DocumentCodec();
+
+    private MappingMongoConverter converter;
+    private QuizEntityMapper quizEntityMapper;
+    private QuizMapper quizMapper;
+    private ObjectMapper objectMapper;
+
+    // Lo que llega del servidor en cada caso: el documento completo o solo la proyección de responseJson
+    private byte[] fullDocument;
+    private byte[] projectedDocument;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Mismas conversiones que configura Spring Boot (LocalDateTime como tipo simple, etc.)
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        quizEntityMapper = new QuizEntityMapper();
+        quizMapper = new QuizMapper();
+        objectMapper = new ObjectMapper();
+
+        QuizModel quiz = QuizModel.builder()
+                .id(new ObjectId().toHexString())
+                .userId(new ObjectId().toHexString())
+                .statement("Procesos e hilos del sistema operativo")
+                .questions(IntStream.range(0, 10)
+                        .mapToObj(i -> QuestionModel.builder()
+                                .question("¿Qué ocurre con la memoria compartida entre hilos en el caso " + i + "?")
+                                .options(List.of(
+                                        "Cada hilo recibe una copia privada del espacio de direcciones",
+                                        "Todos los hilos del proceso comparten el mismo espacio de direcciones",
+                                        "El sistema operativo serializa cada acceso a memoria",
+                                        "Solo el hilo principal puede escribir en el montículo"))
+                                .answer("Todos los hilos del proceso comparten el mismo espacio de direcciones")
+                                .build())
+                        .toList())
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        QuizEntity entity = quizEntityMapper.toEntity(quiz);
+        byte[] responseJson = objectMapper.writeValueAsBytes(quizMapper.toResponse(quiz));
+        entity.setResponseJson(responseJson);
+        entity.setResponseJsonVersion(1);
+
+        Document document = new Document();
+        converter.write(entity, document);
+        fullDocument = toBytes(document);
+        projectedDocument = toBytes(new Document("_id", document.get("_id")).append("responseJson", responseJson));
+    }
+
+    @Benchmark
+    public byte[] mappedReadPath() throws Exception {
+        Document document = new RawBsonDocument(fullDocument).decode(documentCodec);
+        QuizEntity entity = converter.read(QuizEntity.class, document);
+        QuizModel model = quizEntityMapper.toModel(entity);
+        return objectMapper.writeValueAsBytes(quizMapper.toResponse(model));
+    }
+
+    @Benchmark
+    public byte[] preSerializedReadPath() {
+        return new RawBsonDocument(projectedDocument).getBinary("responseJson").getData();
+    }
+
+    private byte[] toBytes(Document document) {
+        RawBsonDocument raw = new RawBsonDocument(document, documentCodec);
+        byte[] bytes = new byte[raw.getByteBuffer().remaining()];
+        raw.getByteBuffer().get(bytes);
+        return bytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QuizReadPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
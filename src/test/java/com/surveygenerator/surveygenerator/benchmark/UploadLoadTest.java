@@ -0,0 +1,116 @@
+package com.surveygenerator.surveygenerator.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load test for {@code POST /api/v1/documents/upload}, used to compare platform and
+ * virtual request threads. Start the app twice against the stub backend, so every generation
+ * takes a fixed, slow time without calling Azure. The stub lives on the test classpath, so the
+ * app runs as {@code TestSurveyGeneratorApplication} (MongoDB from Testcontainers):
+ * <pre>
+ *   SPRING_PROFILES_ACTIVE=dev                 APP_AI_ROUTER_STUB_ENABLED=true APP_AI_ROUTER_STUB_LATENCY=5s ./mvnw spring-boot:test-run
+ *   SPRING_PROFILES_ACTIVE=dev,virtual-threads APP_AI_ROUTER_STUB_ENABLED=true APP_AI_ROUTER_STUB_LATENCY=5s ./mvnw spring-boot:test-run
+ * </pre>
+ * Then run {@link #main} from the test classpath with {@code [baseUrl] [concurrency] [requests]}.
+ * With a 5s generation and Tomcat's default 200 platform threads, throughput caps at about 40
+ * req/s and latency grows with concurrency. On virtual threads it keeps scaling until the AI
+ * limiter or the connection limits kick in. Also compare {@code jvm.threads.live} and
+ * {@code jvm.threads.virtual.pinned} on the management port ({@code :8081/actuator/metrics}).
+ */
+public class UploadLoadTest {
+
+    private static final String BOUNDARY = "load-test-" + UUID.randomUUID();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        URI uri = URI.create(baseUrl + "/api/v1/documents/upload");
+
+        AtomicInteger remaining = new AtomicInteger(requests);
+        AtomicInteger failures = new AtomicInteger();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(requests));
+
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri)
+                                            .timeout(Duration.ofMinutes(5))
+                                            .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                                            .POST(HttpRequest.BodyPublishers.ofByteArray(multipartBody()))
+                                            .build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<Long> sorted = latencies.stream().sorted().toList();
+        System.out.printf("requests=%d concurrency=%d failures=%d elapsed=%.1fs throughput=%.1f req/s%n",
+                sorted.size(), concurrency, failures.get(), seconds, sorted.size() / seconds);
+        System.out.printf("latency ms: p50=%d p95=%d p99=%d max=%d%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99), percentile(sorted, 1.0));
+    }
+
+    private static long percentile(List<Long> sorted, double quantile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.size() - 1, Math.ceil(quantile * sorted.size()) - 1);
+        return sorted.get(Math.max(0, index)) / 1_000_000;
+    }
+
+    // Cada petición lleva un documento distinto para que no la resuelva la caché de generaciones
+    private static byte[] multipartBody() {
+        String markdown = "Referencia " + UUID.randomUUID() + "\n\n" + """
+                # Procesos del sistema operativo
+
+                Un proceso es un programa en ejecución con su propio espacio de direcciones.
+                Los hilos de un mismo proceso comparten memoria y se planifican de forma independiente.
+                El planificador decide qué hilo ocupa cada núcleo y durante cuánto tiempo.
+                """;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"files\"; filename=\"load-test.md\"\r\n"
+                + "Content-Type: text/markdown\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(markdown.getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+}
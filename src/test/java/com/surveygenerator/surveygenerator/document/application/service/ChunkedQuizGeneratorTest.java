@@ -0,0 +1,201 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.application.port.output.GenerationMetricsPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkedQuizGeneratorTest {
+
+    private static final String SMALL = "# Corto\nCabe en un único prompt.\n";
+    private static final String LARGE = section("Uno") + section("Dos");
+
+    private final FakeAiProcessor ai = new FakeAiProcessor();
+    private final RecordingMetrics metrics = new RecordingMetrics();
+    private final GenerationTaskExecutor executor = new GenerationTaskExecutor(true, 4, 16);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void smallDocumentIsGeneratedInOneCall() {
+        QuizResponse response = generator(true).generate(SMALL);
+
+        assertEquals("completo", response.statement());
+        assertEquals(List.of(SMALL), ai.wholeDocumentCalls);
+        assertTrue(ai.chunkCalls.isEmpty());
+        assertTrue(metrics.stages.isEmpty());
+    }
+
+    @Test
+    void disabledChunkingSendsLargeDocumentsWhole() {
+        ChunkedQuizGenerator generator = generator(false);
+
+        assertFalse(generator.needsChunking(LARGE));
+        generator.generate(LARGE);
+
+        assertEquals(1, ai.wholeDocumentCalls.size());
+        assertTrue(ai.chunkCalls.isEmpty());
+    }
+
+    @Test
+    void largeDocumentIsSplitAndQuestionsAreSharedByChunkSize() {
+        ChunkedQuizGenerator generator = generator(true);
+
+        assertTrue(generator.needsChunking(LARGE));
+        generator.generate(LARGE);
+
+        assertEquals(Set.of("Uno", "Dos"), ai.chunkCalls.keySet());
+        // Con 4 preguntas y un 25 % de margen se piden 5, repartidas a partes casi iguales
+        ai.chunkCalls.values().forEach(questions -> assertEquals(3, questions));
+        assertTrue(ai.wholeDocumentCalls.isEmpty());
+    }
+
+    @Test
+    void chunkDurationTokensAndMergeAreRecordedThroughTheMetricsPort() {
+        ai.failing.add("Dos");
+
+        generator(true).generate(LARGE);
+
+        assertEquals(2, metrics.chunkTokens.size());
+        metrics.chunkTokens.forEach(tokens -> assertTrue(tokens > 0 && tokens <= 120, "tokens " + tokens));
+        // Un fragmento bien y otro fallido; la fusión se mide una vez
+        assertEquals(List.of("chunk_generation:error", "chunk_generation:success"),
+                metrics.stages.stream().filter(stage -> stage.startsWith("chunk_generation")).sorted().toList());
+        assertEquals(List.of("chunk_merge:success"),
+                metrics.stages.stream().filter(stage -> stage.startsWith("chunk_merge")).toList());
+    }
+
+    @Test
+    void mergeTakesQuestionsInTurnsDropsDuplicatesAndCapsTheTotal() {
+        QuizResponse response = generator(true).generate(LARGE);
+
+        // "¿Común?" normalizado coincide con "Común" y se descarta
+        assertEquals(List.of("U1", "D1", "Común", "U2"), questionTexts(response));
+        assertEquals("Uno", response.statement());
+    }
+
+    @Test
+    void failedChunkIsSkippedWhenOthersSucceed() {
+        ai.failing.add("Dos");
+
+        QuizResponse response = generator(true).generate(LARGE);
+
+        assertEquals(List.of("U1", "Común", "U2"), questionTexts(response));
+    }
+
+    @Test
+    void failureOfEveryChunkIsPropagated() {
+        ai.failing.addAll(List.of("Uno", "Dos"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> generator(true).generate(LARGE));
+        assertEquals("fallo en Uno", error.getMessage());
+    }
+
+    private ChunkedQuizGenerator generator(boolean enabled) {
+        return new ChunkedQuizGenerator(ai, new MarkdownChunker(), executor,
+                metrics, enabled, 120, 4);
+    }
+
+    private static List<String> questionTexts(QuizResponse response) {
+        return response.questions().stream().map(QuizResponse.Question::question).toList();
+    }
+
+    private static String section(String title) {
+        return "# " + title + "\n" + "contenido del documento ".repeat(16) + "\n\n";
+    }
+
+    private static final class RecordingMetrics implements GenerationMetricsPort {
+
+        private final List<String> stages = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> chunkTokens = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void record(Stage stage, String provider, String deployment, long nanos, boolean success) {
+            stages.add(stage.tag() + ":" + (success ? "success" : "error"));
+        }
+
+        @Override
+        public void recordPipeline(String mode, long nanos, boolean success) {
+        }
+
+        @Override
+        public void recordTimeToFirstToken(String provider, String deployment, long nanos) {
+        }
+
+        @Override
+        public void recordTokens(String provider, String deployment, Integer promptTokens, Integer completionTokens) {
+        }
+
+        @Override
+        public void recordDocumentSize(int characters) {
+        }
+
+        @Override
+        public void recordChunkTokens(int tokens) {
+            chunkTokens.add(tokens);
+        }
+    }
+
+    private static final class FakeAiProcessor implements AiProcessorPort {
+
+        private final List<String> wholeDocumentCalls = Collections.synchronizedList(new ArrayList<>());
+        private final ConcurrentHashMap<String, Integer> chunkCalls = new ConcurrentHashMap<>();
+        private final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public QuizResponse generateQuestions(String markdownContent) {
+            wholeDocumentCalls.add(markdownContent);
+            return quiz("completo", List.of("P1"));
+        }
+
+        @Override
+        public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions) {
+            String title = markdownContent.contains("# Uno") ? "Uno" : "Dos";
+            chunkCalls.put(title, numberOfQuestions);
+            if (failing.contains(title)) {
+                throw new IllegalStateException("fallo en " + title);
+            }
+            return title.equals("Uno")
+                    ? quiz("Uno", List.of("U1", "Común", "U2"))
+                    : quiz("Dos", List.of("D1", "¿Común?", "D2"));
+        }
+
+        @Override
+        public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+            return generateQuestions(markdownContent, numberOfQuestions);
+        }
+
+        @Override
+        public Flux<QuizStreamEvent> streamQuestions(String markdownContent) {
+            return Flux.empty();
+        }
+
+        private static QuizResponse quiz(String statement, List<String> questions) {
+            return QuizResponse.builder()
+                    .statement(statement)
+                    .questions(questions.stream()
+                            .map(text -> new QuizResponse.Question(text,
+                                    new QuizResponse.Question.QuestionOptions(List.of("a", "b"), "a")))
+                            .toList())
+                    .build();
+        }
+    }
+}
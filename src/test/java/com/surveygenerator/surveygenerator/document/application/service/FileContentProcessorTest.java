@@ -0,0 +1,100 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileContentProcessorTest {
+
+    private final FileContentProcessor processor = new FileContentProcessor(DataSize.ofKilobytes(64));
+
+    @Test
+    void decodesMultibyteCharactersSplitAcrossReadBuffers() {
+        // 2 bytes por "á" y 3 por "€": varios caracteres quedan partidos entre lecturas de 8K
+        String text = "á".repeat(10_000) + "€".repeat(3_000) + "\n# Fin";
+
+        CharSequence content = processor.extractContent(markdown("doc.md", text));
+
+        assertEquals(text, content.toString());
+    }
+
+    @Test
+    void rejectsFilesOverTheLimitBeforeReading() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> processor.extractContent(markdown("big.md", "a".repeat(65 * 1024))));
+
+        assertTrue(error.getMessage().contains("big.md"));
+    }
+
+    @Test
+    void cutsOffAnArchiveEntryThatExceedsTheLimitWhileReading() throws IOException {
+        // Las entradas comprimidas no declaran tamaño: el límite se aplica al leer
+        MockMultipartFile archive = zip(Map.entry("bomb.md", "a".repeat(65 * 1024)));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> processor.extractMarkdownArchive(archive, 10, Long.MAX_VALUE));
+
+        assertTrue(error.getMessage().contains("bomb.md"));
+    }
+
+    @Test
+    void keepsMarkdownEntriesInArchiveOrderAndSkipsTheRest() throws IOException {
+        MockMultipartFile archive = zip(
+                Map.entry("b.md", "# B\nañadido"),
+                Map.entry("notas.txt", "no es markdown"),
+                Map.entry("__MACOSX/b.md", "metadatos"),
+                Map.entry("docs/a.MD", "# A"));
+
+        Map<String, CharSequence> contents = processor.extractMarkdownArchive(archive, 10, Long.MAX_VALUE);
+
+        assertEquals(List.of("b.md", "docs/a.MD"), List.copyOf(contents.keySet()));
+        assertEquals("# B\nañadido", contents.get("b.md").toString());
+        assertEquals("# A", contents.get("docs/a.MD").toString());
+    }
+
+    @Test
+    void enforcesTheArchiveFileCountAndTotalSize() throws IOException {
+        MockMultipartFile archive = zip(Map.entry("a.md", "a".repeat(600)), Map.entry("b.md", "b".repeat(600)));
+
+        assertThrows(IllegalArgumentException.class, () -> processor.extractMarkdownArchive(archive, 1, Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> processor.extractMarkdownArchive(archive, 10, 1_000));
+        assertEquals(2, processor.extractMarkdownArchive(archive, 2, 1_200).size());
+    }
+
+    @Test
+    void blankContentIsInvalid() {
+        assertFalse(processor.validateContent(new StringBuilder(" \n\t ")).isValid());
+        assertFalse(processor.validateContent(null).isValid());
+        assertTrue(processor.validateContent(new StringBuilder("  x ")).isValid());
+    }
+
+    private static MockMultipartFile markdown(String name, String text) {
+        return new MockMultipartFile("file", name, "text/markdown", text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SafeVarargs
+    private static MockMultipartFile zip(Map.Entry<String, String>... entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> entry : entries) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return new MockMultipartFile("file", "docs.zip", "application/zip", bytes.toByteArray());
+    }
+}
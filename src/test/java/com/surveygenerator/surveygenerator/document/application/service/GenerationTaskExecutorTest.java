@@ -0,0 +1,108 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenerationTaskExecutorTest {
+
+    private final GenerationTaskExecutor executor = new GenerationTaskExecutor(true, 4, 3);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void globalCapBoundsLeafTasksUnderNestedFanOut() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Integer> files = IntStream.range(0, 4).boxed().toList();
+        List<Integer> chunks = IntStream.range(0, 4).boxed().toList();
+
+        // Cuatro archivos de cuatro fragmentos: 16 hojas con un límite global de 3
+        List<GenerationTaskExecutor.Outcome<List<Integer>>> outcomes = executor.runAll(files,
+                file -> executor.runAll(chunks, chunk -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(20);
+                    running.decrementAndGet();
+                    return file * 10 + chunk;
+                }).stream().map(GenerationTaskExecutor.Outcome::getOrThrow).toList());
+
+        // El límite se llega a usar entero, pero nunca se supera
+        assertEquals(3, peak.get());
+        assertEquals(List.of(0, 1, 2, 3), outcomes.get(0).getOrThrow());
+        assertEquals(List.of(30, 31, 32, 33), outcomes.get(3).getOrThrow());
+    }
+
+    @Test
+    void singleInputRunsOnTheCallerThread() {
+        Thread caller = Thread.currentThread();
+
+        List<GenerationTaskExecutor.Outcome<Thread>> outcomes = executor.runAll(List.of("único"), input -> Thread.currentThread());
+
+        assertSame(caller, outcomes.getFirst().getOrThrow());
+    }
+
+    @Test
+    void disabledExecutorRunsEveryInputOnTheCallerThreadInOrder() {
+        GenerationTaskExecutor disabled = new GenerationTaskExecutor(false, 4, 3);
+        Thread caller = Thread.currentThread();
+
+        List<GenerationTaskExecutor.Outcome<String>> outcomes = disabled.runAll(List.of("a", "b", "c"), input -> {
+            assertSame(caller, Thread.currentThread());
+            return input.toUpperCase();
+        });
+
+        assertEquals(List.of("A", "B", "C"), outcomes.stream().map(GenerationTaskExecutor.Outcome::getOrThrow).toList());
+        disabled.shutdown();
+    }
+
+    @Test
+    void permitsAreRestoredAfterTasksThrow() throws InterruptedException {
+        // Fallan las hojas y también el padre después de su fan-out anidado
+        List<GenerationTaskExecutor.Outcome<Object>> failed = executor.runAll(List.of(1, 2, 3, 4), file -> {
+            executor.runAll(List.of(1, 2), chunk -> {
+                throw new IllegalStateException("fragmento " + chunk);
+            });
+            throw new IllegalArgumentException("archivo " + file);
+        });
+
+        failed.forEach(outcome -> {
+            assertFalse(outcome.isSuccess());
+            assertTrue(outcome.error() instanceof IllegalArgumentException);
+        });
+
+        // Con los 3 permisos globales de vuelta, tres tareas pueden estar en marcha a la vez
+        CountDownLatch allRunning = new CountDownLatch(3);
+        List<GenerationTaskExecutor.Outcome<Boolean>> outcomes = executor.runAll(List.of(1, 2, 3), input -> {
+            allRunning.countDown();
+            try {
+                return allRunning.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        outcomes.forEach(outcome -> assertTrue(outcome.getOrThrow()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.surveygenerator.surveygenerator.document.application.service;
+
+import com.surveygenerator.surveygenerator.utils.TokenEstimator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarkdownChunkerTest {
+
+    private final MarkdownChunker chunker = new MarkdownChunker();
+
+    @Test
+    void smallDocumentStaysInOneChunk() {
+        List<String> chunks = chunker.split("# Título\nUn párrafo corto.\n", 100);
+
+        assertEquals(1, chunks.size());
+        assertTrue(chunks.getFirst().startsWith("# Título\nUn párrafo corto.\n"));
+    }
+
+    @Test
+    void cutsAtHeadingsAndKeepsEveryChunkUnderTheBudget() {
+        String markdown = section("Uno", 300) + section("Dos", 300) + section("Tres", 300);
+
+        List<String> chunks = chunker.split(markdown, 100);
+
+        assertEquals(3, chunks.size());
+        assertTrue(chunks.get(0).startsWith("# Uno"));
+        assertTrue(chunks.get(1).startsWith("# Dos"));
+        assertTrue(chunks.get(2).startsWith("# Tres"));
+        chunks.forEach(chunk -> assertTrue(TokenEstimator.estimate(chunk) <= 100, chunk));
+    }
+
+    @Test
+    void oversizedSectionFallsBackToParagraphs() {
+        String markdown = "# Largo\n" + "a".repeat(150) + "\n\n" + "b".repeat(150) + "\n";
+
+        List<String> chunks = chunker.split(markdown, 50);
+
+        assertEquals(2, chunks.size());
+        assertTrue(chunks.get(0).contains("a".repeat(150)));
+        assertTrue(chunks.get(1).contains("b".repeat(150)));
+    }
+
+    @Test
+    void neverSplitsInsideAFencedCodeBlock() {
+        String fence = "```\n# no es un encabezado\n\nprint()\n```\n";
+        String markdown = section("Intro", 100) + "# Código\n" + fence;
+
+        List<String> chunks = chunker.split(markdown, 30);
+
+        // Si el bloque se hubiera cortado, al empaquetarlo se habría insertado un salto de línea de más
+        assertEquals(2, chunks.size());
+        assertTrue(chunks.get(1).contains(fence), chunks.get(1));
+    }
+
+    @Test
+    void singleOversizedLineIsCutIntoBudgetSizedPieces() {
+        String line = "x".repeat(1000);
+
+        List<String> chunks = chunker.split(line + "\n", 50);
+
+        assertEquals(5, chunks.size());
+        chunks.forEach(chunk -> assertEquals("x".repeat(200), chunk));
+    }
+
+    private static String section(String title, int bodyChars) {
+        return "# " + title + "\n" + "lorem ipsum ".repeat(bodyChars / 12) + "\n\n";
+    }
+}
@@ -0,0 +1,61 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.adapter;
+
+import com.surveygenerator.surveygenerator.document.application.port.output.BatchGenerationPort;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config.AiGenerationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Batch local para tests y desarrollo: se completa tras el retardo configurado con quizzes del stub
+@Component
+@ConditionalOnProperty(name = "app.batch.provider", havingValue = "fake")
+@Slf4j
+public class FakeBatchGenerationAdapter implements BatchGenerationPort {
+
+    private final StubAiProcessorAdapter stubAiProcessor;
+    private final Duration completionDelay;
+    private final Map<String, SubmittedBatch> batches = new ConcurrentHashMap<>();
+
+    public FakeBatchGenerationAdapter(AiGenerationProperties generationProperties,
+                                      @Value("${app.batch.fake.completion-delay:5s}") Duration completionDelay) {
+        this.stubAiProcessor = new StubAiProcessorAdapter(generationProperties, Duration.ZERO);
+        this.completionDelay = completionDelay;
+    }
+
+    @Override
+    public String submit(List<BatchItem> items) {
+        String batchId = "fake-batch-" + UUID.randomUUID();
+        batches.put(batchId, new SubmittedBatch(List.copyOf(items), Instant.now().plus(completionDelay)));
+        log.info("Fake batch {} submitted with {} request(s)", batchId, items.size());
+        return batchId;
+    }
+
+    @Override
+    public BatchState poll(String batchId) {
+        SubmittedBatch batch = batches.get(batchId);
+        if (batch == null) {
+            // Se perdió con un reinicio: igual que un batch expirado en el proveedor
+            return BatchState.failed("Unknown batch " + batchId);
+        }
+        if (Instant.now().isBefore(batch.readyAt())) {
+            return BatchState.pending();
+        }
+
+        batches.remove(batchId);
+        return BatchState.completed(batch.items().stream()
+                .map(item -> new BatchItemResult(item.customId(),
+                        stubAiProcessor.generateQuestions(item.markdownContent()), null))
+                .toList());
+    }
+
+    private record SubmittedBatch(List<BatchItem> items, Instant readyAt) {
+    }
+}
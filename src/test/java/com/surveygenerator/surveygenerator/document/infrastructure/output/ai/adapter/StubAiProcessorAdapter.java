@@ -0,0 +1,92 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.adapter;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config.AiGenerationProperties;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Local backend that builds a deterministic quiz from the document lines without calling any
+ * model. Meant for tests and local runs; the configured latency simulates a provider round trip.
+ * Registered as a router backend by {@code StubAiBackendConfiguration}.
+ */
+@Slf4j
+public class StubAiProcessorAdapter implements AiProcessorPort {
+
+    private final AiGenerationProperties generationProperties;
+    private final Duration latency;
+
+    public StubAiProcessorAdapter(AiGenerationProperties generationProperties, Duration latency) {
+        this.generationProperties = generationProperties;
+        this.latency = latency;
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent) {
+        return generateQuestions(markdownContent, generationProperties.getNumberOfQuestions());
+    }
+
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions) {
+        simulateLatency();
+        log.info("Generating {} stub questions", numberOfQuestions);
+        return buildQuiz(markdownContent, numberOfQuestions);
+    }
+
+    // Sin modelo no hay nada que excluir: el quiz se construye igual
+    @Override
+    public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+        return generateQuestions(markdownContent, numberOfQuestions);
+    }
+
+    @Override
+    public Flux<QuizStreamEvent> streamQuestions(String markdownContent) {
+        return Flux.defer(() -> Flux.fromIterable(QuizStreamEvent.replay(
+                        buildQuiz(markdownContent, generationProperties.getNumberOfQuestions()))))
+                .delaySubscription(latency);
+    }
+
+    private QuizResponse buildQuiz(String markdownContent, int numberOfQuestions) {
+        List<String> lines = markdownContent.lines()
+                .map(line -> line.replaceFirst("^[#>*\\-\\s]+", "").strip())
+                .filter(line -> !line.isEmpty())
+                .toList();
+        if (lines.isEmpty()) {
+            lines = List.of("(empty document)");
+        }
+
+        int numberOfOptions = generationProperties.getNumberOfOptionsPerQuestion();
+        List<QuizResponse.Question> questions = new ArrayList<>(numberOfQuestions);
+        for (int i = 0; i < numberOfQuestions; i++) {
+            int number = i + 1;
+            String subject = lines.get(i % lines.size());
+            List<String> options = IntStream.range(0, numberOfOptions)
+                    .mapToObj(option -> "Option " + (option + 1) + " for question " + number)
+                    .toList();
+            questions.add(new QuizResponse.Question(
+                    "Question " + number + ": which statement is correct about \"" + abbreviate(subject) + "\"?",
+                    new QuizResponse.Question.QuestionOptions(options, options.get(i % numberOfOptions))));
+        }
+        return new QuizResponse("Stub quiz: " + abbreviate(lines.getFirst()), questions);
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() <= 80 ? text : text.substring(0, 77) + "...";
+    }
+
+    private void simulateLatency() {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating AI latency", e);
+        }
+    }
+}
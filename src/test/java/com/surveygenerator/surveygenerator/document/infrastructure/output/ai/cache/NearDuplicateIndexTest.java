@@ -0,0 +1,141 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearDuplicateIndexTest {
+
+    private static final String VARIANT = "es|4";
+    private static final String JAVA = """
+            Java es un lenguaje de programación orientado a objetos que se compila a bytecode y se ejecuta
+            sobre la máquina virtual de Java. La máquina virtual gestiona la memoria con un recolector de
+            basura, carga las clases bajo demanda y compila en tiempo de ejecución los métodos más usados.
+            """;
+    private static final String BIOLOGY = """
+            La fotosíntesis transforma la luz del sol en energía química dentro de los cloroplastos de
+            las hojas, liberando oxígeno a la atmósfera y fijando el carbono en forma de glucosa.
+            """;
+    private static final String HISTORY = """
+            La imprenta de tipos móviles se extendió por Europa en el siglo quince y abarató los libros,
+            lo que facilitó la difusión de ideas científicas y religiosas entre un público mucho mayor.
+            """;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<NearDuplicateIndex> indexes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        indexes.forEach(NearDuplicateIndex::shutdown);
+    }
+
+    @Test
+    void findsANearDuplicateOfTheSameVariantOnly() {
+        NearDuplicateIndex index = index(100, 42);
+        index.add(VARIANT, index.signature(JAVA), quiz("java"));
+
+        long[] edited = index.signature(JAVA.replace("más usados", "más llamados"));
+        Optional<NearDuplicateIndex.Match> match = index.findBest(VARIANT, edited, 0.7);
+
+        assertTrue(match.isPresent());
+        assertEquals("java", match.get().quiz().statement());
+        assertTrue(match.get().similarity() >= 0.7 && match.get().similarity() < 1.0);
+        assertTrue(index.findBest("en|4", edited, 0.7).isEmpty());
+        assertTrue(index.findBest(VARIANT, index.signature(BIOLOGY), 0.7).isEmpty());
+    }
+
+    @Test
+    void returnsTheMostSimilarCandidate() {
+        NearDuplicateIndex index = index(100, 42);
+        index.add(VARIANT, index.signature(JAVA.replace("bytecode", "código intermedio")), quiz("editado"));
+        index.add(VARIANT, index.signature(JAVA), quiz("original"));
+
+        NearDuplicateIndex.Match match = index.findBest(VARIANT, index.signature(JAVA), 0.5).orElseThrow();
+
+        assertEquals("original", match.quiz().statement());
+        assertEquals(1.0, match.similarity(), 1e-9);
+    }
+
+    @Test
+    void evictsTheOldestEntriesBeyondTheLimit() {
+        NearDuplicateIndex index = index(2, 42);
+        index.add(VARIANT, index.signature(JAVA), quiz("java"));
+        index.add(VARIANT, index.signature(BIOLOGY), quiz("biología"));
+        index.add(VARIANT, index.signature(HISTORY), quiz("historia"));
+
+        assertEquals(2, index.size());
+        assertTrue(index.findBest(VARIANT, index.signature(JAVA), 0.9).isEmpty());
+        assertTrue(index.findBest(VARIANT, index.signature(BIOLOGY), 0.9).isPresent());
+        assertTrue(index.findBest(VARIANT, index.signature(HISTORY), 0.9).isPresent());
+    }
+
+    @Test
+    void snapshotRoundTripRestoresTheEntries() throws IOException {
+        NearDuplicateIndex index = index(100, 42);
+        index.add(VARIANT, index.signature(JAVA), quiz("java"));
+        index.add(VARIANT, index.signature(BIOLOGY), quiz("biología"));
+        index.saveSnapshot();
+
+        NearDuplicateIndex restored = index(100, 42);
+
+        assertEquals(2, restored.size());
+        NearDuplicateIndex.Match match = restored.findBest(VARIANT, restored.signature(BIOLOGY), 0.9).orElseThrow();
+        assertEquals("biología", match.quiz().statement());
+        assertEquals(List.of("a", "b"), match.quiz().questions().getFirst().options().options());
+        assertFalse(Files.exists(snapshot().resolveSibling("index.json.tmp")));
+    }
+
+    @Test
+    void snapshotBuiltWithOtherSettingsIsIgnored() throws IOException {
+        NearDuplicateIndex index = index(100, 42);
+        index.add(VARIANT, index.signature(JAVA), quiz("java"));
+        index.saveSnapshot();
+
+        // Con otra semilla las firmas no son comparables
+        assertEquals(0, index(100, 7).size());
+    }
+
+    @Test
+    void rejectsHashCountsThatDoNotSplitIntoBands() {
+        assertThrows(IllegalArgumentException.class, () -> new NearDuplicateIndex(objectMapper,
+                new CompositeMeterRegistry(), 100, 16, 5, 42, 10, snapshot(), Duration.ofHours(1)));
+    }
+
+    private NearDuplicateIndex index(int maxEntries, long seed) {
+        NearDuplicateIndex index = new NearDuplicateIndex(objectMapper, new CompositeMeterRegistry(),
+                128, 16, 5, seed, maxEntries, snapshot(), Duration.ofHours(1));
+        indexes.add(index);
+        return index;
+    }
+
+    private Path snapshot() {
+        return directory.resolve("index.json");
+    }
+
+    private static QuizResponse quiz(String statement) {
+        return QuizResponse.builder()
+                .statement(statement)
+                .questions(List.of(new QuizResponse.Question("¿Pregunta?",
+                        new QuizResponse.Question.QuestionOptions(List.of("a", "b"), "a"))))
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizCacheKeyTest {
+
+    private static final String MARKDOWN = "# Título\n\nCafé con leche.\n";
+
+    @Test
+    void isAStableSha256HexDigest() {
+        String key = key(MARKDOWN);
+
+        assertEquals(key, key(MARKDOWN));
+        assertEquals(64, key.length());
+        assertTrue(key.matches("[0-9a-f]+"));
+    }
+
+    @Test
+    void ignoresLineEndingsTrailingWhitespaceAndUnicodeForm() {
+        String crlfAndTrailingSpaces = "# Título  \r\n\r\nCafé con leche.   \r\n\n\n";
+        // "é" descompuesta (e + acento combinado) en lugar de precompuesta
+        String decomposed = "# Ti\u0301tulo\n\nCafe\u0301 con leche.\n";
+
+        assertEquals(key(MARKDOWN), key(crlfAndTrailingSpaces));
+        assertEquals(key(MARKDOWN), key(decomposed));
+    }
+
+    @Test
+    void changesWithContent() {
+        assertNotEquals(key(MARKDOWN), key("# Título\n\nCafé solo.\n"));
+        // Los espacios al principio de línea sí cuentan: en markdown cambian la estructura
+        assertNotEquals(key(MARKDOWN), key("# Título\n\n    Café con leche.\n"));
+    }
+
+    @Test
+    void changesWithEveryPromptOption() {
+        String base = QuizCacheKey.of(MARKDOWN, 10, 5, "gpt", "v1", "DEFAULT");
+
+        assertNotEquals(base, QuizCacheKey.of(MARKDOWN, 11, 5, "gpt", "v1", "DEFAULT"));
+        assertNotEquals(base, QuizCacheKey.of(MARKDOWN, 10, 4, "gpt", "v1", "DEFAULT"));
+        assertNotEquals(base, QuizCacheKey.of(MARKDOWN, 10, 5, "other", "v1", "DEFAULT"));
+        assertNotEquals(base, QuizCacheKey.of(MARKDOWN, 10, 5, "gpt", "v2", "DEFAULT"));
+        assertNotEquals(base, QuizCacheKey.of(MARKDOWN, 10, 5, "gpt", "v1", "CACHE_FRIENDLY"));
+    }
+
+    private static String key(String markdown) {
+        return QuizCacheKey.of(markdown, 10, 5, "gpt", "v1", "DEFAULT");
+    }
+}
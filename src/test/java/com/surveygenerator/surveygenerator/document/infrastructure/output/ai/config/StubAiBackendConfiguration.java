@@ -0,0 +1,23 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.config;
+
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.adapter.StubAiProcessorAdapter;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.router.RoutingAiProcessorAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+// Añade el stub como backend del router; solo existe en el classpath de test (TestSurveyGeneratorApplication)
+@TestConfiguration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.ai.router.stub.enabled", havingValue = "true")
+public class StubAiBackendConfiguration {
+
+    @Bean
+    RoutingAiProcessorAdapter.Backend stubBackend(AiBackendFactory backendFactory,
+                                                  AiGenerationProperties generationProperties,
+                                                  @Value("${app.ai.router.stub.latency:200ms}") Duration latency) {
+        return backendFactory.backend("stub", new StubAiProcessorAdapter(generationProperties, latency));
+    }
+}
@@ -0,0 +1,210 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.limiter;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.application.service.GenerationPriority;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration FAST = Duration.ofMillis(10);
+    private static final Duration SLOW = Duration.ofMillis(100);
+    private static final GenerationPriority ANONYMOUS = GenerationPriority.ANONYMOUS;
+
+    @Test
+    void limitGrowsByAboutOnePerWindowWhileItIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 10, Duration.ofSeconds(1));
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire(ANONYMOUS);
+        }
+
+        // Cada llamada que termina deja paso a otra, así que el límite se mantiene ocupado
+        for (int i = 0; i < 4; i++) {
+            limiter.release(FAST, null);
+            limiter.acquire(ANONYMOUS);
+        }
+
+        // Cada acierto suma 1/limit: cuatro aciertos con límite 4 suben casi una unidad
+        assertTrue(limiter.getLimit() > 4.9 && limiter.getLimit() < 5.0, "limit " + limiter.getLimit());
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    void limitDoesNotGrowWhenMostOfItIsIdle() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 20, Duration.ofSeconds(1));
+
+        limiter.acquire(ANONYMOUS);
+        limiter.release(FAST, null);
+
+        assertEquals(10.0, limiter.getLimit(), 1e-9);
+    }
+
+    @Test
+    void slowAnswersShrinkTheLimitDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 20, Duration.ofSeconds(1));
+        limiter.acquire(ANONYMOUS);
+        limiter.release(FAST, null);
+
+        limiter.acquire(ANONYMOUS);
+        limiter.release(SLOW, null);
+        assertEquals(9.0, limiter.getLimit(), 1e-9);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire(ANONYMOUS);
+            limiter.release(SLOW, null);
+        }
+        assertEquals(2.0, limiter.getLimit(), 1e-9);
+    }
+
+    @Test
+    void throttlingHalvesTheLimitAndPausesNewCalls() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 20, Duration.ofSeconds(5));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "0");
+        HttpClientErrorException tooManyRequests = HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, new byte[0], StandardCharsets.UTF_8);
+
+        limiter.acquire(ANONYMOUS);
+        limiter.release(FAST, tooManyRequests);
+        assertEquals(4.0, limiter.getLimit(), 1e-9);
+
+        // Retry-After 0 usa la pausa por defecto de 200 ms
+        long start = System.nanoTime();
+        limiter.acquire(ANONYMOUS);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(150)) >= 0);
+    }
+
+    @Test
+    void callerIsRejectedAfterWaitingTooLong() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, Duration.ofMillis(50));
+        limiter.acquire(ANONYMOUS);
+
+        BackendSaturatedException error = assertThrows(BackendSaturatedException.class,
+                () -> limiter.acquire(ANONYMOUS));
+
+        assertTrue(error.getMessage().contains("waited more than"));
+        assertEquals(0, limiter.queueDepth(ANONYMOUS));
+    }
+
+    @Test
+    void callerIsRejectedAtOnceWhenTheQueueIsFull() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 1,
+                Duration.ofSeconds(10), Duration.ofMillis(200), 2.0, new CompositeMeterRegistry());
+        limiter.acquire(ANONYMOUS);
+        Thread queued = Thread.ofVirtual().start(() -> limiter.acquire(ANONYMOUS));
+        waitUntil(() -> limiter.queueDepth(ANONYMOUS) == 1);
+
+        long start = System.nanoTime();
+        BackendSaturatedException error = assertThrows(BackendSaturatedException.class,
+                () -> limiter.acquire(ANONYMOUS));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        assertTrue(error.getMessage().contains("too many queued requests"));
+
+        // Al liberar el permiso, el que esperaba en cola entra
+        limiter.release(FAST, null);
+        queued.join(Duration.ofSeconds(5));
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void authenticatedCallersAreServedBeforeAnonymousOnes() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, Duration.ofSeconds(10));
+        List<GenerationPriority> order = Collections.synchronizedList(new ArrayList<>());
+        limiter.acquire(ANONYMOUS);
+
+        Thread anonymous = Thread.ofVirtual().start(() -> acquireAndRelease(limiter, ANONYMOUS, order));
+        waitUntil(() -> limiter.queueDepth(ANONYMOUS) == 1);
+        Thread authenticated = Thread.ofVirtual()
+                .start(() -> acquireAndRelease(limiter, GenerationPriority.AUTHENTICATED, order));
+        waitUntil(() -> limiter.queueDepth(GenerationPriority.AUTHENTICATED) == 1);
+
+        limiter.release(FAST, null);
+        anonymous.join(Duration.ofSeconds(5));
+        authenticated.join(Duration.ofSeconds(5));
+
+        assertEquals(List.of(GenerationPriority.AUTHENTICATED, ANONYMOUS), order);
+    }
+
+    @Test
+    void streamCancelledWhileQueuedDoesNotKeepThePermit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, Duration.ofSeconds(10));
+        ConcurrencyLimitedAiProcessorAdapter adapter = new ConcurrencyLimitedAiProcessorAdapter(new NeverEndingAi(), limiter);
+
+        // Se cancela justo cuando el permiso pasa al stream en cola: con o sin permiso concedido, no debe quedarse ocupado
+        for (int i = 0; i < 200; i++) {
+            limiter.acquire(ANONYMOUS);
+            Disposable stream = adapter.streamQuestions("# Doc").subscribe();
+            waitUntil(() -> limiter.queueDepth(ANONYMOUS) == 1);
+
+            Thread release = Thread.ofVirtual().start(() -> limiter.release(FAST, null));
+            stream.dispose();
+            release.join(Duration.ofSeconds(5));
+
+            waitUntil(() -> limiter.getInFlight() == 0 && limiter.queueDepth(ANONYMOUS) == 0);
+        }
+    }
+
+    // Límite inicial, máximo, espera máxima; mínimo 2, cola de 10 y tolerancia de latencia x2
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxLimit, Duration maxWait) {
+        return new AdaptiveConcurrencyLimiter("test", initialLimit, Math.min(2, initialLimit), maxLimit, 10,
+                maxWait, Duration.ofMillis(200), 2.0, new CompositeMeterRegistry());
+    }
+
+    private static void acquireAndRelease(AdaptiveConcurrencyLimiter limiter,
+                                          GenerationPriority priority,
+                                          List<GenerationPriority> order) {
+        limiter.acquire(priority);
+        order.add(priority);
+        limiter.release(FAST, null);
+    }
+
+    // El stream no termina nunca: el permiso solo se devuelve al cancelar
+    private static final class NeverEndingAi implements AiProcessorPort {
+
+        @Override
+        public QuizResponse generateQuestions(String markdownContent) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Flux<QuizStreamEvent> streamQuestions(String markdownContent) {
+            return Flux.never();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,176 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.parser;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalQuizParserTest {
+
+    private static final String QUIZ = """
+            {
+              "statement": "Java básico",
+              "questions": [
+                {
+                  "question": "¿Qué palabra declara una constante?",
+                  "options": {"options": ["final", "static", "const"], "answer": "final"}
+                },
+                {
+                  "question": "¿Qué imprime \\"a\\\\nb\\"?",
+                  "options": {"options": ["dos líneas", "una línea", "nada"], "answer": "dos líneas"}
+                }
+              ]
+            }""";
+
+    @Test
+    void emitsStatementAndEachQuestionAsSoonAsTheyAreComplete() {
+        IncrementalQuizParser parser = new IncrementalQuizParser();
+        // Primero se cierra el objeto options y después el de la pregunta
+        int optionsEnd = QUIZ.indexOf("\"final\"}") + "\"final\"}".length();
+        int firstQuestionEnd = QUIZ.indexOf('}', optionsEnd) + 1;
+
+        List<QuizStreamEvent> head = parser.feed(QUIZ.substring(0, QUIZ.indexOf("\"questions\"")));
+        assertEquals(List.of(QuizStreamEvent.statement("Java básico")), head);
+
+        List<QuizStreamEvent> first = parser.feed(QUIZ.substring(QUIZ.indexOf("\"questions\""), firstQuestionEnd));
+        assertEquals(1, first.size());
+        assertEquals(QuizStreamEvent.Type.QUESTION, first.getFirst().type());
+        assertEquals(0, first.getFirst().index());
+        assertEquals("¿Qué palabra declara una constante?", first.getFirst().question().question());
+
+        List<QuizStreamEvent> rest = parser.feed(QUIZ.substring(firstQuestionEnd));
+        assertEquals(1, rest.size());
+        assertEquals(1, rest.getFirst().index());
+        assertTrue(parser.isFinished());
+    }
+
+    @Test
+    void decodesEscapesSplitAcrossChunks() {
+        QuizResponse expected = IncrementalQuizParser.parse(QUIZ);
+        assertEquals("¿Qué imprime \"a\\nb\"?", expected.questions().get(1).question());
+
+        // Cualquier punto de corte, incluso en mitad de un escape, da el mismo resultado
+        for (int split = 1; split < QUIZ.length(); split++) {
+            IncrementalQuizParser parser = new IncrementalQuizParser();
+            parser.feed(QUIZ.substring(0, split));
+            parser.feed(QUIZ.substring(split));
+            assertEquals(expected, parser.toQuizResponse(), "split at " + split);
+        }
+    }
+
+    @Test
+    void singleCharacterChunksProduceTheSameEventsAsOneChunk() {
+        IncrementalQuizParser parser = new IncrementalQuizParser();
+        List<QuizStreamEvent> events = new ArrayList<>();
+        QUIZ.chars().forEach(c -> events.addAll(parser.feed(String.valueOf((char) c))));
+
+        assertEquals(new IncrementalQuizParser().feed(QUIZ), events);
+        assertEquals(IncrementalQuizParser.parse(QUIZ), parser.toQuizResponse());
+    }
+
+    @Test
+    void truncatedResponseKeepsTheCompleteQuestions() {
+        String truncated = QUIZ.substring(0, QUIZ.indexOf("¿Qué imprime") + 5);
+        IncrementalQuizParser parser = new IncrementalQuizParser();
+        parser.feed(truncated);
+
+        assertFalse(parser.isFinished());
+        QuizResponse quiz = parser.toQuizResponse();
+        assertEquals("Java básico", quiz.statement());
+        assertEquals(1, quiz.questions().size());
+        assertEquals(List.of("final", "static", "const"), quiz.questions().getFirst().options().options());
+        assertEquals("final", quiz.questions().getFirst().options().answer());
+    }
+
+    @Test
+    void truncatedResponseWithoutAnyQuestionFails() {
+        IncrementalQuizParser parser = new IncrementalQuizParser();
+        parser.feed(QUIZ.substring(0, QUIZ.indexOf("\"final\"")));
+
+        assertThrows(IllegalStateException.class, parser::toQuizResponse);
+    }
+
+    @Test
+    void ignoresMarkdownFencesAndTextAroundTheObject() {
+        String wrapped = "Aquí tienes el cuestionario:\n```json\n" + QUIZ + "\n```\nEspero que te sirva.";
+
+        assertEquals(IncrementalQuizParser.parse(QUIZ), IncrementalQuizParser.parse(wrapped));
+    }
+
+    @Test
+    void toleratesUnquotedKeysAndMissingOrTrailingCommas() {
+        // Tras una comilla solo falta la coma si sigue otra comilla: ante una palabra suelta se toma como parte del texto
+        QuizResponse quiz = IncrementalQuizParser.parse("""
+                {statement: "Java básico", questions: [
+                  {question: "¿Uno?" "options": {options: ["a", "b",], answer: "a",}},
+                  {question: "¿Dos?", options: {options: ["c" "d"], answer: "d"}},
+                ]}""");
+
+        assertEquals("Java básico", quiz.statement());
+        assertEquals(List.of("¿Uno?", "¿Dos?"), quiz.questions().stream().map(QuizResponse.Question::question).toList());
+        assertEquals(List.of("a", "b"), quiz.questions().get(0).options().options());
+        assertEquals(List.of("c", "d"), quiz.questions().get(1).options().options());
+        assertEquals("d", quiz.questions().get(1).options().answer());
+    }
+
+    @Test
+    void keepsUnescapedQuotesThatDoNotCloseTheString() {
+        QuizResponse quiz = IncrementalQuizParser.parse("""
+                {"statement": "Citas", "questions": [
+                  {"question": "¿Quién dijo "pienso, luego existo"?",
+                   "options": {"options": ["Descartes", "Kant"], "answer": "Descartes"}}
+                ]}""");
+
+        assertEquals("¿Quién dijo \"pienso, luego existo\"?", quiz.questions().getFirst().question());
+    }
+
+    @Test
+    void repairsInvalidEscapesAndRawControlCharacters() {
+        QuizResponse quiz = IncrementalQuizParser.parse(
+                "{\"statement\": \"Línea uno\nLínea dos\", \"questions\": [{\"question\": \"¿Qu\\'e?\", "
+                        + "\"options\": {\"options\": [\"a\", \"b\"], \"answer\": \"a\"}}]}");
+
+        assertEquals("Línea uno\nLínea dos", quiz.statement());
+        assertEquals("¿Qu'e?", quiz.questions().getFirst().question());
+    }
+
+    @Test
+    void acceptsOptionsAsAnArrayWithTheAnswerBesideThem() {
+        QuizResponse quiz = IncrementalQuizParser.parse("""
+                {"statement": "Números", "questions": [
+                  {"question": "¿Cuánto es 2 + 2?", "options": ["3", "4", "5"], "answer": 4},
+                  {"question": "¿Sin respuesta?", "options": ["a", "b"], "answer": null}
+                ]}""");
+
+        QuizResponse.Question.QuestionOptions first = quiz.questions().get(0).options();
+        assertEquals(List.of("3", "4", "5"), first.options());
+        assertEquals("4", first.answer());
+        assertNull(quiz.questions().get(1).options().answer());
+    }
+
+    @Test
+    void skipsQuestionsWithoutText() {
+        QuizResponse quiz = IncrementalQuizParser.parse("""
+                {"statement": "Java", "questions": [
+                  {"options": {"options": ["a", "b"], "answer": "a"}},
+                  {"question": "¿Válida?", "options": {"options": ["a", "b"], "answer": "b"}}
+                ]}""");
+
+        assertEquals(1, quiz.questions().size());
+        assertEquals("¿Válida?", quiz.questions().getFirst().question());
+    }
+
+    @Test
+    void responseWithoutAnyJsonFails() {
+        assertThrows(IllegalStateException.class,
+                () -> IncrementalQuizParser.parse("Lo siento, no puedo generar preguntas sobre este documento."));
+    }
+}
@@ -0,0 +1,122 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.quality;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.quality.QuizQualityFilter.Issue;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizQualityFilterTest {
+
+    private final QuizQualityFilter filter = new QuizQualityFilter(4);
+
+    @Test
+    void acceptedQuestionIsTrimmedAndItsAnswerMatchesAnOptionExactly() {
+        QuizQualityFilter.Session session = filter.start(5);
+
+        QuizResponse.Question accepted = session.accept(
+                question("  ¿Qué lenguaje corre en la JVM? ", "java", " Java ", "Python", "Ruby")).orElseThrow();
+
+        assertEquals("¿Qué lenguaje corre en la JVM?", accepted.question());
+        assertEquals(List.of("Java", "Python", "Ruby"), accepted.options().options());
+        assertEquals("Java", accepted.options().answer());
+        assertTrue(session.issues().isEmpty());
+    }
+
+    @Test
+    void repeatedOptionsAreRemoved() {
+        QuizQualityFilter.Session session = filter.start(5);
+
+        QuizResponse.Question accepted = session.accept(
+                question("¿Cuál?", "Kotlin", "Java", "java ", "JAVA", "Kotlin", "")).orElseThrow();
+
+        assertEquals(List.of("Java", "Kotlin"), accepted.options().options());
+        assertEquals(Map.of(Issue.DUPLICATE_OPTION, 2), session.issues());
+    }
+
+    @Test
+    void answerGivenAsLetterOrPositionIsResolvedToTheOption() {
+        QuizQualityFilter.Session session = filter.start(5);
+
+        assertEquals("Kotlin", session.accept(question("¿Uno?", "b)", "Java", "Kotlin", "Scala"))
+                .orElseThrow().options().answer());
+        assertEquals("Scala", session.accept(question("¿Dos?", "3", "Java", "Kotlin", "Scala"))
+                .orElseThrow().options().answer());
+        assertEquals(Map.of(Issue.ANSWER_BY_REFERENCE, 2), session.issues());
+    }
+
+    @Test
+    void missingAnswerIsAddedWhenThereIsRoomAndDroppedOtherwise() {
+        QuizQualityFilter.Session session = filter.start(5);
+
+        QuizResponse.Question repaired = session.accept(question("¿Uno?", "Go", "Java", "Kotlin")).orElseThrow();
+        assertEquals("Go", repaired.options().answer());
+        assertEquals(3, repaired.options().options().size());
+        assertTrue(repaired.options().options().contains("Go"));
+
+        assertTrue(session.accept(question("¿Dos?", "Go", "Java", "Kotlin", "Scala", "Rust")).isEmpty());
+
+        assertEquals(Map.of(Issue.ANSWER_ADDED_TO_OPTIONS, 1, Issue.ANSWER_NOT_IN_OPTIONS, 1), session.issues());
+        assertEquals(4, session.missing());
+    }
+
+    @Test
+    void extraOptionsAreCutWithoutLosingTheAnswer() {
+        QuizResponse.Question accepted = filter.start(5)
+                .accept(question("¿Cuál?", "F", "A", "B", "C", "D", "E", "F")).orElseThrow();
+
+        assertEquals(List.of("A", "B", "C", "F"), accepted.options().options());
+        assertEquals("F", accepted.options().answer());
+    }
+
+    @Test
+    void questionsThatCannotBeRepairedAreDropped() {
+        QuizQualityFilter.Session session = filter.start(5);
+
+        assertTrue(session.accept(question("  ", "A", "A", "B")).isEmpty());
+        assertTrue(session.accept(new QuizResponse.Question("¿Sin opciones?", null)).isEmpty());
+        assertTrue(session.accept(question("¿Una sola opción?", "A", "A", "a")).isEmpty());
+        assertTrue(session.accept(null).isEmpty());
+
+        assertEquals(4, session.issues().get(Issue.INVALID_QUESTION));
+        assertTrue(session.accepted().isEmpty());
+    }
+
+    @Test
+    void repeatedQuestionIsDroppedEvenWhenFormattedDifferently() {
+        QuizQualityFilter.Session session = filter.start(5);
+        session.accept(question("¿Qué es la JVM?", "A", "A", "B"));
+
+        assertTrue(session.accept(question("que es la jvm", "B", "A", "B")).isEmpty());
+
+        assertEquals(1, session.accepted().size());
+        assertEquals(Map.of(Issue.DUPLICATE_QUESTION, 1), session.issues());
+    }
+
+    @Test
+    void sessionStopsAtTheRequestedNumberOfQuestions() {
+        QuizQualityFilter.Session session = filter.start(2);
+        session.accept(question("¿Uno?", "A", "A", "B"));
+        assertEquals(1, session.missing());
+        session.accept(question("¿Dos?", "A", "A", "B"));
+
+        assertTrue(session.accept(question("¿Tres?", "A", "A", "B")).isEmpty());
+
+        assertEquals(0, session.missing());
+        assertEquals(Map.of(Issue.EXTRA_QUESTION, 1), session.issues());
+        QuizResponse quiz = session.toQuizResponse("Enunciado");
+        assertEquals("Enunciado", quiz.statement());
+        assertEquals(List.of("¿Uno?", "¿Dos?"),
+                quiz.questions().stream().map(QuizResponse.Question::question).toList());
+    }
+
+    private static QuizResponse.Question question(String text, String answer, String... options) {
+        return new QuizResponse.Question(text,
+                new QuizResponse.Question.QuestionOptions(Arrays.asList(options), answer));
+    }
+}
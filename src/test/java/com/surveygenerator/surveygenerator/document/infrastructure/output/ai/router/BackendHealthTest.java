@@ -0,0 +1,132 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.router;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackendHealthTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final MutableClock clock = new MutableClock();
+    private final BackendHealth health = new BackendHealth(4, 3, OPEN_DURATION, clock);
+
+    @Test
+    void opensAfterConsecutiveFailuresOnly() {
+        health.recordFailure(Duration.ofMillis(10));
+        health.recordFailure(Duration.ofMillis(10));
+        // Un acierto reinicia la racha de fallos
+        health.recordSuccess(Duration.ofMillis(10));
+        health.recordFailure(Duration.ofMillis(10));
+        health.recordFailure(Duration.ofMillis(10));
+        assertEquals(BackendHealth.CircuitState.CLOSED, health.state());
+
+        health.recordFailure(Duration.ofMillis(10));
+
+        assertEquals(BackendHealth.CircuitState.OPEN, health.state());
+        assertFalse(health.isAvailable());
+        assertFalse(health.tryAcquire());
+    }
+
+    @Test
+    void halfOpenLetsASingleTrialThroughAndClosesOnSuccess() {
+        open();
+        clock.advance(OPEN_DURATION);
+
+        assertTrue(health.isAvailable());
+        assertTrue(health.tryAcquire());
+        assertEquals(BackendHealth.CircuitState.HALF_OPEN, health.state());
+        assertFalse(health.isAvailable());
+        assertFalse(health.tryAcquire());
+
+        health.recordSuccess(Duration.ofMillis(10));
+
+        assertEquals(BackendHealth.CircuitState.CLOSED, health.state());
+        assertTrue(health.tryAcquire());
+    }
+
+    @Test
+    void failedTrialReopensForAnotherCoolDown() {
+        open();
+        clock.advance(OPEN_DURATION);
+        assertTrue(health.tryAcquire());
+
+        health.recordFailure(Duration.ofMillis(10));
+
+        assertEquals(BackendHealth.CircuitState.OPEN, health.state());
+        clock.advance(OPEN_DURATION.minusSeconds(1));
+        assertFalse(health.tryAcquire());
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(health.tryAcquire());
+    }
+
+    @Test
+    void cancelledTrialFreesTheProbeWithoutCountingAsFailure() {
+        open();
+        clock.advance(OPEN_DURATION);
+        assertTrue(health.tryAcquire());
+
+        health.recordCancelled();
+
+        assertEquals(BackendHealth.CircuitState.HALF_OPEN, health.state());
+        assertTrue(health.tryAcquire());
+    }
+
+    @Test
+    void latencyAndErrorRateFollowTheRollingWindow() {
+        health.recordSuccess(Duration.ofMillis(100));
+        health.recordSuccess(Duration.ofMillis(200));
+        health.recordSuccess(Duration.ofMillis(300));
+        health.recordFailure(Duration.ofMillis(400));
+
+        assertEquals(400, health.p95Millis());
+        assertEquals(0.25, health.errorRate(), 1e-9);
+
+        for (int i = 0; i < 4; i++) {
+            health.recordSuccess(Duration.ofMillis(50));
+        }
+
+        assertEquals(4, health.sampleCount());
+        assertEquals(50, health.p95Millis());
+        assertEquals(0.0, health.errorRate(), 1e-9);
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            health.recordFailure(Duration.ofMillis(10));
+        }
+        assertEquals(BackendHealth.CircuitState.OPEN, health.state());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.ai.router;
+
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizResponse;
+import com.surveygenerator.surveygenerator.document.application.dto.response.QuizStreamEvent;
+import com.surveygenerator.surveygenerator.document.application.port.output.AiProcessorPort;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.ai.limiter.BackendSaturatedException;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoutingAiProcessorAdapterTest {
+
+    private static final Duration HEDGE_AFTER = Duration.ofMillis(50);
+
+    @Test
+    void failsOverToTheNextBackendAndRanksTheFailedOneLast() {
+        FakeBackend primary = new FakeBackend(() -> {
+            throw new IllegalStateException("caído");
+        });
+        FakeBackend secondary = new FakeBackend(() -> { });
+        RoutingAiProcessorAdapter router = router(false, backend("a", primary), backend("b", secondary));
+
+        assertEquals("b", router.generateQuestions("md").statement());
+        assertEquals(1, primary.calls.get());
+
+        // Con un error en su ventana "a" puntúa peor y la siguiente petición va directa a "b"
+        assertEquals("b", router.generateQuestions("md").statement());
+        assertEquals(1, primary.calls.get());
+        assertEquals(2, secondary.calls.get());
+    }
+
+    @Test
+    void hedgesToTheNextBackendWhenThePrimaryIsSlow() throws InterruptedException {
+        FakeBackend slow = new FakeBackend(() -> sleep(Duration.ofSeconds(10)));
+        FakeBackend fast = new FakeBackend(() -> { });
+        RoutingAiProcessorAdapter.Backend a = backend("a", slow);
+        RoutingAiProcessorAdapter router = router(true, a, backend("b", fast));
+
+        long start = System.nanoTime();
+        assertEquals("b", router.generateQuestions("md").statement());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+
+        // El perdedor se cancela: su tiempo se guarda como muestra pero no como fallo
+        waitUntil(() -> a.health().sampleCount() == 1);
+        assertEquals(0.0, a.health().errorRate(), 1e-9);
+        assertEquals(BackendHealth.CircuitState.CLOSED, a.health().state());
+    }
+
+    @Test
+    void waitsForThePrimaryWhenHedgingIsDisabled() {
+        FakeBackend slow = new FakeBackend(() -> sleep(Duration.ofMillis(200)));
+        FakeBackend other = new FakeBackend(() -> { });
+        RoutingAiProcessorAdapter router = router(false, backend("a", slow), backend("b", other));
+
+        assertEquals("a", router.generateQuestions("md").statement());
+        assertEquals(0, other.calls.get());
+    }
+
+    @Test
+    void saturationFallsOverWithoutOpeningTheCircuit() {
+        FakeBackend saturated = new FakeBackend(() -> {
+            throw new BackendSaturatedException("lleno");
+        });
+        RoutingAiProcessorAdapter.Backend a = backend("a", saturated);
+        RoutingAiProcessorAdapter router = router(false, a, backend("b", new FakeBackend(() -> { })));
+
+        assertEquals("b", router.generateQuestions("md").statement());
+
+        assertEquals(BackendHealth.CircuitState.CLOSED, a.health().state());
+        assertEquals(0, a.health().sampleCount());
+    }
+
+    @Test
+    void failsWhenEveryCircuitIsOpen() {
+        RoutingAiProcessorAdapter.Backend a = backend("a", new FakeBackend(() -> { }));
+        RoutingAiProcessorAdapter.Backend b = backend("b", new FakeBackend(() -> { }));
+        a.health().recordFailure(Duration.ZERO);
+        b.health().recordFailure(Duration.ZERO);
+        RoutingAiProcessorAdapter router = router(true, a, b);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> router.generateQuestions("md"));
+        assertTrue(error.getMessage().startsWith("No AI backend available"));
+    }
+
+    @Test
+    void lastErrorIsPropagatedWhenEveryBackendFails() {
+        RoutingAiProcessorAdapter router = router(false,
+                backend("a", new FakeBackend(() -> {
+                    throw new IllegalStateException("fallo a");
+                })),
+                backend("b", new FakeBackend(() -> {
+                    throw new IllegalStateException("fallo b");
+                })));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> router.generateQuestions("md"));
+        assertEquals("fallo b", error.getMessage());
+    }
+
+    @Test
+    void requiresAtLeastOneBackend() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RoutingAiProcessorAdapter(List.of(), true, HEDGE_AFTER, new CompositeMeterRegistry()));
+    }
+
+    private static RoutingAiProcessorAdapter router(boolean hedging, RoutingAiProcessorAdapter.Backend... backends) {
+        return new RoutingAiProcessorAdapter(List.of(backends), hedging, HEDGE_AFTER, new CompositeMeterRegistry());
+    }
+
+    private static RoutingAiProcessorAdapter.Backend backend(String name, FakeBackend processor) {
+        processor.name = name;
+        // Umbral 1: un solo fallo abre el circuito
+        return new RoutingAiProcessorAdapter.Backend(name, processor,
+                new BackendHealth(10, 1, Duration.ofMinutes(1), Clock.systemUTC()));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("cancelado", e);
+        }
+    }
+
+    private static void waitUntil(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.get() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.get());
+    }
+
+    private static final class FakeBackend implements AiProcessorPort {
+
+        private final Runnable behaviour;
+        private final AtomicInteger calls = new AtomicInteger();
+        private String name;
+
+        FakeBackend(Runnable behaviour) {
+            this.behaviour = behaviour;
+        }
+
+        @Override
+        public QuizResponse generateQuestions(String markdownContent) {
+            calls.incrementAndGet();
+            behaviour.run();
+            return QuizResponse.builder().statement(name).questions(List.of()).build();
+        }
+
+        @Override
+        public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions) {
+            return generateQuestions(markdownContent);
+        }
+
+        @Override
+        public QuizResponse generateQuestions(String markdownContent, int numberOfQuestions, List<String> excludedQuestions) {
+            return generateQuestions(markdownContent);
+        }
+
+        @Override
+        public Flux<QuizStreamEvent> streamQuestions(String markdownContent) {
+            return Flux.empty();
+        }
+    }
+}
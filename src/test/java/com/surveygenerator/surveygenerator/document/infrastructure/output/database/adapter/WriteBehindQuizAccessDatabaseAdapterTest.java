@@ -0,0 +1,218 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.adapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.MongoSocketException;
+import com.mongodb.ServerAddress;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizSummaryModel;
+import com.surveygenerator.surveygenerator.document.infrastructure.output.database.spool.QuizSpoolFile;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindQuizAccessDatabaseAdapterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final FakeDatabase database = new FakeDatabase();
+    private final List<WriteBehindQuizAccessDatabaseAdapter> adapters = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        adapters.forEach(WriteBehindQuizAccessDatabaseAdapter::shutdown);
+    }
+
+    @Test
+    void transientFailuresAreRetriedUntilMongoComesBack() throws IOException {
+        // Más fallos de los que admitía el antiguo límite de intentos
+        database.failuresLeft.set(25);
+        WriteBehindQuizAccessDatabaseAdapter adapter = adapter(100);
+
+        adapter.saveAll(List.of(quiz("user-1", NOW), quiz("user-1", NOW.plusSeconds(1))));
+
+        waitUntil(() -> database.stored.size() == 2);
+        assertEquals(0, Files.size(directory.resolve("dead-letter.jsonl")));
+        waitUntil(() -> recoverSpool().isEmpty());
+    }
+
+    @Test
+    void unsavedQuizzesAreVisibleToTheirOwnerOnly() {
+        database.failuresLeft.set(Integer.MAX_VALUE);
+        QuizModel stored = quiz("user-1", NOW.minusDays(1));
+        database.stored.add(stored);
+        WriteBehindQuizAccessDatabaseAdapter adapter = adapter(100);
+        QuizModel unsaved = quiz("user-1", NOW);
+
+        adapter.saveAll(List.of(unsaved));
+
+        assertEquals(List.of(unsaved.getId(), stored.getId()),
+                summaryIds(adapter.findSummariesByUserId("user-1", null, null, 10)));
+        assertTrue(adapter.findSummariesByUserId("user-2", null, null, 10).isEmpty());
+        assertEquals(Optional.of(unsaved), adapter.findByIdAndUserId(unsaved.getId(), "user-1"));
+        assertTrue(adapter.findByIdAndUserId(unsaved.getId(), "user-2").isEmpty());
+        // Sin JSON guardado: el llamador cae a findByIdAndUserId
+        assertTrue(adapter.findResponseJsonByIdAndUserId(unsaved.getId(), "user-1").isEmpty());
+    }
+
+    @Test
+    void historyPagesInterleaveUnsavedAndStoredQuizzes() {
+        database.failuresLeft.set(Integer.MAX_VALUE);
+        QuizModel storedOld = quiz("user-1", NOW.minusMinutes(3));
+        QuizModel storedMiddle = quiz("user-1", NOW.minusMinutes(1));
+        database.stored.addAll(List.of(storedOld, storedMiddle));
+        WriteBehindQuizAccessDatabaseAdapter adapter = adapter(100);
+        QuizModel unsavedNew = quiz("user-1", NOW);
+        QuizModel unsavedOlder = quiz("user-1", NOW.minusMinutes(2));
+        adapter.saveAll(List.of(unsavedNew, unsavedOlder));
+
+        List<QuizSummaryModel> first = adapter.findSummariesByUserId("user-1", null, null, 2);
+        assertEquals(List.of(unsavedNew.getId(), storedMiddle.getId()), summaryIds(first));
+
+        QuizSummaryModel last = first.getLast();
+        List<QuizSummaryModel> second = adapter.findSummariesByUserId("user-1", last.getCreatedAt(), last.getId(), 2);
+        assertEquals(List.of(unsavedOlder.getId(), storedOld.getId()), summaryIds(second));
+    }
+
+    @Test
+    void fullQueueSavesSynchronouslyAndSurfacesTheOutage() {
+        database.failuresLeft.set(Integer.MAX_VALUE);
+        WriteBehindQuizAccessDatabaseAdapter adapter = adapter(1);
+        adapter.saveAll(List.of(quiz("user-1", NOW)));
+
+        assertThrows(MongoSocketException.class, () -> adapter.saveAll(List.of(quiz("user-1", NOW))));
+    }
+
+    @Test
+    void quizzesLeftInTheSpoolAreWrittenAfterARestart() throws IOException {
+        QuizModel unsaved = quiz("user-1", NOW);
+        unsaved.setId("65a000000000000000000001");
+        try (QuizSpoolFile spool = new QuizSpoolFile(directory.resolve("spool.jsonl"), objectMapper, false)) {
+            spool.append(List.of(unsaved));
+        }
+
+        adapter(100);
+
+        waitUntil(() -> database.stored.size() == 1);
+        assertEquals(unsaved.getId(), database.stored.getFirst().getId());
+    }
+
+    private WriteBehindQuizAccessDatabaseAdapter adapter(int capacity) {
+        try {
+            WriteBehindQuizAccessDatabaseAdapter adapter = new WriteBehindQuizAccessDatabaseAdapter(
+                    database, objectMapper, new CompositeMeterRegistry(),
+                    directory.resolve("spool.jsonl"), false, capacity, 10, Duration.ofMillis(10),
+                    Duration.ofMillis(1), directory.resolve("dead-letter.jsonl"), Duration.ofMillis(200), 1000);
+            adapters.add(adapter);
+            return adapter;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<QuizModel> recoverSpool() {
+        try (QuizSpoolFile spool = new QuizSpoolFile(directory.resolve("spool.jsonl"), objectMapper, false)) {
+            return spool.recover();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> summaryIds(List<QuizSummaryModel> summaries) {
+        return summaries.stream().map(QuizSummaryModel::getId).toList();
+    }
+
+    private static QuizModel quiz(String userId, LocalDateTime createdAt) {
+        return QuizModel.builder()
+                .id(new ObjectId().toHexString())
+                .userId(userId)
+                .statement("Quiz")
+                .questions(List.of())
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    // MongoDB en memoria: solo lo que usa el write-behind
+    private static final class FakeDatabase extends QuizAccessDatabaseAdapter {
+
+        private final List<QuizModel> stored = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger failuresLeft = new AtomicInteger();
+
+        FakeDatabase() {
+            super(null, null, null, null, "W1");
+        }
+
+        @Override
+        public void saveAll(List<QuizModel> quizModels) {
+            if (failuresLeft.getAndUpdate(left -> left > 0 ? left - 1 : 0) > 0) {
+                throw new MongoSocketException("MongoDB unreachable", new ServerAddress());
+            }
+            stored.addAll(quizModels);
+        }
+
+        @Override
+        public List<QuizSummaryModel> findSummariesByUserId(String userId, LocalDateTime afterCreatedAt,
+                                                            String afterId, int limit) {
+            synchronized (stored) {
+                return stored.stream()
+                        .filter(quiz -> quiz.getUserId().equals(userId))
+                        .filter(quiz -> afterCreatedAt == null || quiz.getCreatedAt().isBefore(afterCreatedAt)
+                                || quiz.getCreatedAt().isEqual(afterCreatedAt) && quiz.getId().compareTo(afterId) < 0)
+                        .sorted(Comparator.comparing(QuizModel::getCreatedAt).thenComparing(QuizModel::getId).reversed())
+                        .limit(limit)
+                        .map(quiz -> new QuizSummaryModel(quiz.getId(), quiz.getStatement(), quiz.getCreatedAt()))
+                        .toList();
+            }
+        }
+
+        @Override
+        public Optional<QuizModel> findByIdAndUserId(String id, String userId) {
+            synchronized (stored) {
+                return stored.stream()
+                        .filter(quiz -> quiz.getId().equals(id) && quiz.getUserId().equals(userId))
+                        .findFirst();
+            }
+        }
+
+        @Override
+        public Optional<byte[]> findResponseJsonByIdAndUserId(String id, String userId) {
+            return findByIdAndUserId(id, userId).map(quiz -> new byte[0]);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.surveygenerator.surveygenerator.document.infrastructure.output.database.spool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.surveygenerator.surveygenerator.document.domain.model.QuestionModel;
+import com.surveygenerator.surveygenerator.document.domain.model.QuizModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizSpoolFileTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversTheQuizzesThatWereNeverAcknowledged() throws IOException {
+        try (QuizSpoolFile spool = open()) {
+            spool.append(List.of(quiz("a"), quiz("b"), quiz("c")));
+            spool.acknowledge(List.of("b"));
+        }
+
+        try (QuizSpoolFile spool = open()) {
+            List<QuizModel> recovered = spool.recover();
+
+            assertEquals(List.of("a", "c"), ids(recovered));
+            QuizModel first = recovered.getFirst();
+            assertEquals("user-1", first.getUserId());
+            assertEquals("Quiz a", first.getStatement());
+            assertEquals(List.of("x", "y"), first.getQuestions().getFirst().getOptions());
+            assertEquals(LocalDateTime.of(2026, 1, 1, 12, 0), first.getCreatedAt());
+        }
+    }
+
+    @Test
+    void halfWrittenLastLineIsSkipped() throws IOException {
+        try (QuizSpoolFile spool = open()) {
+            spool.append(List.of(quiz("a")));
+        }
+        // Caída a mitad de escribir la siguiente línea
+        Files.writeString(spoolPath(), "{\"id\":\"b\",\"quiz\":{\"id\":\"b\",\"sta", StandardOpenOption.APPEND);
+
+        try (QuizSpoolFile spool = open()) {
+            assertEquals(List.of("a"), ids(spool.recover()));
+        }
+    }
+
+    @Test
+    void rewriteCompactsTheFileToThePendingQuizzes() throws IOException {
+        try (QuizSpoolFile spool = open()) {
+            spool.append(List.of(quiz("a"), quiz("b"), quiz("c")));
+            spool.acknowledge(List.of("a", "b"));
+
+            spool.rewrite(List.of(quiz("c")));
+
+            assertEquals(1, Files.readAllLines(spoolPath()).size());
+            assertFalse(Files.exists(directory.resolve("spool.jsonl.tmp")));
+            // Tras compactar se sigue escribiendo en el fichero nuevo
+            spool.append(List.of(quiz("d")));
+            spool.acknowledge(List.of("c"));
+            assertEquals(List.of("d"), ids(spool.recover()));
+        }
+    }
+
+    @Test
+    void acknowledgementsSurviveARestart() throws IOException {
+        try (QuizSpoolFile spool = open()) {
+            spool.append(List.of(quiz("a"), quiz("b")));
+            spool.acknowledge(List.of("a", "b"));
+        }
+
+        try (QuizSpoolFile spool = open()) {
+            assertTrue(spool.recover().isEmpty());
+            spool.append(List.of(quiz("c")));
+        }
+
+        try (QuizSpoolFile spool = open()) {
+            assertEquals(List.of("c"), ids(spool.recover()));
+        }
+    }
+
+    @Test
+    void missingFileRecoversNothing() throws IOException {
+        try (QuizSpoolFile spool = new QuizSpoolFile(directory.resolve("nested/spool.jsonl"), objectMapper, false)) {
+            assertTrue(spool.recover().isEmpty());
+        }
+    }
+
+    private QuizSpoolFile open() throws IOException {
+        return new QuizSpoolFile(spoolPath(), objectMapper, true);
+    }
+
+    private Path spoolPath() {
+        return directory.resolve("spool.jsonl");
+    }
+
+    private static List<String> ids(List<QuizModel> quizzes) {
+        return quizzes.stream().map(QuizModel::getId).toList();
+    }
+
+    private static QuizModel quiz(String id) {
+        return QuizModel.builder()
+                .id(id)
+                .userId("user-1")
+                .statement("Quiz " + id)
+                .questions(List.of(QuestionModel.builder()
+                        .question("¿Pregunta?")
+                        .options(List.of("x", "y"))
+                        .answer("x")
+                        .build()))
+                .createdAt(LocalDateTime.of(2026, 1, 1, 12, 0))
+                .build();
+    }
+}
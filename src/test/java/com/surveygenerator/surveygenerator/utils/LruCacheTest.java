@@ -0,0 +1,101 @@
+package com.surveygenerator.surveygenerator.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LruCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void returnsStoredValueUntilItExpires() {
+        LruCache<String, String> cache = new LruCache<>(10, Duration.ofMinutes(5), clock);
+        cache.put("a", "1");
+
+        clock.advance(Duration.ofMinutes(4));
+        assertEquals(Optional.of("1"), cache.get("a"));
+
+        clock.advance(Duration.ofMinutes(1));
+        assertTrue(cache.get("a").isEmpty());
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        LruCache<String, String> cache = new LruCache<>(2, Duration.ofHours(1), clock);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        // Leer "a" la convierte en la más reciente: la siguiente inserción expulsa "b"
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertEquals(Optional.of("1"), cache.get("a"));
+        assertTrue(cache.get("b").isEmpty());
+        assertEquals(Optional.of("3"), cache.get("c"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void explicitExpiryOverridesDefaultTtl() {
+        LruCache<String, String> cache = new LruCache<>(10, Duration.ofHours(1), clock);
+        cache.put("a", "1", clock.instant().plusSeconds(10));
+
+        clock.advance(Duration.ofSeconds(10));
+        assertTrue(cache.get("a").isEmpty());
+    }
+
+    @Test
+    void invalidateRemovesEntryWithoutCountingAnEviction() {
+        LruCache<String, String> cache = new LruCache<>(10, Duration.ofHours(1), clock);
+        cache.put("a", "1");
+        cache.invalidate("a");
+
+        assertTrue(cache.get("a").isEmpty());
+        assertEquals(0, cache.evictionCount());
+    }
+
+    @Test
+    void nonPositiveMaxSizeStillKeepsOneEntry() {
+        LruCache<String, String> cache = new LruCache<>(0, Duration.ofHours(1), clock);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        assertEquals(1, cache.size());
+        assertEquals(Optional.of("2"), cache.get("b"));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
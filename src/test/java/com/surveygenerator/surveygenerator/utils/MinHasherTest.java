@@ -0,0 +1,73 @@
+package com.surveygenerator.surveygenerator.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHasherTest {
+
+    private static final String DOCUMENT = """
+            Java es un lenguaje de programación orientado a objetos que se compila a bytecode y se ejecuta
+            sobre la máquina virtual de Java. La máquina virtual gestiona la memoria con un recolector de
+            basura, carga las clases bajo demanda y compila en tiempo de ejecución los métodos más usados.
+            Los hilos virtuales permiten atender muchas peticiones concurrentes sin reservar un hilo del
+            sistema operativo para cada una de ellas mientras esperan una respuesta de red.
+            """;
+
+    private final MinHasher minHasher = new MinHasher(128, 5, 42);
+
+    @Test
+    void formattingOnlyChangesKeepTheSameSignature() {
+        String reformatted = DOCUMENT.toUpperCase().replace("á", "a").replace(",", " ;");
+
+        assertArrayEquals(minHasher.signature(DOCUMENT), minHasher.signature(reformatted));
+        assertEquals(1.0, MinHasher.similarity(minHasher.signature(DOCUMENT), minHasher.signature(reformatted)), 1e-9);
+    }
+
+    @Test
+    void smallEditStaysSimilarAndUnrelatedTextDoesNot() {
+        long[] original = minHasher.signature(DOCUMENT);
+        long[] edited = minHasher.signature(DOCUMENT.replace("muchas peticiones", "miles de peticiones"));
+        long[] unrelated = minHasher.signature("""
+                La fotosíntesis transforma la luz del sol en energía química dentro de los cloroplastos de
+                las hojas, liberando oxígeno a la atmósfera y fijando el carbono en forma de glucosa.
+                """);
+
+        // Cambiar una palabra solo altera los shingles que la contienen
+        assertTrue(MinHasher.similarity(original, edited) > 0.7);
+        assertTrue(MinHasher.similarity(original, unrelated) < 0.1);
+    }
+
+    @Test
+    void signatureDependsOnlyOnTheSettings() {
+        assertArrayEquals(minHasher.signature(DOCUMENT), new MinHasher(128, 5, 42).signature(DOCUMENT));
+        assertFalse(Arrays.equals(minHasher.signature(DOCUMENT), new MinHasher(128, 5, 7).signature(DOCUMENT)));
+    }
+
+    @Test
+    void textShorterThanAShingleStillGetsASignature() {
+        long[] signature = minHasher.signature("hola mundo");
+
+        assertTrue(Arrays.stream(signature).noneMatch(hash -> hash == -1L));
+        assertEquals(1.0, MinHasher.similarity(signature, minHasher.signature("¡Hola, mundo!")), 1e-9);
+    }
+
+    @Test
+    void emptyOrMismatchedSignaturesAreNotSimilar() {
+        assertTrue(Arrays.stream(minHasher.signature("  ¿? ")).allMatch(hash -> hash == -1L));
+        assertEquals(0.0, MinHasher.similarity(new long[4], new long[8]), 1e-9);
+        assertEquals(0.0, MinHasher.similarity(new long[0], new long[0]), 1e-9);
+    }
+
+    @Test
+    void rejectsNonPositiveSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHasher(0, 5, 42));
+        assertThrows(IllegalArgumentException.class, () -> new MinHasher(128, 0, 42));
+    }
+}